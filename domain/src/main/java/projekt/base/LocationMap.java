@@ -0,0 +1,365 @@
+package projekt.base;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link Map} with {@link Location} keys that is backed by an open-addressing hash table of primitive {@code long}
+ * keys.<p>
+ *
+ * The coordinates of a {@link Location} are packed into a single {@code long} by {@link #pack(int, int)}, which is
+ * hashed with a mixing function instead of {@link Location#hashCode()}, so that locations with wide coordinate ranges
+ * do not collide. Collisions are resolved by linear probing and removed entries are filled by shifting the following
+ * entries of their cluster back, so the table never contains tombstones.<p>
+ *
+ * {@code null} keys are not supported. Like {@link java.util.HashMap}, this class is not synchronized, but can be read
+ * by multiple threads at the same time as long as it is not modified.
+ *
+ * @param <V> The type of the values.
+ */
+public class LocationMap<V> extends AbstractMap<Location, V> {
+
+    private static final int MINIMUM_CAPACITY = 4;
+
+    /**
+     * The packed keys. Only valid for slots that contain a location.
+     */
+    private long[] keys;
+    /**
+     * The key of every slot or {@code null} if the slot is empty.
+     */
+    private Location[] locations;
+    private V[] values;
+    private int mask;
+    private int size;
+    private int modCount;
+    private @Nullable EntrySet entrySet;
+
+    /**
+     * Creates a new, empty {@link LocationMap}.
+     */
+    public LocationMap() {
+        this(0);
+    }
+
+    /**
+     * Creates a new, empty {@link LocationMap} that can hold the given amount of entries without resizing.
+     *
+     * @param expectedSize The expected amount of entries.
+     */
+    public LocationMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("The expected size must not be negative: " + expectedSize);
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Creates a new {@link LocationMap} containing the entries of the given {@link Map}.
+     *
+     * @param map The {@link Map} to copy.
+     */
+    public LocationMap(Map<? extends Location, ? extends V> map) {
+        this(map.size());
+        putAll(map);
+    }
+
+    /**
+     * Packs the given coordinates into a single {@code long}.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The x-coordinate in the upper and the y-coordinate in the lower 32 bits.
+     */
+    public static long pack(int x, int y) {
+        return (long) x << 32 | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Packs the coordinates of the given {@link Location} into a single {@code long}.
+     *
+     * @param location The {@link Location}.
+     * @return The packed coordinates of the given {@link Location}.
+     * @see #pack(int, int)
+     */
+    public static long pack(Location location) {
+        return pack(location.getX(), location.getY());
+    }
+
+    private static int capacityFor(int expectedSize) {
+        // keep the load factor at most 0.5, so there is always an empty slot and probe sequences stay short
+        int capacity = MINIMUM_CAPACITY;
+        while (capacity < expectedSize * 2L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        locations = new Location[capacity];
+        values = (V[]) new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Returns the slot of the given key or {@code -(insertion slot) - 1} if it is not contained.
+     */
+    private int find(long key) {
+        int slot = hash(key) & mask;
+        while (locations[slot] != null) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -slot - 1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Location location && find(pack(location)) >= 0;
+    }
+
+    /**
+     * Returns whether this map contains a mapping for the {@link Location} with the given coordinates.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return {@code true} if this map contains a mapping for the {@link Location}.
+     */
+    public boolean containsKey(int x, int y) {
+        return find(pack(x, y)) >= 0;
+    }
+
+    @Override
+    public @Nullable V get(Object key) {
+        if (!(key instanceof Location location)) {
+            return null;
+        }
+        int slot = find(pack(location));
+        return slot >= 0 ? values[slot] : null;
+    }
+
+    /**
+     * Returns the value of the {@link Location} with the given coordinates without creating a {@link Location}.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The value or {@code null} if this map contains no mapping for the {@link Location}.
+     */
+    public @Nullable V get(int x, int y) {
+        int slot = find(pack(x, y));
+        return slot >= 0 ? values[slot] : null;
+    }
+
+    @Override
+    public @Nullable V put(Location key, V value) {
+        Objects.requireNonNull(key, "key");
+        long packed = pack(key);
+        int slot = find(packed);
+        if (slot >= 0) {
+            V previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        if ((size + 1) * 2L > locations.length) {
+            resize(locations.length << 1);
+            slot = find(packed);
+        }
+        slot = -slot - 1;
+        keys[slot] = packed;
+        locations[slot] = key;
+        values[slot] = value;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public @Nullable V remove(Object key) {
+        if (!(key instanceof Location location)) {
+            return null;
+        }
+        int slot = find(pack(location));
+        if (slot < 0) {
+            return null;
+        }
+        V previous = values[slot];
+        removeSlot(slot);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            allocate(MINIMUM_CAPACITY);
+            size = 0;
+            modCount++;
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Location[] oldLocations = locations;
+        V[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldLocations.length; i++) {
+            if (oldLocations[i] != null) {
+                int slot = -find(oldKeys[i]) - 1;
+                keys[slot] = oldKeys[i];
+                locations[slot] = oldLocations[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Removes the entry in the given slot and shifts the following entries of its cluster back, so that every entry
+     * stays reachable from its home slot.
+     */
+    private void removeSlot(int slot) {
+        int hole = slot;
+        for (int i = (slot + 1) & mask; locations[i] != null; i = (i + 1) & mask) {
+            int home = hash(keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                locations[hole] = locations[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        locations[hole] = null;
+        values[hole] = null;
+        size--;
+        modCount++;
+    }
+
+    @Override
+    public Set<Entry<Location, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<Location, V>> {
+
+        @Override
+        public Iterator<Entry<Location, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            LocationMap.this.clear();
+        }
+    }
+
+    /**
+     * Iterates over the slots starting after an empty slot. Since no cluster contains the empty slot, shifting entries
+     * back when removing an entry only moves entries that were not returned yet to slots that were not passed yet.
+     */
+    private final class EntryIterator implements Iterator<Entry<Location, V>> {
+
+        private final int start;
+        /**
+         * The offset of the next slot to check relative to {@link #start}.
+         */
+        private int offset = 1;
+        private int current = -1;
+        private int expectedModCount = modCount;
+
+        private EntryIterator() {
+            int start = 0;
+            while (locations[start] != null) {
+                start++;
+            }
+            this.start = start;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (offset < locations.length && locations[(start + offset) & mask] == null) {
+                offset++;
+            }
+            return offset < locations.length;
+        }
+
+        @Override
+        public Entry<Location, V> next() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = (start + offset++) & mask;
+            return new SlotEntry(current);
+        }
+
+        @Override
+        public void remove() {
+            if (current < 0) {
+                throw new IllegalStateException();
+            }
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeSlot(current);
+            // the slot of the removed entry may now contain an entry that was shifted back
+            offset--;
+            current = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class SlotEntry extends SimpleEntry<Location, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int slot;
+
+        private SlotEntry(int slot) {
+            super(locations[slot], values[slot]);
+            this.slot = slot;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V previous = super.setValue(value);
+            if (locations[slot] == getKey()) {
+                values[slot] = value;
+            } else {
+                put(getKey(), value);
+            }
+            return previous;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package projekt.base;
+
+/**
+ * A pool of canonical {@link Location} instances.<p>
+ *
+ * Parsers that read the same coordinates many times, for example once for a node and once for every edge connected
+ * to it, can obtain the {@link Location}s from a {@link LocationPool} so that equal coordinates share a single
+ * instance. A pool keeps all of its {@link Location}s, so it should only live as long as the parsing.
+ */
+public final class LocationPool {
+
+    private final LocationMap<Location> locations;
+
+    /**
+     * Creates a new, empty {@link LocationPool}.
+     */
+    public LocationPool() {
+        this(0);
+    }
+
+    /**
+     * Creates a new, empty {@link LocationPool} that can hold the given amount of {@link Location}s without resizing.
+     *
+     * @param expectedSize The expected amount of distinct {@link Location}s.
+     */
+    public LocationPool(int expectedSize) {
+        locations = new LocationMap<>(expectedSize);
+    }
+
+    /**
+     * Returns the canonical {@link Location} with the given coordinates, creating it if necessary.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The canonical {@link Location} with the given coordinates.
+     */
+    public Location get(int x, int y) {
+        Location location = locations.get(x, y);
+        if (location == null) {
+            location = new Location(x, y);
+            locations.put(location, location);
+        }
+        return location;
+    }
+
+    /**
+     * Returns the canonical {@link Location} equal to the given one, adding the given one if there is none yet.
+     *
+     * @param location The {@link Location}.
+     * @return The canonical {@link Location} equal to the given one.
+     */
+    public Location intern(Location location) {
+        Location canonical = locations.putIfAbsent(location, location);
+        return canonical == null ? location : canonical;
+    }
+
+    /**
+     * Returns the amount of distinct {@link Location}s in this {@link LocationPool}.
+     *
+     * @return The amount of distinct {@link Location}s in this {@link LocationPool}.
+     */
+    public int size() {
+        return locations.size();
+    }
+}
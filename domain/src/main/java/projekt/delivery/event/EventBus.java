@@ -39,6 +39,19 @@ public class EventBus {
         }
     }
 
+    /**
+     * Returns whether any {@link Event}s have been added since the last time this bus has been cleared.
+     * @return True, if {@link #popEvents(long)} would return a non-empty list.
+     */
+    public boolean hasQueuedEvents() {
+        lock.readLock().lock();
+        try {
+            return !queuedEvents.isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
     /**
      * Returns all {@link Event}s that have been added since the last time this bus has been cleared and clears this bus.
      * @param tick The current Tick.
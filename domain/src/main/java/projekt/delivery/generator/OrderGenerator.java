@@ -22,6 +22,19 @@ public interface OrderGenerator {
      */
     List<ConfirmedOrder> generateOrders(long tick);
 
+    /**
+     * Returns the next tick at or after the given tick for which {@link #generateOrders(long)} may return a non-empty
+     * list.<p>
+     *
+     * The default implementation returns the given tick, so no tick is ever skipped.
+     *
+     * @param tick The current tick.
+     * @return The next tick that may have orders or {@link Long#MAX_VALUE} if there is none.
+     */
+    default long getNextOrderTick(long tick) {
+        return tick;
+    }
+
     /**
      * A factory for creating a new {@link OrderGenerator}.
      */
@@ -0,0 +1,556 @@
+package projekt.delivery.generator;
+
+import projekt.base.DistanceCalculator;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.base.LocationMap;
+import projekt.delivery.routing.Region;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.BiConsumer;
+
+/**
+ * A generator for synthetic {@link Region}s of arbitrary size, for example for load tests of the routing and the
+ * simulation.<p>
+ *
+ * The generated {@link Region}s are connected and only depend on the parameters of the generator, so a generator with
+ * a non-negative seed always generates the same {@link Region}. Nodes are named {@code N<i>}, neighborhoods
+ * {@code H<i>}, restaurants {@code R<i>} and edges {@code E<i>}.<p>
+ * <p>
+ * To create a new {@link RegionGenerator} use {@code RegionGenerator.builder()...build();}.
+ */
+public class RegionGenerator {
+
+    /**
+     * The layout of the generated {@link Region}s.
+     */
+    public enum Topology {
+
+        /**
+         * The nodes are placed on a square grid and connected to their horizontal and vertical neighbors. The last
+         * row may be incomplete.
+         */
+        GRID,
+
+        /**
+         * The nodes are placed uniformly at random and connected to their {@link RegionGenerator#getDegree() degree} closest nodes.
+         * Components that are not connected this way are joined by an additional edge each.
+         */
+        RANDOM_GEOMETRIC,
+
+        /**
+         * The nodes are placed on concentric rings around a center node and connected to their neighbors on the same
+         * ring and on the same spoke, like the streets of a city with ring roads. The outermost ring may be incomplete.
+         */
+        RING_RADIAL
+    }
+
+    private final Topology topology;
+    private final int nodeCount;
+    private final int neighborhoodCount;
+    private final int restaurantCount;
+    private final int spacing;
+    private final int degree;
+    private final DistanceCalculator distanceCalculator;
+    private final long seed;
+
+    private RegionGenerator(Topology topology, int nodeCount, int neighborhoodCount, int restaurantCount, int spacing,
+                            int degree, DistanceCalculator distanceCalculator, long seed) {
+        this.topology = topology;
+        this.nodeCount = nodeCount;
+        this.neighborhoodCount = neighborhoodCount;
+        this.restaurantCount = restaurantCount;
+        this.spacing = spacing;
+        this.degree = degree;
+        this.distanceCalculator = distanceCalculator;
+        this.seed = seed;
+    }
+
+    /**
+     * Creates a new {@link RegionGenerator.Builder}.
+     *
+     * @return The created {@link RegionGenerator.Builder}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Topology getTopology() {
+        return topology;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getNeighborhoodCount() {
+        return neighborhoodCount;
+    }
+
+    public int getRestaurantCount() {
+        return restaurantCount;
+    }
+
+    public int getSpacing() {
+        return spacing;
+    }
+
+    /**
+     * Returns the amount of closest nodes every node is connected to in a {@link Topology#RANDOM_GEOMETRIC} region.
+     *
+     * @return The amount of closest nodes every node is connected to.
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /**
+     * Generates a new {@link Region}.
+     *
+     * @return The generated {@link Region}.
+     */
+    public Region generate() {
+        Region.BulkBuilder builder = Region.bulkBuilder();
+        generate(builder);
+        return builder.build();
+    }
+
+    /**
+     * Adds the nodes and edges of a generated {@link Region} to the given {@link Region.Builder}, which must not
+     * contain components with the same names or {@link Location}s yet.
+     *
+     * @param builder The {@link Region.Builder} to add the components to.
+     */
+    public void generate(Region.Builder builder) {
+        builder.distanceCalculator(distanceCalculator);
+        generate(builder::addRestaurant, builder::addNeighborhood, builder::addNode, builder::addEdge);
+    }
+
+    /**
+     * Adds the nodes and edges of a generated {@link Region} to the given {@link Region.BulkBuilder}, which must not
+     * contain components with the same names or {@link Location}s yet.
+     *
+     * @param builder The {@link Region.BulkBuilder} to add the components to.
+     */
+    public void generate(Region.BulkBuilder builder) {
+        builder.distanceCalculator(distanceCalculator);
+        generate(builder::addRestaurant, builder::addNeighborhood, builder::addNode, builder::addEdge);
+    }
+
+    /**
+     * Generates the nodes and edges of a new {@link Region} and passes them to the given callbacks, which are shared
+     * by {@link #generate(Region.Builder)} and {@link #generate(Region.BulkBuilder)}.
+     *
+     * @param restaurants   The callback for the generated restaurants.
+     * @param neighborhoods The callback for the generated neighborhoods.
+     * @param nodes         The callback for the other generated nodes.
+     * @param edges         The callback for the generated edges.
+     */
+    private void generate(
+        RestaurantConsumer restaurants,
+        BiConsumer<String, Location> neighborhoods,
+        BiConsumer<String, Location> nodes,
+        EdgeConsumer edges
+    ) {
+        Components components = components();
+        Layout layout = components.layout;
+        List<String> food = Region.Restaurant.LOS_FOPBOTS_HERMANOS.availableFoods();
+        for (int i = 0; i < nodeCount; i++) {
+            Location location = layout.locations[i];
+            switch (components.types[i]) {
+                case 'R' -> restaurants.accept("R" + i, location, food);
+                case 'H' -> neighborhoods.accept("H" + i, location);
+                default -> nodes.accept("N" + i, location);
+            }
+        }
+        for (int i = 0; i < layout.edgeCount; i++) {
+            edges.accept("E" + i, layout.locations[layout.edgesA[i]], layout.locations[layout.edgesB[i]]);
+        }
+    }
+
+    private Components components() {
+        Random random = seed < 0 ? new Random() : new Random(seed);
+        Layout layout = switch (topology) {
+            case GRID -> grid();
+            case RANDOM_GEOMETRIC -> randomGeometric(random);
+            case RING_RADIAL -> ringRadial();
+        };
+
+        // the first entries of a random permutation are the restaurants, the following ones the neighborhoods
+        int[] permutation = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            permutation[i] = i;
+        }
+        char[] types = new char[nodeCount];
+        Arrays.fill(types, 'N');
+        for (int i = 0; i < restaurantCount + neighborhoodCount; i++) {
+            int j = i + random.nextInt(nodeCount - i);
+            int node = permutation[j];
+            permutation[j] = permutation[i];
+            permutation[i] = node;
+            types[node] = i < restaurantCount ? 'R' : 'H';
+        }
+        return new Components(layout, types);
+    }
+
+    private Layout grid() {
+        int columns = (int) Math.ceil(Math.sqrt(nodeCount));
+        Layout layout = new Layout(nodeCount, 2 * nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            int column = i % columns;
+            int row = i / columns;
+            layout.locations[i] = new Location(column * spacing, row * spacing);
+            if (column > 0) {
+                layout.addEdge(i - 1, i);
+            }
+            if (row > 0) {
+                layout.addEdge(i - columns, i);
+            }
+        }
+        return layout;
+    }
+
+    private Layout ringRadial() {
+        Layout layout = new Layout(nodeCount, 2 * nodeCount);
+        if (nodeCount == 0) {
+            return layout;
+        }
+        int spokes = Math.max(3, (int) Math.ceil(Math.sqrt(nodeCount - 1)));
+        // the innermost ring is large enough for its nodes to be spacing apart
+        double innerRadius = Math.max(spacing, spokes * spacing / (2 * Math.PI));
+        layout.locations[0] = new Location(0, 0);
+        for (int i = 1; i < nodeCount; i++) {
+            int ring = (i - 1) / spokes;
+            int spoke = (i - 1) % spokes;
+            double radius = innerRadius + ring * spacing;
+            double angle = 2 * Math.PI * spoke / spokes;
+            layout.locations[i] = new Location(
+                (int) Math.round(radius * Math.cos(angle)),
+                (int) Math.round(radius * Math.sin(angle)));
+            // radial edge to the previous ring or the center
+            layout.addEdge(ring == 0 ? 0 : i - spokes, i);
+            if (spoke > 0) {
+                layout.addEdge(i - 1, i);
+            }
+            if (spoke == spokes - 1) {
+                // close the ring
+                layout.addEdge(i - spokes + 1, i);
+            }
+        }
+        return layout;
+    }
+
+    private Layout randomGeometric(Random random) {
+        Layout layout = new Layout(nodeCount, (long) nodeCount * degree + nodeCount);
+        int side = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (long) Math.ceil(Math.sqrt(nodeCount)) * spacing));
+        LocationMap<Integer> indices = new LocationMap<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            Location location;
+            do {
+                location = new Location(random.nextInt(side), random.nextInt(side));
+            } while (indices.putIfAbsent(location, i) != null);
+            layout.locations[i] = location;
+        }
+
+        int[] neighbors = Neighbors.closest(layout.locations, side, spacing, degree, distanceCalculator);
+        int k = neighbors.length / Math.max(1, nodeCount);
+        int[] parents = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            parents[i] = i;
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            for (int n = i * k; n < (i + 1) * k; n++) {
+                int j = neighbors[n];
+                // add every edge once, by the node with the smaller index if both nodes are closest to each other
+                boolean mutual = false;
+                for (int m = j * k; m < (j + 1) * k; m++) {
+                    mutual |= neighbors[m] == i;
+                }
+                if (!mutual || i < j) {
+                    layout.addEdge(i, j);
+                    parents[find(parents, i)] = find(parents, j);
+                }
+            }
+        }
+        // join the remaining components in ascending order of their smallest node
+        int previousRoot = -1;
+        for (int i = 0; i < nodeCount; i++) {
+            int root = find(parents, i);
+            if (root != find(parents, 0)) {
+                layout.addEdge(previousRoot < 0 ? 0 : previousRoot, i);
+                parents[root] = find(parents, 0);
+                previousRoot = i;
+            }
+        }
+        return layout;
+    }
+
+    private static int find(int[] parents, int node) {
+        while (parents[node] != node) {
+            parents[node] = parents[parents[node]];
+            node = parents[node];
+        }
+        return node;
+    }
+
+    /**
+     * A callback for the generated restaurants.
+     */
+    @FunctionalInterface
+    private interface RestaurantConsumer {
+        void accept(String name, Location location, List<String> availableFood);
+    }
+
+    /**
+     * A callback for the generated edges.
+     */
+    @FunctionalInterface
+    private interface EdgeConsumer {
+        void accept(String name, Location locationA, Location locationB);
+    }
+
+    /**
+     * The {@link Layout} of a generated {@link Region} and the type of every node, {@code 'R'} for restaurants,
+     * {@code 'H'} for neighborhoods and {@code 'N'} for other nodes.
+     */
+    private record Components(Layout layout, char[] types) {
+    }
+
+    /**
+     * The {@link Location}s of the generated nodes and the nodes connected by the generated edges.
+     */
+    private static final class Layout {
+
+        private final Location[] locations;
+        private int[] edgesA;
+        private int[] edgesB;
+        private int edgeCount;
+
+        private Layout(int nodeCount, long expectedEdgeCount) {
+            locations = new Location[nodeCount];
+            int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(4, expectedEdgeCount));
+            edgesA = new int[capacity];
+            edgesB = new int[capacity];
+        }
+
+        private void addEdge(int a, int b) {
+            if (edgeCount == edgesA.length) {
+                edgesA = Arrays.copyOf(edgesA, edgeCount * 2);
+                edgesB = Arrays.copyOf(edgesB, edgeCount * 2);
+            }
+            edgesA[edgeCount] = a;
+            edgesB[edgeCount++] = b;
+        }
+    }
+
+    /**
+     * A search for the closest {@link Location}s of every {@link Location} using a uniform grid.
+     */
+    private static final class Neighbors {
+
+        /**
+         * Returns the indices of the {@code k} closest {@link Location}s of every {@link Location}, where {@code k} is
+         * the given degree or the amount of {@link Location}s minus one if it is smaller.
+         *
+         * @return The indices, where the closest {@link Location}s of location {@code i} are stored at {@code i * k}
+         * to {@code (i + 1) * k - 1}.
+         */
+        private static int[] closest(Location[] locations, int side, int cellSize, int degree,
+                                     DistanceCalculator distanceCalculator) {
+            int n = locations.length;
+            int k = Math.min(degree, Math.max(0, n - 1));
+            int columns = (int) columnsFor(side, cellSize);
+            int[] cellStarts = new int[columns * columns + 1];
+            int[] cells = new int[n];
+            for (int i = 0; i < n; i++) {
+                cells[i] = locations[i].getY() / cellSize * columns + locations[i].getX() / cellSize;
+                cellStarts[cells[i] + 1]++;
+            }
+            for (int cell = 0; cell < columns * columns; cell++) {
+                cellStarts[cell + 1] += cellStarts[cell];
+            }
+            int[] sorted = new int[n];
+            int[] next = Arrays.copyOf(cellStarts, columns * columns);
+            for (int i = 0; i < n; i++) {
+                sorted[next[cells[i]]++] = i;
+            }
+
+            int[] result = new int[n * k];
+            int[] candidates = new int[k];
+            double[] distances = new double[k];
+            for (int i = 0; i < n && k > 0; i++) {
+                int found = 0;
+                int column = locations[i].getX() / cellSize;
+                int row = locations[i].getY() / cellSize;
+                for (int ring = 0; ring < columns; ring++) {
+                    // every node outside the rings visited so far is at least ring * cellSize away on one axis
+                    if (found == k && distances[k - 1] < ringLowerBound(locations[i], ring, cellSize, distanceCalculator)) {
+                        break;
+                    }
+                    for (int r = row - ring; r <= row + ring; r++) {
+                        if (r < 0 || r >= columns) {
+                            continue;
+                        }
+                        boolean fullRow = r == row - ring || r == row + ring;
+                        for (int c = column - ring; c <= column + ring; c += fullRow || ring == 0 ? 1 : 2 * ring) {
+                            if (c < 0 || c >= columns) {
+                                continue;
+                            }
+                            int cell = r * columns + c;
+                            for (int s = cellStarts[cell]; s < cellStarts[cell + 1]; s++) {
+                                int j = sorted[s];
+                                if (j == i) {
+                                    continue;
+                                }
+                                double distance = distanceCalculator.calculateDistance(locations[i], locations[j]);
+                                if (found < k) {
+                                    found++;
+                                } else if (distance >= distances[k - 1]) {
+                                    continue;
+                                }
+                                // insertion sort into the k closest candidates
+                                int position = found - 1;
+                                while (position > 0 && distances[position - 1] > distance) {
+                                    distances[position] = distances[position - 1];
+                                    candidates[position] = candidates[position - 1];
+                                    position--;
+                                }
+                                distances[position] = distance;
+                                candidates[position] = j;
+                            }
+                        }
+                    }
+                }
+                System.arraycopy(candidates, 0, result, i * k, k);
+            }
+            return result;
+        }
+
+        private static long columnsFor(int side, int cellSize) {
+            return Math.max(1, ((long) side + cellSize - 1) / cellSize);
+        }
+
+        /**
+         * Returns a lower bound of the distance between the given {@link Location} and every {@link Location} outside
+         * the cells of the rings up to {@code ring - 1}.
+         */
+        private static double ringLowerBound(Location location, int ring, int cellSize,
+                                             DistanceCalculator distanceCalculator) {
+            if (ring == 0) {
+                return 0;
+            }
+            int x = location.getX();
+            int y = location.getY();
+            int left = x - x % cellSize - (ring - 1) * cellSize - 1;
+            int right = x - x % cellSize + ring * cellSize;
+            int bottom = y - y % cellSize - (ring - 1) * cellSize - 1;
+            int top = y - y % cellSize + ring * cellSize;
+            return Math.min(
+                Math.min(distanceCalculator.calculateDistance(location, new Location(left, y)),
+                    distanceCalculator.calculateDistance(location, new Location(right, y))),
+                Math.min(distanceCalculator.calculateDistance(location, new Location(x, bottom)),
+                    distanceCalculator.calculateDistance(location, new Location(x, top))));
+        }
+    }
+
+    /**
+     * A builder for creating a {@link RegionGenerator}.
+     */
+    public static class Builder {
+
+        public Topology topology = Topology.GRID;
+        public int nodeCount = 100;
+        public int neighborhoodCount = 10;
+        public int restaurantCount = 3;
+        public int spacing = 10;
+        public int degree = 3;
+        public DistanceCalculator distanceCalculator = new EuclideanDistanceCalculator();
+        public long seed = -1;
+
+        private Builder() {
+        }
+
+        public Builder setTopology(Topology topology) {
+            this.topology = topology;
+            return this;
+        }
+
+        public Builder setNodeCount(int nodeCount) {
+            this.nodeCount = nodeCount;
+            return this;
+        }
+
+        public Builder setNeighborhoodCount(int neighborhoodCount) {
+            this.neighborhoodCount = neighborhoodCount;
+            return this;
+        }
+
+        public Builder setRestaurantCount(int restaurantCount) {
+            this.restaurantCount = restaurantCount;
+            return this;
+        }
+
+        /**
+         * Sets the distance between adjacent nodes of a grid or ring-radial region, which is also the average
+         * distance between nodes of a random geometric region.
+         *
+         * @param spacing The distance between adjacent nodes.
+         * @return This {@link Builder}.
+         */
+        public Builder setSpacing(int spacing) {
+            this.spacing = spacing;
+            return this;
+        }
+
+        public Builder setDegree(int degree) {
+            this.degree = degree;
+            return this;
+        }
+
+        public Builder setDistanceCalculator(DistanceCalculator distanceCalculator) {
+            this.distanceCalculator = distanceCalculator;
+            return this;
+        }
+
+        /**
+         * Sets the seed of the used {@link Random} instance.
+         *
+         * @param seed The seed. If negative, a random seed will be used.
+         * @return This {@link Builder}.
+         */
+        public Builder setSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Constructs a new {@link RegionGenerator}.
+         *
+         * @return The constructed {@link RegionGenerator}.
+         * @throws IllegalArgumentException If the counts are negative or the nodes are too few for the neighborhoods
+         *                                  and restaurants.
+         */
+        public RegionGenerator build() {
+            Objects.requireNonNull(topology, "topology");
+            Objects.requireNonNull(distanceCalculator, "distanceCalculator");
+            if (nodeCount < 0 || neighborhoodCount < 0 || restaurantCount < 0) {
+                throw new IllegalArgumentException("The amounts of nodes must not be negative");
+            }
+            if ((long) neighborhoodCount + restaurantCount > nodeCount) {
+                throw new IllegalArgumentException("%d nodes are too few for %d neighborhoods and %d restaurants"
+                    .formatted(nodeCount, neighborhoodCount, restaurantCount));
+            }
+            if (spacing < 2) {
+                throw new IllegalArgumentException("The spacing must be at least 2: " + spacing);
+            }
+            if (degree < 1) {
+                throw new IllegalArgumentException("The degree must be positive: " + degree);
+            }
+            return new RegionGenerator(topology, nodeCount, neighborhoodCount, restaurantCount, spacing, degree,
+                distanceCalculator, seed);
+        }
+    }
+}
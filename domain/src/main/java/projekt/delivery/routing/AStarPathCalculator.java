@@ -0,0 +1,178 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+import projekt.base.DistanceCalculator;
+import projekt.base.Location;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * A {@link PathCalculator} that answers point-to-point queries with the A* algorithm on a {@link CompactGraph}.<p>
+ *
+ * The heuristic is the distance to the end node measured by the {@link DistanceCalculator} of the {@link Region},
+ * multiplied by the smallest ratio between the duration and the distance of any {@link Region.Edge}. Since the
+ * supported distances satisfy the triangle inequality, the scaled heuristic never overestimates the remaining duration,
+ * even if the durations of the edges do not match the distances of their nodes.<p>
+ *
+ * Queries for all paths to a node and {@link ShortestPathTree}s cannot profit from a heuristic and are delegated to a
+ * {@link CompactDijkstraPathCalculator}.<p>
+ *
+ * Since the search state is reused, instances of this class must not be used by multiple threads at the same time.
+ */
+public class AStarPathCalculator implements PathCalculator {
+
+    private final CompactDijkstraPathCalculator allPathsCalculator = new CompactDijkstraPathCalculator();
+    private @Nullable CompactGraph graph;
+    private DistanceCalculator distanceCalculator;
+    /**
+     * The factor the distance of the {@link DistanceCalculator} is multiplied with to obtain the heuristic.
+     */
+    private double scale;
+    private long[] durations;
+    private long[] heuristics;
+    private int[] previous;
+    private int[] reachedIn;
+    private IndexedMinHeap queue;
+    private int searchId;
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        CompactGraph graph = getGraph(start.getRegion());
+        int startIndex = graph.indexOf(start);
+        int endIndex = graph.indexOf(end);
+        if (startIndex < 0 || endIndex < 0) {
+            throw new IllegalArgumentException("Nodes %s and %s must be part of the region".formatted(start, end));
+        }
+
+        if (!search(graph, startIndex, endIndex)) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+
+        Deque<Region.Node> path = new ArrayDeque<>();
+        for (int node = endIndex; node != startIndex; node = previous[node]) {
+            path.addFirst(graph.nodes[node]);
+        }
+        return path;
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        CompactGraph graph = getGraph(start.getRegion());
+        int startIndex = graph.indexOf(start);
+        int endIndex = graph.indexOf(end);
+        if (startIndex < 0 || endIndex < 0) {
+            throw new IllegalArgumentException("Nodes %s and %s must be part of the region".formatted(start, end));
+        }
+
+        if (!search(graph, startIndex, endIndex)) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+        return durations[endIndex];
+    }
+
+    @Override
+    public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        return allPathsCalculator.getAllPathsTo(end);
+    }
+
+    @Override
+    public ShortestPathTree getShortestPathTree(Region.Node end) {
+        return allPathsCalculator.getShortestPathTree(end);
+    }
+
+    private CompactGraph getGraph(Region region) {
+        if (graph == null || graph.getRegion() != region) {
+            CompactGraph graph = CompactGraph.of(region);
+            int nodeCount = graph.getNodeCount();
+            this.graph = graph;
+            distanceCalculator = region.getDistanceCalculator();
+            scale = computeScale(graph, distanceCalculator);
+            durations = new long[nodeCount];
+            heuristics = new long[nodeCount];
+            previous = new int[nodeCount];
+            reachedIn = new int[nodeCount];
+            queue = new IndexedMinHeap(nodeCount);
+            searchId = 0;
+        }
+        return graph;
+    }
+
+    /**
+     * Computes the largest factor the distances of the given {@link DistanceCalculator} can be multiplied with without
+     * exceeding the duration of any arc.
+     *
+     * @param graph              The {@link CompactGraph}.
+     * @param distanceCalculator The {@link DistanceCalculator} of the {@link Region}.
+     * @return The computed factor.
+     */
+    private static double computeScale(CompactGraph graph, DistanceCalculator distanceCalculator) {
+        double scale = Double.POSITIVE_INFINITY;
+        for (int u = 0; u < graph.getNodeCount(); u++) {
+            Location location = graph.nodes[u].getLocation();
+            for (int arc = graph.offsets[u]; arc < graph.offsets[u + 1]; arc++) {
+                double distance = distanceCalculator.calculateDistance(location, graph.nodes[graph.targets[arc]].getLocation());
+                if (distance > 0) {
+                    scale = Math.min(scale, graph.durations[arc] / distance);
+                }
+            }
+        }
+        // leave some room for rounding errors of the distance calculation
+        return Double.isInfinite(scale) ? 0 : scale * (1 - 1e-9);
+    }
+
+    private long heuristic(CompactGraph graph, int node, Location target) {
+        if (scale == 0) {
+            return 0;
+        }
+        return (long) Math.floor(scale * distanceCalculator.calculateDistance(graph.nodes[node].getLocation(), target));
+    }
+
+    /**
+     * Executes the A* algorithm from {@code source} to {@code target}.
+     *
+     * @return {@code true} if {@code target} is reachable from {@code source}.
+     */
+    private boolean search(CompactGraph graph, int source, int target) {
+        if (++searchId == 0) {
+            Arrays.fill(reachedIn, 0);
+            searchId = 1;
+        }
+        queue.clear();
+        Location targetLocation = graph.nodes[target].getLocation();
+
+        reachedIn[source] = searchId;
+        durations[source] = 0;
+        heuristics[source] = heuristic(graph, source, targetLocation);
+        previous[source] = -1;
+        queue.insertOrDecrease(source, heuristics[source]);
+
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        long[] arcDurations = graph.durations;
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            if (u == target) {
+                return true;
+            }
+            long durationU = durations[u];
+            for (int arc = offsets[u], end = offsets[u + 1]; arc < end; arc++) {
+                int v = targets[arc];
+                long duration = durationU + arcDurations[arc];
+                if (reachedIn[v] != searchId) {
+                    reachedIn[v] = searchId;
+                    heuristics[v] = heuristic(graph, v, targetLocation);
+                } else if (duration >= durations[v]) {
+                    continue;
+                }
+                // the rounded heuristic may be slightly inconsistent, so settled nodes are reopened if necessary
+                durations[v] = duration;
+                previous[v] = u;
+                queue.insertOrDecrease(v, duration + heuristics[v]);
+            }
+        }
+        return false;
+    }
+}
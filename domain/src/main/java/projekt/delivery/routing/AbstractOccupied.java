@@ -1,10 +1,13 @@
 package projekt.delivery.routing;
 
 import org.jetbrains.annotations.Nullable;
+import projekt.delivery.event.Event;
+import projekt.delivery.event.EventBus;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -13,11 +16,28 @@ import java.util.Map;
  */
 abstract class AbstractOccupied<C extends Region.Component<? super C>> implements VehicleManager.Occupied<C> {
 
+    private static final VehicleImpl[] NO_VEHICLES = new VehicleImpl[0];
+
     protected final C component;
     protected final VehicleManager vehicleManager;
-    protected final Map<VehicleImpl, VehicleStats> vehicles = new HashMap<>();
+    protected final Map<VehicleImpl, VehicleStats> vehicles = new VehicleMap();
     private final Collection<Vehicle> unmodifiableVehicles =
         Collections.unmodifiableCollection(vehicles.keySet());
+    /**
+     * The active components of the {@link VehicleManagerImpl} ticking this {@link AbstractOccupied}, see
+     * {@link #setActiveSet(BitSet, int)}.
+     */
+    private @Nullable BitSet activeSet;
+    private int activeIndex;
+    /**
+     * The {@link TickDistrict} that adds vehicles to this {@link AbstractOccupied} while the {@link VehicleManagerImpl}
+     * ticks in parallel, see {@link #setDistrict(TickDistrict)}.
+     */
+    private @Nullable TickDistrict district;
+    /**
+     * The buffer {@link #copyVehicles()} copies the vehicles into, which is reused by every call.
+     */
+    private VehicleImpl[] vehicleBuffer = NO_VEHICLES;
 
     AbstractOccupied(C component, VehicleManager vehicleManager) {
         this.component = component;
@@ -44,6 +64,99 @@ abstract class AbstractOccupied<C extends Region.Component<? super C>> implement
         vehicles.clear();
     }
 
+    /**
+     * Copies the vehicles of this {@link AbstractOccupied} into a buffer, so that they can be moved to other components
+     * while iterating over the copy. The buffer is reused by every call and only grows, so copying the vehicles in every
+     * tick does not allocate any objects once it has grown to the largest amount of vehicles.<p>
+     *
+     * The buffer is always larger than the amount of vehicles and contains them in the iteration order of
+     * {@link #vehicles}, followed by {@code null}. Its content is only valid until the next call.
+     *
+     * @return The buffer containing the vehicles.
+     */
+    VehicleImpl[] copyVehicles() {
+        if (vehicleBuffer.length <= vehicles.size()) {
+            vehicleBuffer = new VehicleImpl[Math.max(4, 2 * vehicles.size())];
+        }
+        return vehicles.keySet().toArray(vehicleBuffer);
+    }
+
+    /**
+     * Registers this {@link AbstractOccupied} in the given set of active components. The bit with the given index
+     * is set whenever a vehicle is put into {@link #vehicles}, so the set contains at least all components that hold
+     * vehicles. Bits of components that became empty are cleared by the owner of the set.
+     *
+     * @param activeSet The set of active components.
+     * @param activeIndex The index of this {@link AbstractOccupied} in the set.
+     */
+    void setActiveSet(BitSet activeSet, int activeIndex) {
+        this.activeSet = activeSet;
+        this.activeIndex = activeIndex;
+    }
+
+    /**
+     * Assigns this {@link AbstractOccupied} to the given {@link TickDistrict}. Only the given {@link TickDistrict} adds
+     * vehicles to this {@link AbstractOccupied} while the {@link VehicleManagerImpl} ticks in parallel, and the
+     * {@link Event}s posted meanwhile are buffered by it instead of being posted to the {@link EventBus} directly.
+     *
+     * @param district The {@link TickDistrict} of this {@link AbstractOccupied}.
+     */
+    void setDistrict(TickDistrict district) {
+        this.district = district;
+    }
+
+    /**
+     * Returns the {@link TickDistrict} set by {@link #setDistrict(TickDistrict)}.
+     *
+     * @return The {@link TickDistrict} of this {@link AbstractOccupied} or {@code null} if it is not ticked in parallel.
+     */
+    @Nullable TickDistrict getDistrict() {
+        return district;
+    }
+
+    /**
+     * Posts the given {@link Event} to the {@link EventBus} of the {@link VehicleManager}, or to the buffer of the
+     * {@link TickDistrict} of this {@link AbstractOccupied} while it is ticked in parallel.
+     *
+     * @param event The {@link Event} to post.
+     */
+    protected void postEvent(Event event) {
+        if (district != null && district.isBuffering()) {
+            district.post(event);
+        } else {
+            vehicleManager.getEventBus().queuePost(event);
+        }
+    }
+
+    /**
+     * Called whenever a vehicle is put into {@link #vehicles}. Marks this {@link AbstractOccupied} as active if it
+     * was registered in a set of active components.
+     *
+     * @param vehicle The added vehicle.
+     * @param stats The {@link VehicleStats} of the added vehicle.
+     */
+    protected void vehicleAdded(VehicleImpl vehicle, VehicleStats stats) {
+        if (activeSet != null) {
+            activeSet.set(activeIndex);
+        }
+    }
+
+    /**
+     * The map of {@link #vehicles}, which calls {@link #vehicleAdded(VehicleImpl, VehicleStats)} whenever a vehicle
+     * is put into it. It iterates over the vehicles in the order they were added, which only depends on the order of
+     * the moves and not on the identity hash codes of the vehicles, so components are ticked deterministically.
+     */
+    private final class VehicleMap extends LinkedHashMap<VehicleImpl, VehicleStats> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public VehicleStats put(VehicleImpl vehicle, VehicleStats stats) {
+            vehicleAdded(vehicle, stats);
+            return super.put(vehicle, stats);
+        }
+    }
+
     protected static class VehicleStats {
         final long arrived;
         final @Nullable VehicleManager.Occupied<?> previous;
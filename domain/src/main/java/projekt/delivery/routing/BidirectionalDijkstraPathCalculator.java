@@ -0,0 +1,199 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * A {@link PathCalculator} that answers point-to-point queries with a bidirectional Dijkstra search on a
+ * {@link CompactGraph}.<p>
+ *
+ * One search grows from the start node and another one from the end node, always advancing the search with the
+ * smaller tentative duration. As soon as the sum of the smallest tentative durations of both searches is not smaller
+ * than the shortest path found where the searches met, the path is final. For short paths inside a large
+ * {@link Region}, only a small ball around each of the two nodes is explored.<p>
+ *
+ * Queries for all paths to a node and {@link ShortestPathTree}s are delegated to a
+ * {@link CompactDijkstraPathCalculator}.<p>
+ *
+ * Since the search state is reused, instances of this class must not be used by multiple threads at the same time.
+ */
+public class BidirectionalDijkstraPathCalculator implements PathCalculator {
+
+    private final CompactDijkstraPathCalculator allPathsCalculator = new CompactDijkstraPathCalculator();
+    private @Nullable CompactGraph graph;
+    private final Search forward = new Search();
+    private final Search backward = new Search();
+    /**
+     * The duration of the shortest path found by the last search.
+     */
+    private long bestDuration;
+
+    /**
+     * Creates a new {@link BidirectionalDijkstraPathCalculator} that creates the {@link CompactGraph} snapshot lazily.
+     */
+    public BidirectionalDijkstraPathCalculator() {
+    }
+
+    /**
+     * Creates a new {@link BidirectionalDijkstraPathCalculator} that uses the given {@link CompactGraph} snapshot.
+     *
+     * @param graph The {@link CompactGraph} to use for {@link Region.Node}s of its {@link Region}.
+     */
+    public BidirectionalDijkstraPathCalculator(CompactGraph graph) {
+        setGraph(graph);
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        CompactGraph graph = getGraph(start.getRegion());
+        int startIndex = requireIndex(graph, start);
+        int endIndex = requireIndex(graph, end);
+
+        int meetingNode = search(graph, startIndex, endIndex);
+        if (meetingNode < 0) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+
+        Deque<Region.Node> path = new ArrayDeque<>();
+        for (int node = meetingNode; node != startIndex; node = forward.previous[node]) {
+            path.addFirst(graph.nodes[node]);
+        }
+        for (int node = meetingNode; node != endIndex; ) {
+            node = backward.previous[node];
+            path.addLast(graph.nodes[node]);
+        }
+        return path;
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        CompactGraph graph = getGraph(start.getRegion());
+        int startIndex = requireIndex(graph, start);
+        int endIndex = requireIndex(graph, end);
+
+        if (search(graph, startIndex, endIndex) < 0) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+        return bestDuration;
+    }
+
+    @Override
+    public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        return allPathsCalculator.getAllPathsTo(end);
+    }
+
+    @Override
+    public ShortestPathTree getShortestPathTree(Region.Node end) {
+        return allPathsCalculator.getShortestPathTree(end);
+    }
+
+    private CompactGraph getGraph(Region region) {
+        if (graph == null || graph.getRegion() != region) {
+            setGraph(CompactGraph.of(region));
+        }
+        return graph;
+    }
+
+    private void setGraph(CompactGraph graph) {
+        this.graph = graph;
+        forward.init(graph.getNodeCount());
+        backward.init(graph.getNodeCount());
+    }
+
+    private static int requireIndex(CompactGraph graph, Region.Node node) {
+        int index = graph.indexOf(node);
+        if (index < 0) {
+            throw new IllegalArgumentException("Node " + node + " is not part of the region");
+        }
+        return index;
+    }
+
+    /**
+     * Runs the searches from {@code start} and {@code end} until the shortest path between them is known.
+     *
+     * @return The node at which the searches met on the shortest path or {@code -1} if there is no path.
+     */
+    private int search(CompactGraph graph, int start, int end) {
+        forward.start(start);
+        backward.start(end);
+        bestDuration = start == end ? 0 : Long.MAX_VALUE;
+        int meetingNode = start == end ? start : -1;
+
+        while (!forward.queue.isEmpty() && !backward.queue.isEmpty()
+            && forward.queue.peekKey() + backward.queue.peekKey() < bestDuration) {
+            Search search = forward.queue.peekKey() <= backward.queue.peekKey() ? forward : backward;
+            Search other = search == forward ? backward : forward;
+            int u = search.queue.poll();
+            long durationU = search.durations[u];
+            for (int arc = graph.offsets[u], arcEnd = graph.offsets[u + 1]; arc < arcEnd; arc++) {
+                int v = graph.targets[arc];
+                long duration = durationU + graph.durations[arc];
+                if (!search.relax(u, v, duration)) {
+                    continue;
+                }
+                if (other.isReached(v) && duration + other.durations[v] < bestDuration) {
+                    bestDuration = duration + other.durations[v];
+                    meetingNode = v;
+                }
+            }
+        }
+        return meetingNode;
+    }
+
+    /**
+     * The state of the search in a single direction.
+     */
+    private static final class Search {
+
+        private long[] durations;
+        private int[] previous;
+        private int[] reachedIn;
+        private IndexedMinHeap queue;
+        private int searchId;
+
+        private void init(int nodeCount) {
+            durations = new long[nodeCount];
+            previous = new int[nodeCount];
+            reachedIn = new int[nodeCount];
+            queue = new IndexedMinHeap(nodeCount);
+            searchId = 0;
+        }
+
+        private void start(int source) {
+            if (++searchId == 0) {
+                Arrays.fill(reachedIn, 0);
+                searchId = 1;
+            }
+            queue.clear();
+            reachedIn[source] = searchId;
+            durations[source] = 0;
+            previous[source] = -1;
+            queue.insertOrDecrease(source, 0);
+        }
+
+        private boolean isReached(int node) {
+            return reachedIn[node] == searchId;
+        }
+
+        /**
+         * Updates the duration of {@code v} if the given duration via {@code u} is shorter.
+         *
+         * @return {@code true} if the duration of {@code v} was updated.
+         */
+        private boolean relax(int u, int v, long duration) {
+            if (reachedIn[v] != searchId) {
+                reachedIn[v] = searchId;
+            } else if (duration >= durations[v]) {
+                return false;
+            }
+            durations[v] = duration;
+            previous[v] = u;
+            queue.insertOrDecrease(v, duration);
+            return true;
+        }
+    }
+}
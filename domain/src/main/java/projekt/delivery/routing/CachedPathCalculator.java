@@ -3,15 +3,17 @@ package projekt.delivery.routing;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
- * A {@link PathCalculator} that is based on another {@link PathCalculator} and caches its result for later use.
+ * A {@link PathCalculator} that is based on another {@link PathCalculator} and caches its result for later use.<p>
+ *
+ * The results are cached as immutable {@link ShortestPathTree}s, which are shared by all following requests for the
+ * same end node. Paths are only materialized when they are requested.
  */
 public class CachedPathCalculator implements PathCalculator {
 
     private final PathCalculator delegate;
-    private final Map<Region.Node, Map<Region.Node, Deque<Region.Node>>> cache = new HashMap<>();
+    private final Map<Region.Node, ShortestPathTree> cache = new HashMap<>();
     private final int size;
     private final Set<Region.Node> accessOrder;
 
@@ -37,7 +39,12 @@ public class CachedPathCalculator implements PathCalculator {
 
     @Override
     public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
-        return getAllPathsTo(end).get(start);
+        return getShortestPathTree(end).getPath(start);
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        return getShortestPathTree(end).getDuration(start);
     }
 
     public PathCalculator getDelegate() {
@@ -46,12 +53,17 @@ public class CachedPathCalculator implements PathCalculator {
 
     @Override
     public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
-        @Nullable Map<Region.Node, Deque<Region.Node>> path = cache.get(end);
-        if (path != null) {
-            return copyPath(path);
+        return getShortestPathTree(end).asMap();
+    }
+
+    @Override
+    public ShortestPathTree getShortestPathTree(Region.Node end) {
+        @Nullable ShortestPathTree tree = cache.get(end);
+        if (tree != null) {
+            return tree;
         }
 
-        path = delegate.getAllPathsTo(end);
+        tree = delegate.getShortestPathTree(end);
 
         // Limit cache size
         if (accessOrder.size() >= size) {
@@ -63,15 +75,8 @@ public class CachedPathCalculator implements PathCalculator {
         // Update access order if the element already exists
         accessOrder.remove(end);
         accessOrder.add(end);
-        cache.put(end, path);
-
-        return copyPath(path);
-    }
+        cache.put(end, tree);
 
-    private Map<Region.Node, Deque<Region.Node>> copyPath(Map<Region.Node, Deque<Region.Node>> path) {
-        return path.entrySet().stream()
-            .map(entry -> Map.entry(entry.getKey(), new LinkedList<>(entry.getValue())))
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        return tree;
     }
-
 }
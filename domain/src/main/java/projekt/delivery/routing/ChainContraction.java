@@ -0,0 +1,253 @@
+package projekt.delivery.routing;
+
+import java.util.Arrays;
+
+/**
+ * A {@link CompactGraph} whose chains of pass-through nodes are contracted into single arcs.<p>
+ *
+ * A node is a pass-through node if it is neither a {@link Region.Restaurant} nor a {@link Region.Neighborhood} and has
+ * exactly two neighbors. All other nodes are core nodes. Every maximal path between two core nodes whose inner nodes
+ * are pass-through nodes forms a chain, which is stored as one arc in each direction with the summed duration of its
+ * edges. An edge between two core nodes is a chain without inner nodes. If a cycle only consists of pass-through
+ * nodes, its smallest node becomes a core node.<p>
+ *
+ * Searches only visit the core nodes (see {@link ChainContractionPathCalculator}). The inner nodes of a chain are
+ * stored in order, together with their distance from the first node of the chain, so paths can be expanded back into
+ * the original nodes when they are needed.<p>
+ *
+ * Instances of this class are immutable and can be shared between threads.
+ */
+public final class ChainContraction {
+
+    private final CompactGraph graph;
+    /**
+     * The index of every core node among the core nodes or {@code -1} for pass-through nodes.
+     */
+    final int[] coreIndices;
+    /**
+     * The index of every core node in the {@link CompactGraph}.
+     */
+    final int[] coreNodes;
+    /**
+     * The chain every pass-through node belongs to or {@code -1} for core nodes.
+     */
+    final int[] chainOf;
+    /**
+     * The position of every pass-through node in {@link #chainNodes}.
+     */
+    final int[] positions;
+
+    final int[] offsets;
+    final int[] targets;
+    final long[] durations;
+    /**
+     * The chain of every arc, or its bitwise complement if the arc leads from the last to the first node of the chain.
+     */
+    final int[] arcChains;
+
+    /**
+     * The first and last (core) node of every chain.
+     */
+    final int[] chainFirst;
+    final int[] chainLast;
+    final long[] chainDurations;
+    /**
+     * The inner nodes of chain {@code c} are stored from its first to its last node in the range
+     * {@code [chainOffsets[c], chainOffsets[c + 1])} of {@link #chainNodes} and {@link #chainDistances}.
+     */
+    final int[] chainOffsets;
+    final int[] chainNodes;
+    /**
+     * The duration from the first node of the chain to every inner node.
+     */
+    final long[] chainDistances;
+
+    private ChainContraction(CompactGraph graph) {
+        this.graph = graph;
+        int nodeCount = graph.getNodeCount();
+
+        boolean[] passThrough = new boolean[nodeCount];
+        int passThroughCount = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            passThrough[node] = isPassThrough(graph, node);
+            if (passThrough[node]) {
+                passThroughCount++;
+            }
+        }
+
+        // cycles that only consist of pass-through nodes are not reached from any core node
+        boolean[] visited = new boolean[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            if (!passThrough[node]) {
+                for (int arc = graph.getFirstArc(node); arc < graph.getFirstArc(node + 1); arc++) {
+                    for (int previous = node, current = graph.getTarget(arc); passThrough[current] && !visited[current]; ) {
+                        visited[current] = true;
+                        int next = otherNeighbor(graph, current, previous);
+                        previous = current;
+                        current = next;
+                    }
+                }
+            }
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            if (passThrough[node] && !visited[node]) {
+                passThrough[node] = false;
+                passThroughCount--;
+                for (int previous = node, current = graph.getTarget(graph.getFirstArc(node)); current != node; ) {
+                    visited[current] = true;
+                    int next = otherNeighbor(graph, current, previous);
+                    previous = current;
+                    current = next;
+                }
+            }
+        }
+
+        coreIndices = new int[nodeCount];
+        coreNodes = new int[nodeCount - passThroughCount];
+        for (int node = 0, core = 0; node < nodeCount; node++) {
+            if (passThrough[node]) {
+                coreIndices[node] = -1;
+            } else {
+                coreIndices[node] = core;
+                coreNodes[core++] = node;
+            }
+        }
+
+        // every chain is traced from both of its ends, but only stored the first time
+        int maxChainCount = (graph.getArcCount() - 2 * passThroughCount) / 2;
+        int[] chainFirst = new int[maxChainCount];
+        int[] chainLast = new int[maxChainCount];
+        long[] chainDurations = new long[maxChainCount];
+        chainOffsets = new int[maxChainCount + 1];
+        chainNodes = new int[passThroughCount];
+        chainDistances = new long[passThroughCount];
+        chainOf = new int[nodeCount];
+        positions = new int[nodeCount];
+        Arrays.fill(chainOf, -1);
+        int chainCount = 0;
+        int position = 0;
+        for (int node : coreNodes) {
+            for (int arc = graph.getFirstArc(node); arc < graph.getFirstArc(node + 1); arc++) {
+                int target = graph.getTarget(arc);
+                if (passThrough[target] ? chainOf[target] >= 0 : target <= node) {
+                    continue;
+                }
+                long duration = graph.getDuration(arc);
+                int previous = node;
+                int current = target;
+                while (passThrough[current]) {
+                    chainOf[current] = chainCount;
+                    positions[current] = position;
+                    chainNodes[position] = current;
+                    chainDistances[position++] = duration;
+                    int next = otherNeighbor(graph, current, previous);
+                    duration += graph.getDuration(arcTo(graph, current, next));
+                    previous = current;
+                    current = next;
+                }
+                chainFirst[chainCount] = node;
+                chainLast[chainCount] = current;
+                chainDurations[chainCount] = duration;
+                chainOffsets[++chainCount] = position;
+            }
+        }
+        this.chainFirst = Arrays.copyOf(chainFirst, chainCount);
+        this.chainLast = Arrays.copyOf(chainLast, chainCount);
+        this.chainDurations = Arrays.copyOf(chainDurations, chainCount);
+
+        offsets = new int[coreNodes.length + 1];
+        for (int chain = 0; chain < chainCount; chain++) {
+            offsets[coreIndices[chainFirst[chain]] + 1]++;
+            offsets[coreIndices[chainLast[chain]] + 1]++;
+        }
+        for (int core = 0; core < coreNodes.length; core++) {
+            offsets[core + 1] += offsets[core];
+        }
+        targets = new int[2 * chainCount];
+        durations = new long[2 * chainCount];
+        arcChains = new int[2 * chainCount];
+        int[] next = Arrays.copyOf(offsets, coreNodes.length);
+        for (int chain = 0; chain < chainCount; chain++) {
+            int first = coreIndices[chainFirst[chain]];
+            int last = coreIndices[chainLast[chain]];
+            int arc = next[first]++;
+            targets[arc] = last;
+            durations[arc] = chainDurations[chain];
+            arcChains[arc] = chain;
+
+            arc = next[last]++;
+            targets[arc] = first;
+            durations[arc] = chainDurations[chain];
+            arcChains[arc] = ~chain;
+        }
+    }
+
+    /**
+     * Contracts the chains of pass-through nodes of the given {@link CompactGraph}.
+     *
+     * @param graph The {@link CompactGraph}.
+     * @return The created {@link ChainContraction}.
+     */
+    public static ChainContraction of(CompactGraph graph) {
+        return new ChainContraction(graph);
+    }
+
+    private static boolean isPassThrough(CompactGraph graph, int node) {
+        Region.Node regionNode = graph.getNode(node);
+        if (regionNode instanceof Region.Restaurant || regionNode instanceof Region.Neighborhood) {
+            return false;
+        }
+        int firstArc = graph.getFirstArc(node);
+        return graph.getFirstArc(node + 1) - firstArc == 2
+            && graph.getTarget(firstArc) != node
+            && graph.getTarget(firstArc + 1) != node;
+    }
+
+    private static int otherNeighbor(CompactGraph graph, int node, int neighbor) {
+        int firstArc = graph.getFirstArc(node);
+        int target = graph.getTarget(firstArc);
+        return target != neighbor ? target : graph.getTarget(firstArc + 1);
+    }
+
+    private static int arcTo(CompactGraph graph, int node, int neighbor) {
+        int firstArc = graph.getFirstArc(node);
+        return graph.getTarget(firstArc) == neighbor ? firstArc : firstArc + 1;
+    }
+
+    /**
+     * Returns the {@link CompactGraph} this {@link ChainContraction} was created from.
+     *
+     * @return The {@link CompactGraph} this {@link ChainContraction} was created from.
+     */
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the amount of core nodes, i.e. the amount of nodes a search visits at most.
+     *
+     * @return The amount of core nodes.
+     */
+    public int getCoreNodeCount() {
+        return coreNodes.length;
+    }
+
+    /**
+     * Returns the amount of chains, i.e. half the amount of arcs between the core nodes.
+     *
+     * @return The amount of chains.
+     */
+    public int getChainCount() {
+        return chainFirst.length;
+    }
+
+    /**
+     * Returns whether the node with the given index is a core node.
+     *
+     * @param node The index of the node in the {@link CompactGraph}.
+     * @return True, if the node with the given index is a core node.
+     */
+    public boolean isCore(int node) {
+        return coreIndices[node] >= 0;
+    }
+}
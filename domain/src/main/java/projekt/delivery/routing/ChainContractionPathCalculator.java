@@ -0,0 +1,375 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * A {@link PathCalculator} that runs Dijkstra's algorithm on the core nodes of a {@link ChainContraction}.<p>
+ *
+ * The contraction is created once per {@link Region}, either eagerly by passing it to the constructor or lazily on
+ * the first query. Searches only settle core nodes and relax every chain of pass-through nodes as a single arc. If the
+ * start or end of a query is a pass-through node, the search starts at or ends with both ends of its chain.
+ * {@link #getDuration(Region.Node, Region.Node)} never visits the pass-through nodes, only the paths returned by
+ * {@link #getPath(Region.Node, Region.Node)} and {@link ShortestPathTree}s are expanded into the original nodes.<p>
+ *
+ * Since the search state is reused, instances of this class must not be used by multiple threads at the same time.
+ * The {@link ChainContraction} itself can be shared by multiple instances.
+ */
+public class ChainContractionPathCalculator implements PathCalculator {
+
+    /**
+     * Marks a core node whose shortest path leads along the chain of the end node towards the last node of the chain.
+     */
+    private static final int TOWARDS_LAST = -1;
+    /**
+     * Marks a core node whose shortest path leads along the chain of the end node towards the first node of the chain.
+     */
+    private static final int TOWARDS_FIRST = -2;
+    /**
+     * Marks the end node of the current search if it is a core node.
+     */
+    private static final int END = -3;
+
+    private @Nullable ChainContraction contraction;
+    /**
+     * The duration of the shortest known path from each core node to the end of the current search.
+     * Only valid if the corresponding entry in {@link #reachedIn} equals {@link #searchId}.
+     */
+    private long[] durations;
+    /**
+     * The arc from the next core node on the shortest path of each core node to the core node,
+     * {@link #TOWARDS_LAST} or {@link #TOWARDS_FIRST} if the rest of the path lies on the chain of the end node or
+     * {@link #END}.
+     */
+    private int[] nextArcs;
+    private int[] reachedIn;
+    private IndexedPriorityQueue queue;
+    private int searchId;
+
+    /**
+     * Creates a new {@link ChainContractionPathCalculator} that creates the {@link ChainContraction} lazily.
+     */
+    public ChainContractionPathCalculator() {
+    }
+
+    /**
+     * Creates a new {@link ChainContractionPathCalculator} that uses the given {@link ChainContraction}.
+     *
+     * @param contraction The {@link ChainContraction} used for {@link Region.Node}s of its {@link Region}.
+     */
+    public ChainContractionPathCalculator(ChainContraction contraction) {
+        setContraction(contraction);
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        ChainContraction contraction = getContraction(end.getRegion());
+        CompactGraph graph = contraction.getGraph();
+        int startIndex = requireIndex(contraction, start);
+        int endIndex = requireIndex(contraction, end);
+
+        long duration = search(contraction, endIndex, startIndex);
+        if (duration < 0) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+        Deque<Region.Node> path = new ArrayDeque<>();
+        if (startIndex == endIndex) {
+            return path;
+        }
+
+        int node = startIndex;
+        int chain = contraction.chainOf[startIndex];
+        if (chain >= 0) {
+            // leave the chain of the start node on the side the duration was calculated for
+            int position = contraction.positions[startIndex];
+            if (chain == contraction.chainOf[endIndex] && duration == directDuration(contraction, startIndex, endIndex)) {
+                addChainNodes(contraction, path, position, contraction.positions[endIndex]);
+                path.addLast(end);
+                return path;
+            } else if (isReached(contraction.coreIndices[contraction.chainFirst[chain]])
+                && duration == durationViaFirst(contraction, startIndex)) {
+                addChainNodes(contraction, path, position, contraction.chainOffsets[chain] - 1);
+                node = contraction.chainFirst[chain];
+            } else {
+                addChainNodes(contraction, path, position, contraction.chainOffsets[chain + 1]);
+                node = contraction.chainLast[chain];
+            }
+            path.addLast(graph.getNode(node));
+        }
+
+        while (node != endIndex) {
+            int nextArc = nextArcs[contraction.coreIndices[node]];
+            if (nextArc < 0) {
+                int endChain = contraction.chainOf[endIndex];
+                addChainNodes(contraction, path, nextArc == TOWARDS_LAST
+                    ? contraction.chainOffsets[endChain] - 1
+                    : contraction.chainOffsets[endChain + 1], contraction.positions[endIndex]);
+                node = endIndex;
+            } else {
+                int arcChain = contraction.arcChains[nextArc];
+                if (arcChain >= 0) {
+                    addChainNodes(contraction, path, contraction.chainOffsets[arcChain + 1], contraction.chainOffsets[arcChain] - 1);
+                    node = contraction.chainFirst[arcChain];
+                } else {
+                    addChainNodes(contraction, path, contraction.chainOffsets[~arcChain] - 1, contraction.chainOffsets[~arcChain + 1]);
+                    node = contraction.chainLast[~arcChain];
+                }
+            }
+            path.addLast(graph.getNode(node));
+        }
+        return path;
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        ChainContraction contraction = getContraction(end.getRegion());
+        long duration = search(contraction, requireIndex(contraction, end), requireIndex(contraction, start));
+        if (duration < 0) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+        return duration;
+    }
+
+    @Override
+    public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        return getShortestPathTree(end).asMap();
+    }
+
+    @Override
+    public ShortestPathTree getShortestPathTree(Region.Node end) {
+        ChainContraction contraction = getContraction(end.getRegion());
+        CompactGraph graph = contraction.getGraph();
+        int endIndex = requireIndex(contraction, end);
+        search(contraction, endIndex, -1);
+
+        int[] next = new int[graph.getNodeCount()];
+        long[] durations = new long[graph.getNodeCount()];
+        Arrays.fill(next, -1);
+        Arrays.fill(durations, -1);
+        durations[endIndex] = 0;
+        for (int core = 0; core < contraction.coreNodes.length; core++) {
+            int node = contraction.coreNodes[core];
+            if (node == endIndex || !isReached(core)) {
+                continue;
+            }
+            durations[node] = this.durations[core];
+            int nextArc = nextArcs[core];
+            if (nextArc < 0) {
+                int endChain = contraction.chainOf[endIndex];
+                next[node] = nextChainNode(contraction, nextArc == TOWARDS_LAST
+                    ? contraction.chainOffsets[endChain] - 1
+                    : contraction.chainOffsets[endChain + 1], contraction.positions[endIndex], endIndex);
+            } else {
+                int arcChain = contraction.arcChains[nextArc];
+                next[node] = arcChain >= 0
+                    ? nextChainNode(contraction, contraction.chainOffsets[arcChain + 1], contraction.chainOffsets[arcChain] - 1,
+                    contraction.chainFirst[arcChain])
+                    : nextChainNode(contraction, contraction.chainOffsets[~arcChain] - 1, contraction.chainOffsets[~arcChain + 1],
+                    contraction.chainLast[~arcChain]);
+            }
+        }
+
+        // every pass-through node continues towards the end of its chain with the shorter path
+        for (int chain = 0; chain < contraction.getChainCount(); chain++) {
+            int firstCore = contraction.coreIndices[contraction.chainFirst[chain]];
+            int lastCore = contraction.coreIndices[contraction.chainLast[chain]];
+            for (int position = contraction.chainOffsets[chain]; position < contraction.chainOffsets[chain + 1]; position++) {
+                int node = contraction.chainNodes[position];
+                if (node == endIndex) {
+                    continue;
+                }
+                long best = -1;
+                if (chain == contraction.chainOf[endIndex]) {
+                    best = directDuration(contraction, node, endIndex);
+                    next[node] = contraction.chainNodes[position < contraction.positions[endIndex] ? position + 1 : position - 1];
+                }
+                if (isReached(firstCore)) {
+                    long duration = durationViaFirst(contraction, node);
+                    if (best < 0 || duration < best) {
+                        best = duration;
+                        next[node] = position > contraction.chainOffsets[chain]
+                            ? contraction.chainNodes[position - 1]
+                            : contraction.chainFirst[chain];
+                    }
+                }
+                if (isReached(lastCore)) {
+                    long duration = durationViaLast(contraction, node);
+                    if (best < 0 || duration < best) {
+                        best = duration;
+                        next[node] = position < contraction.chainOffsets[chain + 1] - 1
+                            ? contraction.chainNodes[position + 1]
+                            : contraction.chainLast[chain];
+                    }
+                }
+                durations[node] = best;
+            }
+        }
+        return new ShortestPathTree(graph.nodes, graph.indices, endIndex, next, durations);
+    }
+
+    /**
+     * Returns the {@link ChainContraction} of the given {@link Region}, creating a new one if necessary.
+     *
+     * @param region The {@link Region}.
+     * @return The {@link ChainContraction} of the given {@link Region}.
+     */
+    public ChainContraction getContraction(Region region) {
+        if (contraction == null || contraction.getGraph().getRegion() != region) {
+            setContraction(ChainContraction.of(CompactGraph.of(region)));
+        }
+        return contraction;
+    }
+
+    private void setContraction(ChainContraction contraction) {
+        int coreNodeCount = contraction.getCoreNodeCount();
+        this.contraction = contraction;
+        durations = new long[coreNodeCount];
+        nextArcs = new int[coreNodeCount];
+        reachedIn = new int[coreNodeCount];
+        queue = new IndexedMinHeap(coreNodeCount);
+        searchId = 0;
+    }
+
+    private static int requireIndex(ChainContraction contraction, Region.Node node) {
+        int index = contraction.getGraph().indexOf(node);
+        if (index < 0) {
+            throw new IllegalArgumentException("Node " + node + " is not part of the region");
+        }
+        return index;
+    }
+
+    private boolean isReached(int core) {
+        return reachedIn[core] == searchId;
+    }
+
+    /**
+     * Executes Dijkstra's algorithm on the core nodes starting at {@code end}.
+     *
+     * @param contraction The searched {@link ChainContraction}.
+     * @param end         The index of the node the search starts at.
+     * @param start       The index of the node at which the search may stop once its duration is known or {@code -1} to
+     *                    settle every reachable core node.
+     * @return The duration of the shortest path from {@code start} to {@code end} or {@code -1} if there is none or
+     * {@code start} is {@code -1}.
+     */
+    private long search(ChainContraction contraction, int end, int start) {
+        if (++searchId == 0) {
+            // the ids wrapped around, so old entries could be mistaken for the current search
+            Arrays.fill(reachedIn, 0);
+            searchId = 1;
+        }
+        queue.clear();
+
+        int endChain = contraction.chainOf[end];
+        if (endChain < 0) {
+            relax(contraction.coreIndices[end], 0, END);
+        } else {
+            int position = contraction.positions[end];
+            relax(contraction.coreIndices[contraction.chainFirst[endChain]], contraction.chainDistances[position], TOWARDS_LAST);
+            relax(contraction.coreIndices[contraction.chainLast[endChain]],
+                contraction.chainDurations[endChain] - contraction.chainDistances[position], TOWARDS_FIRST);
+        }
+
+        // the shortest path of a pass-through start node leaves its chain at one of its ends or stays on it
+        long best = -1;
+        int startCore = -1;
+        int startFirst = -1;
+        int startLast = -1;
+        if (start == end) {
+            return 0;
+        } else if (start >= 0 && contraction.chainOf[start] < 0) {
+            startCore = contraction.coreIndices[start];
+        } else if (start >= 0) {
+            int startChain = contraction.chainOf[start];
+            startFirst = contraction.coreIndices[contraction.chainFirst[startChain]];
+            startLast = contraction.coreIndices[contraction.chainLast[startChain]];
+            if (startChain == endChain) {
+                best = directDuration(contraction, start, end);
+            }
+        }
+
+        int[] offsets = contraction.offsets;
+        int[] targets = contraction.targets;
+        long[] arcDurations = contraction.durations;
+        while (!queue.isEmpty()) {
+            if (best >= 0 && queue.peekKey() >= best) {
+                break;
+            }
+            int u = queue.poll();
+            if (u == startCore) {
+                return durations[u];
+            }
+            if (u == startFirst) {
+                long duration = durations[u] + contraction.chainDistances[contraction.positions[start]];
+                best = best < 0 ? duration : Math.min(best, duration);
+            }
+            if (u == startLast) {
+                long duration = durations[u] + durationToLast(contraction, start);
+                best = best < 0 ? duration : Math.min(best, duration);
+            }
+            long durationU = durations[u];
+            for (int arc = offsets[u], arcEnd = offsets[u + 1]; arc < arcEnd; arc++) {
+                int v = targets[arc];
+                long duration = durationU + arcDurations[arc];
+                relax(v, duration, arc);
+            }
+        }
+        return best;
+    }
+
+    private void relax(int core, long duration, int nextArc) {
+        if (reachedIn[core] == searchId && duration >= durations[core]) {
+            return;
+        }
+        reachedIn[core] = searchId;
+        durations[core] = duration;
+        nextArcs[core] = nextArc;
+        queue.insertOrDecrease(core, duration);
+    }
+
+    /**
+     * Adds the pass-through nodes at the positions between {@code from} and {@code to} (both excluded) to the given
+     * path, starting with the one next to {@code from}.
+     */
+    private static void addChainNodes(ChainContraction contraction, Deque<Region.Node> path, int from, int to) {
+        CompactGraph graph = contraction.getGraph();
+        int step = to > from ? 1 : -1;
+        for (int position = from + step; position != to; position += step) {
+            path.addLast(graph.getNode(contraction.chainNodes[position]));
+        }
+    }
+
+    /**
+     * Returns the pass-through node at the position next to {@code from} in the direction of {@code to} or the given
+     * node if that position is {@code to}.
+     */
+    private static int nextChainNode(ChainContraction contraction, int from, int to, int node) {
+        int position = to > from ? from + 1 : from - 1;
+        return position != to ? contraction.chainNodes[position] : node;
+    }
+
+    private long durationViaFirst(ChainContraction contraction, int node) {
+        int chain = contraction.chainOf[node];
+        return durations[contraction.coreIndices[contraction.chainFirst[chain]]]
+            + contraction.chainDistances[contraction.positions[node]];
+    }
+
+    private long durationViaLast(ChainContraction contraction, int node) {
+        int chain = contraction.chainOf[node];
+        return durations[contraction.coreIndices[contraction.chainLast[chain]]] + durationToLast(contraction, node);
+    }
+
+    private static long durationToLast(ChainContraction contraction, int node) {
+        int chain = contraction.chainOf[node];
+        return contraction.chainDurations[chain] - contraction.chainDistances[contraction.positions[node]];
+    }
+
+    private static long directDuration(ChainContraction contraction, int start, int end) {
+        return Math.abs(contraction.chainDistances[contraction.positions[start]]
+            - contraction.chainDistances[contraction.positions[end]]);
+    }
+}
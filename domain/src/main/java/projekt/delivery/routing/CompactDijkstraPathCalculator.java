@@ -0,0 +1,231 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * A {@link PathCalculator} that runs Dijkstra's algorithm on a {@link CompactGraph} snapshot of the {@link Region}.<p>
+ *
+ * In contrast to the {@link DijkstraPathCalculator}, the search only uses primitive arrays that are allocated once per
+ * {@link Region} and reused by every following search. The snapshot is taken when the first path in a {@link Region} is
+ * requested and replaced when a path in another {@link Region} is requested.<p>
+ *
+ * Since the search state is reused, instances of this class must not be used by multiple threads at the same time.
+ */
+public class CompactDijkstraPathCalculator implements PathCalculator {
+
+    private @Nullable CompactGraph graph;
+    /**
+     * The duration of the shortest known path from the source of the current search to each node.
+     * Only valid if the corresponding entry in {@link #reachedIn} equals {@link #searchId}.
+     */
+    private long[] durations;
+    /**
+     * The next node on the shortest known path from each node to the source of the current search.
+     */
+    private int[] previous;
+    /**
+     * The id of the last search that reached each node.
+     */
+    private int[] reachedIn;
+    private IndexedPriorityQueue queue;
+    private int searchId;
+    /**
+     * Creates the priority queue for the given amount of nodes.
+     */
+    private final IntFunction<IndexedPriorityQueue> queueFactory;
+
+    /**
+     * Creates a new {@link CompactDijkstraPathCalculator} that creates the {@link CompactGraph} snapshot lazily.
+     */
+    public CompactDijkstraPathCalculator() {
+        this(IndexedMinHeap::new);
+    }
+
+    /**
+     * Creates a new {@link CompactDijkstraPathCalculator} that uses the given {@link CompactGraph} snapshot.
+     *
+     * @param graph The {@link CompactGraph} to use for {@link Region.Node}s of its {@link Region}.
+     */
+    public CompactDijkstraPathCalculator(CompactGraph graph) {
+        this(IndexedMinHeap::new, graph);
+    }
+
+    /**
+     * Creates a new {@link CompactDijkstraPathCalculator} that creates the {@link CompactGraph} snapshot lazily and uses
+     * the priority queues created by the given factory.
+     *
+     * @param queueFactory The factory creating a priority queue for the given amount of nodes.
+     */
+    CompactDijkstraPathCalculator(IntFunction<IndexedPriorityQueue> queueFactory) {
+        this.queueFactory = queueFactory;
+    }
+
+    /**
+     * Creates a new {@link CompactDijkstraPathCalculator} that uses the given {@link CompactGraph} snapshot and the
+     * priority queues created by the given factory.
+     *
+     * @param queueFactory The factory creating a priority queue for the given amount of nodes.
+     * @param graph        The {@link CompactGraph} to use for {@link Region.Node}s of its {@link Region}.
+     */
+    CompactDijkstraPathCalculator(IntFunction<IndexedPriorityQueue> queueFactory, CompactGraph graph) {
+        this.queueFactory = queueFactory;
+        setGraph(graph);
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        CompactGraph graph = getGraph(end.getRegion());
+        int startIndex = requireIndex(graph, start);
+        int endIndex = requireIndex(graph, end);
+
+        // Search from the end node, so following the previous pointers from start leads to end
+        search(endIndex, startIndex);
+        if (!isReached(startIndex)) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+        return reconstructPath(graph, startIndex, endIndex);
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        CompactGraph graph = getGraph(end.getRegion());
+        int startIndex = requireIndex(graph, start);
+        int endIndex = requireIndex(graph, end);
+
+        search(endIndex, startIndex);
+        if (!isReached(startIndex)) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+        return durations[startIndex];
+    }
+
+    @Override
+    public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        return getShortestPathTree(end).asMap();
+    }
+
+    @Override
+    public ShortestPathTree getShortestPathTree(Region.Node end) {
+        CompactGraph graph = getGraph(end.getRegion());
+        int endIndex = requireIndex(graph, end);
+
+        search(endIndex, -1);
+
+        int[] next = new int[graph.getNodeCount()];
+        long[] durations = new long[graph.getNodeCount()];
+        for (int node = 0; node < graph.getNodeCount(); node++) {
+            if (isReached(node)) {
+                next[node] = previous[node];
+                durations[node] = this.durations[node];
+            } else {
+                next[node] = -1;
+                durations[node] = -1;
+            }
+        }
+        return new ShortestPathTree(graph.nodes, graph.indices, endIndex, next, durations);
+    }
+
+    /**
+     * Returns the {@link CompactGraph} snapshot for the given {@link Region}, creating a new one if necessary.
+     *
+     * @param region The {@link Region}.
+     * @return The {@link CompactGraph} snapshot of the given {@link Region}.
+     */
+    protected CompactGraph getGraph(Region region) {
+        if (graph == null || graph.getRegion() != region) {
+            setGraph(CompactGraph.of(region));
+        }
+        return graph;
+    }
+
+    private void setGraph(CompactGraph graph) {
+        int nodeCount = graph.getNodeCount();
+        this.graph = graph;
+        durations = new long[nodeCount];
+        previous = new int[nodeCount];
+        reachedIn = new int[nodeCount];
+        queue = queueFactory.apply(nodeCount);
+        searchId = 0;
+    }
+
+    private static int requireIndex(CompactGraph graph, Region.Node node) {
+        int index = graph.indexOf(node);
+        if (index < 0) {
+            throw new IllegalArgumentException("Node " + node + " is not part of the region");
+        }
+        return index;
+    }
+
+    private boolean isReached(int node) {
+        return reachedIn[node] == searchId;
+    }
+
+    /**
+     * Executes Dijkstra's algorithm starting at {@code source}.
+     *
+     * @param source The index of the node to start the search at.
+     * @param target The index of the node at which the search may stop once it is settled or {@code -1} to settle
+     *               every reachable node.
+     */
+    private void search(int source, int target) {
+        CompactGraph graph = this.graph;
+        assert graph != null;
+        if (++searchId == 0) {
+            // the ids wrapped around, so old entries could be mistaken for the current search
+            Arrays.fill(reachedIn, 0);
+            searchId = 1;
+        }
+        queue.clear();
+
+        reachedIn[source] = searchId;
+        durations[source] = 0;
+        previous[source] = -1;
+        queue.insertOrDecrease(source, 0);
+
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        long[] arcDurations = graph.durations;
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            if (u == target) {
+                return;
+            }
+            long durationU = durations[u];
+            for (int arc = offsets[u], end = offsets[u + 1]; arc < end; arc++) {
+                int v = targets[arc];
+                long duration = durationU + arcDurations[arc];
+                if (reachedIn[v] != searchId) {
+                    reachedIn[v] = searchId;
+                } else if (duration >= durations[v]) {
+                    continue;
+                }
+                durations[v] = duration;
+                previous[v] = u;
+                queue.insertOrDecrease(v, duration);
+            }
+        }
+    }
+
+    /**
+     * Reconstructs the path from {@code start} to {@code end} after the search from {@code end} was performed.
+     *
+     * @param graph The searched {@link CompactGraph}.
+     * @param start The index of the start node of the path.
+     * @param end   The index of the end node of the path.
+     * @return The reconstructed path from {@code start} (excluded) to {@code end} (included).
+     */
+    private Deque<Region.Node> reconstructPath(CompactGraph graph, int start, int end) {
+        Deque<Region.Node> path = new ArrayDeque<>();
+        for (int node = start; node != end; ) {
+            node = previous[node];
+            path.addLast(graph.nodes[node]);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,200 @@
+package projekt.delivery.routing;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A frozen compressed-sparse-row view of a {@link Region}.<p>
+ *
+ * Every {@link Region.Node} is mapped to a dense int index in {@code [0, getNodeCount())}, ordered by
+ * {@link Region.Node#compareTo(Region.Node)}. The arcs leaving node {@code u} are stored in the range
+ * {@code [getFirstArc(u), getFirstArc(u + 1))} of the target, duration and edge arrays. Since the edges of a
+ * {@link Region} are undirected, every {@link Region.Edge} is stored as two arcs.<p>
+ *
+ * The snapshot does not observe later changes to the {@link Region}.
+ */
+public final class CompactGraph {
+
+    private final Region region;
+    final Map<Region.Node, Integer> indices;
+    final Region.Node[] nodes;
+    final int[] offsets;
+    final int[] targets;
+    final long[] durations;
+    final Region.Edge[] edges;
+
+    private CompactGraph(Region region) {
+        this.region = region;
+
+        Collection<Region.Node> regionNodes = region.getNodes();
+        nodes = regionNodes.toArray(Region.Node[]::new);
+        Arrays.sort(nodes);
+        indices = new HashMap<>(nodes.length * 2);
+        for (int i = 0; i < nodes.length; i++) {
+            indices.put(nodes[i], i);
+        }
+
+        Collection<Region.Edge> regionEdges = region.getEdges();
+        int[] edgeA = new int[regionEdges.size()];
+        int[] edgeB = new int[regionEdges.size()];
+        Region.Edge[] edgeArray = regionEdges.toArray(Region.Edge[]::new);
+        offsets = new int[nodes.length + 1];
+        for (int i = 0; i < edgeArray.length; i++) {
+            edgeA[i] = requireIndex(edgeArray[i].getNodeA());
+            edgeB[i] = requireIndex(edgeArray[i].getNodeB());
+            offsets[edgeA[i] + 1]++;
+            offsets[edgeB[i] + 1]++;
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int arcCount = offsets[nodes.length];
+        targets = new int[arcCount];
+        durations = new long[arcCount];
+        edges = new Region.Edge[arcCount];
+        int[] next = Arrays.copyOf(offsets, nodes.length);
+        for (int i = 0; i < edgeArray.length; i++) {
+            int arc = next[edgeA[i]]++;
+            targets[arc] = edgeB[i];
+            durations[arc] = edgeArray[i].getDuration();
+            edges[arc] = edgeArray[i];
+
+            arc = next[edgeB[i]]++;
+            targets[arc] = edgeA[i];
+            durations[arc] = edgeArray[i].getDuration();
+            edges[arc] = edgeArray[i];
+        }
+    }
+
+    /**
+     * Creates a new {@link CompactGraph} snapshot of the given {@link Region}.
+     *
+     * @param region The {@link Region} to take the snapshot of.
+     * @return The created {@link CompactGraph}.
+     */
+    public static CompactGraph of(Region region) {
+        return new CompactGraph(region);
+    }
+
+    private int requireIndex(Region.Node node) {
+        int index = indexOf(node);
+        if (index < 0) {
+            throw new IllegalArgumentException("Node " + node + " is not part of the region");
+        }
+        return index;
+    }
+
+    /**
+     * Returns the {@link Region} this {@link CompactGraph} was created from.
+     *
+     * @return The {@link Region} this {@link CompactGraph} was created from.
+     */
+    public Region getRegion() {
+        return region;
+    }
+
+    /**
+     * Returns the amount of nodes in this {@link CompactGraph}.
+     *
+     * @return The amount of nodes in this {@link CompactGraph}.
+     */
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns the amount of arcs in this {@link CompactGraph}, which is twice the amount of {@link Region.Edge}s.
+     *
+     * @return The amount of arcs in this {@link CompactGraph}.
+     */
+    public int getArcCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the index of the given {@link Region.Node}.
+     *
+     * @param node The {@link Region.Node} to return the index of.
+     * @return The index of the given {@link Region.Node} or {@code -1} if it is not part of this {@link CompactGraph}.
+     */
+    public int indexOf(Region.Node node) {
+        return indexOf(nodes, indices, node);
+    }
+
+    /**
+     * Returns the index of the given node in the given array of sorted {@link Region.Node}s.<p>
+     *
+     * If every {@link Region.Node} of the {@link Region} was created by a {@link Region.Builder}, the index of a
+     * {@link Region.Node} is its {@link Region.Node#getId() id}, so the lookup in the given {@link Map} and thereby
+     * the calculation of the hash code is skipped.
+     *
+     * @param nodes   The sorted {@link Region.Node}s.
+     * @param indices The index of every {@link Region.Node} in {@code nodes}.
+     * @param node    The node to return the index of.
+     * @return The index of the given node or {@code -1} if it is not contained in {@code nodes}.
+     */
+    static int indexOf(Region.Node[] nodes, Map<Region.Node, Integer> indices, Object node) {
+        if (node instanceof Region.Node regionNode) {
+            int id = regionNode.getId();
+            if (id >= 0 && id < nodes.length && nodes[id] == node) {
+                return id;
+            }
+        }
+        Integer index = indices.get(node);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the {@link Region.Node} with the given index.
+     *
+     * @param index The index of the {@link Region.Node}.
+     * @return The {@link Region.Node} with the given index.
+     */
+    public Region.Node getNode(int index) {
+        return nodes[index];
+    }
+
+    /**
+     * Returns the first arc leaving the node with the given index. The arcs of node {@code u} end before
+     * {@code getFirstArc(u + 1)}.
+     *
+     * @param node The index of the node. May be equal to {@link #getNodeCount()}.
+     * @return The first arc leaving the node with the given index.
+     */
+    public int getFirstArc(int node) {
+        return offsets[node];
+    }
+
+    /**
+     * Returns the index of the node the given arc leads to.
+     *
+     * @param arc The arc.
+     * @return The index of the node the given arc leads to.
+     */
+    public int getTarget(int arc) {
+        return targets[arc];
+    }
+
+    /**
+     * Returns the duration of the given arc.
+     *
+     * @param arc The arc.
+     * @return The duration of the given arc.
+     */
+    public long getDuration(int arc) {
+        return durations[arc];
+    }
+
+    /**
+     * Returns the {@link Region.Edge} the given arc was created from.
+     *
+     * @param arc The arc.
+     * @return The {@link Region.Edge} the given arc was created from.
+     */
+    public Region.Edge getEdge(int arc) {
+        return edges[arc];
+    }
+}
@@ -0,0 +1,329 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe {@link PathCalculator} that is based on another {@link PathCalculator} and caches its
+ * {@link ShortestPathTree}s for later use.<p>
+ *
+ * A single instance can be shared by multiple threads and simulations of the same {@link Region}. If multiple threads
+ * request the {@link ShortestPathTree} of the same end node at the same time, it is only calculated once and all
+ * threads wait for the result.<p>
+ *
+ * The cache is bounded by the amount of entries as well as by the estimated memory usage of the cached
+ * {@link ShortestPathTree}s. If one of the bounds is exceeded, the least recently used entries are evicted. Cache hits
+ * update the access order unless another thread is currently modifying it, in which case the update is skipped
+ * instead of waiting for the other thread.<p>
+ *
+ * The delegate is either a single {@link PathCalculator}, which is never used by multiple threads at the same time, or
+ * created once for every thread by a factory, which allows calculating different {@link ShortestPathTree}s in parallel.
+ */
+public class ConcurrentCachedPathCalculator implements PathCalculator {
+
+    private final @Nullable PathCalculator delegate;
+    private final @Nullable ThreadLocal<PathCalculator> delegates;
+    private final int maximumSize;
+    private final long maximumMemory;
+
+    private final Map<Region.Node, CompletableFuture<ShortestPathTree>> entries = new ConcurrentHashMap<>();
+    /**
+     * The completed entries in access order, guarded by {@link #lock}.
+     */
+    private final LinkedHashMap<Region.Node, CacheEntry> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * The estimated memory usage of all entries in {@link #accessOrder}, guarded by {@link #lock}.
+     */
+    private long memoryUsage;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+
+    /**
+     * Creates a new {@link ConcurrentCachedPathCalculator}.<p>
+     * All cache misses are calculated by the same delegate while holding its monitor, so they are serialized even if
+     * they request different end nodes. Use
+     * {@link #ConcurrentCachedPathCalculator(Supplier, int, long)} to calculate misses in parallel.
+     *
+     * @param delegate      The {@link PathCalculator} this {@link ConcurrentCachedPathCalculator} uses to calculate the
+     *                      paths. It is never used by multiple threads at the same time.
+     * @param maximumSize   The maximum amount of cached {@link ShortestPathTree}s.
+     * @param maximumMemory The maximum estimated memory usage of all cached {@link ShortestPathTree}s in bytes.
+     */
+    public ConcurrentCachedPathCalculator(PathCalculator delegate, int maximumSize, long maximumMemory) {
+        this(delegate, null, maximumSize, maximumMemory);
+    }
+
+    /**
+     * Creates a new {@link ConcurrentCachedPathCalculator}.<p>
+     * The size of the cache will be set to 1024 and the memory usage will not be limited. All cache misses are
+     * calculated by the same delegate while holding its monitor, so they are serialized. Use
+     * {@link #ConcurrentCachedPathCalculator(Supplier)} to calculate misses in parallel.
+     *
+     * @param delegate The {@link PathCalculator} this {@link ConcurrentCachedPathCalculator} uses to calculate the
+     *                 paths. It is never used by multiple threads at the same time.
+     */
+    public ConcurrentCachedPathCalculator(PathCalculator delegate) {
+        this(delegate, 1024, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a new {@link ConcurrentCachedPathCalculator} that uses a separate delegate for every thread.
+     *
+     * @param delegateFactory The factory creating the {@link PathCalculator} of every thread.
+     * @param maximumSize     The maximum amount of cached {@link ShortestPathTree}s.
+     * @param maximumMemory   The maximum estimated memory usage of all cached {@link ShortestPathTree}s in bytes.
+     */
+    public ConcurrentCachedPathCalculator(Supplier<? extends PathCalculator> delegateFactory, int maximumSize, long maximumMemory) {
+        this(null, ThreadLocal.withInitial(delegateFactory), maximumSize, maximumMemory);
+    }
+
+    /**
+     * Creates a new {@link ConcurrentCachedPathCalculator} that uses a separate delegate for every thread.<p>
+     * The size of the cache will be set to 1024 and the memory usage will not be limited.
+     *
+     * @param delegateFactory The factory creating the {@link PathCalculator} of every thread.
+     */
+    public ConcurrentCachedPathCalculator(Supplier<? extends PathCalculator> delegateFactory) {
+        this(delegateFactory, 1024, Long.MAX_VALUE);
+    }
+
+    private ConcurrentCachedPathCalculator(
+        @Nullable PathCalculator delegate,
+        @Nullable ThreadLocal<PathCalculator> delegates,
+        int maximumSize,
+        long maximumMemory
+    ) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("The maximum size must be positive: " + maximumSize);
+        }
+        if (maximumMemory <= 0) {
+            throw new IllegalArgumentException("The maximum memory must be positive: " + maximumMemory);
+        }
+        this.delegate = delegate;
+        this.delegates = delegates;
+        this.maximumSize = maximumSize;
+        this.maximumMemory = maximumMemory;
+    }
+
+    /**
+     * Returns the {@link PathCalculator} used to calculate the paths. If a delegate is created for every thread, the
+     * delegate of the current thread is returned.
+     *
+     * @return The {@link PathCalculator} used to calculate the paths.
+     */
+    public PathCalculator getDelegate() {
+        return delegate != null ? delegate : getThreadDelegate();
+    }
+
+    private PathCalculator getThreadDelegate() {
+        assert delegates != null;
+        return delegates.get();
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        return getShortestPathTree(end).getPath(start);
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        return getShortestPathTree(end).getDuration(start);
+    }
+
+    @Override
+    public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        return getShortestPathTree(end).asMap();
+    }
+
+    @Override
+    public ShortestPathTree getShortestPathTree(Region.Node end) {
+        @Nullable CompletableFuture<ShortestPathTree> future = entries.get(end);
+        if (future == null) {
+            CompletableFuture<ShortestPathTree> newFuture = new CompletableFuture<>();
+            future = entries.putIfAbsent(end, newFuture);
+            if (future == null) {
+                missCount.increment();
+                return load(end, newFuture);
+            }
+        }
+        hitCount.increment();
+        recordAccess(end);
+        return join(future);
+    }
+
+    private ShortestPathTree load(Region.Node end, CompletableFuture<ShortestPathTree> future) {
+        long start = System.nanoTime();
+        ShortestPathTree tree;
+        try {
+            if (delegate != null) {
+                synchronized (delegate) {
+                    tree = delegate.getShortestPathTree(end);
+                }
+            } else {
+                tree = getThreadDelegate().getShortestPathTree(end);
+            }
+        } catch (RuntimeException | Error e) {
+            // Waiting threads receive the exception, but later requests try again
+            entries.remove(end, future);
+            loadFailureCount.increment();
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            totalLoadTime.add(System.nanoTime() - start);
+        }
+        future.complete(tree);
+        admit(end, future, tree);
+        return tree;
+    }
+
+    private static ShortestPathTree join(CompletableFuture<ShortestPathTree> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            } else if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void recordAccess(Region.Node end) {
+        if (lock.tryLock()) {
+            try {
+                accessOrder.get(end);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Adds a loaded {@link ShortestPathTree} to the access order and evicts the least recently used entries until both
+     * bounds are satisfied again.
+     */
+    private void admit(Region.Node end, CompletableFuture<ShortestPathTree> future, ShortestPathTree tree) {
+        lock.lock();
+        try {
+            if (entries.get(end) != future) {
+                // the entry was invalidated while loading
+                return;
+            }
+            CacheEntry entry = new CacheEntry(future, tree.getMemoryUsage());
+            accessOrder.put(end, entry);
+            memoryUsage += entry.memoryUsage();
+
+            Iterator<Map.Entry<Region.Node, CacheEntry>> iterator = accessOrder.entrySet().iterator();
+            while (accessOrder.size() > maximumSize || memoryUsage > maximumMemory) {
+                Map.Entry<Region.Node, CacheEntry> eldest = iterator.next();
+                iterator.remove();
+                entries.remove(eldest.getKey(), eldest.getValue().future());
+                memoryUsage -= eldest.getValue().memoryUsage();
+                evictionCount.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all cached {@link ShortestPathTree}s. Calculations that are currently in progress are not cached after
+     * they are finished.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+            accessOrder.clear();
+            memoryUsage = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics of this {@link ConcurrentCachedPathCalculator}.
+     *
+     * @return The current {@link Stats}.
+     */
+    public Stats getStats() {
+        lock.lock();
+        try {
+            return new Stats(
+                hitCount.sum(),
+                missCount.sum(),
+                evictionCount.sum(),
+                loadFailureCount.sum(),
+                totalLoadTime.sum(),
+                accessOrder.size(),
+                memoryUsage
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A cached {@link ShortestPathTree} with its estimated memory usage.
+     */
+    private record CacheEntry(CompletableFuture<ShortestPathTree> future, long memoryUsage) {
+    }
+
+    /**
+     * The statistics of a {@link ConcurrentCachedPathCalculator}.
+     *
+     * @param hitCount         The amount of requests that were answered by a cached or currently calculated
+     *                         {@link ShortestPathTree}.
+     * @param missCount        The amount of requests that calculated a new {@link ShortestPathTree}.
+     * @param evictionCount    The amount of {@link ShortestPathTree}s that were evicted from the cache.
+     * @param loadFailureCount The amount of calculations that threw an exception.
+     * @param totalLoadTime    The total time spent calculating {@link ShortestPathTree}s in nanoseconds.
+     * @param size             The amount of cached {@link ShortestPathTree}s.
+     * @param memoryUsage      The estimated memory usage of all cached {@link ShortestPathTree}s in bytes.
+     */
+    public record Stats(
+        long hitCount,
+        long missCount,
+        long evictionCount,
+        long loadFailureCount,
+        long totalLoadTime,
+        int size,
+        long memoryUsage
+    ) {
+
+        /**
+         * Returns the ratio of requests that were hits.
+         *
+         * @return The ratio of requests that were hits or {@code 1} if there were no requests.
+         */
+        public double hitRate() {
+            long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1 : (double) hitCount / requestCount;
+        }
+
+        /**
+         * Returns the average time spent calculating a {@link ShortestPathTree}.
+         *
+         * @return The average time spent calculating a {@link ShortestPathTree} in nanoseconds.
+         */
+        public double averageLoadTime() {
+            return missCount == 0 ? 0 : (double) totalLoadTime / missCount;
+        }
+    }
+}
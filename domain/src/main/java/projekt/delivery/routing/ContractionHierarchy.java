@@ -0,0 +1,495 @@
+package projekt.delivery.routing;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * A contraction hierarchy over a {@link CompactGraph}.<p>
+ *
+ * Every node is assigned a rank by contracting the nodes one after another. When a node is contracted, shortcuts are
+ * added between its remaining neighbors unless a witness path that is at most as long exists. The hierarchy only
+ * stores the upward arcs of every node, i.e. the arcs to neighbors with a higher rank, which is sufficient to answer
+ * shortest path queries with a bidirectional upward search (see {@link ContractionHierarchyPathCalculator}).<p>
+ *
+ * Nodes are contracted in rounds. In every round, all nodes whose priority is smaller than the one of all their
+ * neighbors form an independent set that is contracted in parallel. The witness searches of a round ignore all nodes
+ * contracted in the same round, so every found witness still exists afterwards.<p>
+ *
+ * Instances of this class are immutable and can be shared between threads.
+ */
+public final class ContractionHierarchy {
+
+    /**
+     * The maximum amount of nodes a single witness search may settle while contracting a node. If a search is aborted,
+     * an unnecessary shortcut may be added, which does not affect the correctness of the hierarchy.
+     */
+    private static final int WITNESS_SETTLE_LIMIT = 200;
+    /**
+     * The maximum amount of nodes a single witness search may settle while estimating the priority of a node.
+     */
+    private static final int SIMULATION_SETTLE_LIMIT = 40;
+
+    private final CompactGraph graph;
+    final int[] ranks;
+    final int[] offsets;
+    final int[] targets;
+    final long[] durations;
+    /**
+     * The contracted node every shortcut bypasses or {@code -1} if the arc is an arc of the {@link CompactGraph}.
+     */
+    final int[] middles;
+
+    private ContractionHierarchy(CompactGraph graph, int[] ranks, int[] offsets, int[] targets, long[] durations, int[] middles) {
+        this.graph = graph;
+        this.ranks = ranks;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.durations = durations;
+        this.middles = middles;
+    }
+
+    /**
+     * Builds a new {@link ContractionHierarchy} over the given {@link CompactGraph}.
+     *
+     * @param graph The {@link CompactGraph}.
+     * @return The built {@link ContractionHierarchy}.
+     */
+    public static ContractionHierarchy build(CompactGraph graph) {
+        return build(graph, progress -> {
+        });
+    }
+
+    /**
+     * Builds a new {@link ContractionHierarchy} over the given {@link CompactGraph} and reports the progress after every
+     * round of contractions to the given {@link ProgressListener}.
+     *
+     * @param graph            The {@link CompactGraph}.
+     * @param progressListener The {@link ProgressListener} to report the progress to.
+     * @return The built {@link ContractionHierarchy}.
+     */
+    public static ContractionHierarchy build(CompactGraph graph, ProgressListener progressListener) {
+        return new Contractor(graph, progressListener).contract();
+    }
+
+    /**
+     * Returns the {@link CompactGraph} this {@link ContractionHierarchy} was built over.
+     *
+     * @return The {@link CompactGraph} this {@link ContractionHierarchy} was built over.
+     */
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the rank of the node with the given index, i.e. the position of the node in the contraction order.
+     *
+     * @param node The index of the node.
+     * @return The rank of the node with the given index.
+     */
+    public int getRank(int node) {
+        return ranks[node];
+    }
+
+    /**
+     * Returns the amount of shortcuts contained in this {@link ContractionHierarchy}.
+     *
+     * @return The amount of shortcuts contained in this {@link ContractionHierarchy}.
+     */
+    public long getShortcutCount() {
+        return Arrays.stream(middles).filter(middle -> middle >= 0).count();
+    }
+
+    /**
+     * Returns the estimated amount of bytes used by the arrays of this {@link ContractionHierarchy}.
+     *
+     * @return The estimated amount of bytes used by this {@link ContractionHierarchy}.
+     */
+    public long getMemoryUsage() {
+        return 4L * ranks.length + 4L * offsets.length + 16L * targets.length;
+    }
+
+    /**
+     * Returns the upward arc from the node with the lower rank to the node with the higher rank of the given nodes.
+     *
+     * @param nodeA The index of the first node.
+     * @param nodeB The index of the second node.
+     * @return The arc between the given nodes or {@code -1} if there is none.
+     */
+    int findArc(int nodeA, int nodeB) {
+        int lower = ranks[nodeA] < ranks[nodeB] ? nodeA : nodeB;
+        int higher = lower == nodeA ? nodeB : nodeA;
+        for (int arc = offsets[lower]; arc < offsets[lower + 1]; arc++) {
+            if (targets[arc] == higher) {
+                return arc;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A listener that is notified about the progress of building a {@link ContractionHierarchy}.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * Called after every round of contractions.
+         *
+         * @param progress The current {@link Progress}.
+         */
+        void onProgress(Progress progress);
+    }
+
+    /**
+     * The progress of building a {@link ContractionHierarchy}.
+     *
+     * @param contractedNodes The amount of nodes that have been contracted.
+     * @param nodeCount       The total amount of nodes.
+     * @param shortcuts       The amount of shortcuts that have been added.
+     * @param usedMemory      The amount of bytes currently used by the heap of the JVM.
+     */
+    public record Progress(int contractedNodes, int nodeCount, long shortcuts, long usedMemory) {}
+
+    /**
+     * Contracts the nodes of a {@link CompactGraph} and builds the resulting {@link ContractionHierarchy}.
+     */
+    private static final class Contractor {
+
+        private final CompactGraph graph;
+        private final ProgressListener progressListener;
+        private final int nodeCount;
+        /**
+         * The remaining adjacency of every node. Once a node is contracted, its adjacency is not changed anymore and
+         * contains exactly its upward arcs.
+         */
+        private final int[][] neighbors;
+        private final long[][] weights;
+        private final int[][] middles;
+        private final int[] degrees;
+        private final int[] ranks;
+        private final int[] priorities;
+        private final int[] contractedNeighbors;
+        /**
+         * Whether a node is contracted in the current round or has been contracted before.
+         */
+        private final boolean[] excluded;
+        private final AtomicLong shortcutCount = new AtomicLong();
+        private final ThreadLocal<WitnessSearch> witnessSearches;
+
+        private Contractor(CompactGraph graph, ProgressListener progressListener) {
+            this.graph = graph;
+            this.progressListener = progressListener;
+            nodeCount = graph.getNodeCount();
+            neighbors = new int[nodeCount][];
+            weights = new long[nodeCount][];
+            middles = new int[nodeCount][];
+            degrees = new int[nodeCount];
+            ranks = new int[nodeCount];
+            priorities = new int[nodeCount];
+            contractedNeighbors = new int[nodeCount];
+            excluded = new boolean[nodeCount];
+            witnessSearches = ThreadLocal.withInitial(() -> new WitnessSearch(nodeCount));
+
+            for (int u = 0; u < nodeCount; u++) {
+                int capacity = Math.max(4, graph.offsets[u + 1] - graph.offsets[u]);
+                neighbors[u] = new int[capacity];
+                weights[u] = new long[capacity];
+                middles[u] = new int[capacity];
+            }
+            for (int u = 0; u < nodeCount; u++) {
+                for (int arc = graph.offsets[u]; arc < graph.offsets[u + 1]; arc++) {
+                    int v = graph.targets[arc];
+                    if (v != u) {
+                        addArc(u, v, graph.durations[arc], -1);
+                    }
+                }
+            }
+        }
+
+        private ContractionHierarchy contract() {
+            IntStream.range(0, nodeCount).parallel().forEach(u -> priorities[u] = computePriority(u));
+
+            int[] remaining = IntStream.range(0, nodeCount).toArray();
+            int remainingCount = nodeCount;
+            int nextRank = 0;
+            while (remainingCount > 0) {
+                int[] round = Arrays.stream(remaining, 0, remainingCount).parallel()
+                    .filter(this::isLocalMinimum)
+                    .toArray();
+                for (int u : round) {
+                    excluded[u] = true;
+                    ranks[u] = nextRank++;
+                }
+
+                Shortcuts[] shortcuts = Arrays.stream(round).parallel()
+                    .mapToObj(this::findShortcuts)
+                    .toArray(Shortcuts[]::new);
+                for (Shortcuts nodeShortcuts : shortcuts) {
+                    apply(nodeShortcuts);
+                }
+
+                int[] affected = Arrays.stream(round)
+                    .flatMap(u -> Arrays.stream(neighbors[u], 0, degrees[u]))
+                    .distinct()
+                    .toArray();
+                Arrays.stream(affected).parallel().forEach(v -> priorities[v] = computePriority(v));
+
+                int next = 0;
+                for (int i = 0; i < remainingCount; i++) {
+                    if (!excluded[remaining[i]]) {
+                        remaining[next++] = remaining[i];
+                    }
+                }
+                remainingCount = next;
+
+                Runtime runtime = Runtime.getRuntime();
+                progressListener.onProgress(new Progress(
+                    nodeCount - remainingCount,
+                    nodeCount,
+                    shortcutCount.get(),
+                    runtime.totalMemory() - runtime.freeMemory()
+                ));
+            }
+            return buildHierarchy();
+        }
+
+        private boolean isLocalMinimum(int u) {
+            for (int i = 0; i < degrees[u]; i++) {
+                int v = neighbors[u][i];
+                if (priorities[v] < priorities[u] || priorities[v] == priorities[u] && v < u) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Computes the priority of the given node as its edge difference plus the amount of contracted neighbors.
+         */
+        private int computePriority(int u) {
+            int shortcuts = witnessSearches.get().countShortcuts(u);
+            return shortcuts - degrees[u] + contractedNeighbors[u];
+        }
+
+        private Shortcuts findShortcuts(int u) {
+            return witnessSearches.get().findShortcuts(u);
+        }
+
+        /**
+         * Removes the contracted node from the adjacency of its neighbors and adds its shortcuts.
+         */
+        private void apply(Shortcuts shortcuts) {
+            int u = shortcuts.node;
+            for (int i = 0; i < degrees[u]; i++) {
+                int v = neighbors[u][i];
+                removeArc(v, u);
+                contractedNeighbors[v]++;
+            }
+            for (int i = 0; i < shortcuts.size; i++) {
+                int a = shortcuts.nodesA[i];
+                int b = shortcuts.nodesB[i];
+                long weight = shortcuts.weights[i];
+                if (addArc(a, b, weight, u) | addArc(b, a, weight, u)) {
+                    shortcutCount.incrementAndGet();
+                }
+            }
+        }
+
+        /**
+         * Adds an arc from {@code u} to {@code v} or shortens the existing one.
+         *
+         * @return {@code true} if the arc was added or shortened.
+         */
+        private boolean addArc(int u, int v, long weight, int middle) {
+            for (int i = 0; i < degrees[u]; i++) {
+                if (neighbors[u][i] == v) {
+                    if (weight >= weights[u][i]) {
+                        return false;
+                    }
+                    weights[u][i] = weight;
+                    middles[u][i] = middle;
+                    return true;
+                }
+            }
+            if (degrees[u] == neighbors[u].length) {
+                int capacity = neighbors[u].length * 2;
+                neighbors[u] = Arrays.copyOf(neighbors[u], capacity);
+                weights[u] = Arrays.copyOf(weights[u], capacity);
+                middles[u] = Arrays.copyOf(middles[u], capacity);
+            }
+            int i = degrees[u]++;
+            neighbors[u][i] = v;
+            weights[u][i] = weight;
+            middles[u][i] = middle;
+            return true;
+        }
+
+        private void removeArc(int u, int v) {
+            for (int i = 0; i < degrees[u]; i++) {
+                if (neighbors[u][i] == v) {
+                    int last = --degrees[u];
+                    neighbors[u][i] = neighbors[u][last];
+                    weights[u][i] = weights[u][last];
+                    middles[u][i] = middles[u][last];
+                    return;
+                }
+            }
+        }
+
+        private ContractionHierarchy buildHierarchy() {
+            int[] offsets = new int[nodeCount + 1];
+            for (int u = 0; u < nodeCount; u++) {
+                offsets[u + 1] = offsets[u] + degrees[u];
+            }
+            int arcCount = offsets[nodeCount];
+            int[] targets = new int[arcCount];
+            long[] durations = new long[arcCount];
+            int[] arcMiddles = new int[arcCount];
+            for (int u = 0; u < nodeCount; u++) {
+                System.arraycopy(neighbors[u], 0, targets, offsets[u], degrees[u]);
+                System.arraycopy(weights[u], 0, durations, offsets[u], degrees[u]);
+                System.arraycopy(middles[u], 0, arcMiddles, offsets[u], degrees[u]);
+            }
+            return new ContractionHierarchy(graph, ranks, offsets, targets, durations, arcMiddles);
+        }
+
+        /**
+         * The shortcuts required when a node is contracted.
+         */
+        private static final class Shortcuts {
+            private final int node;
+            private int[] nodesA = new int[4];
+            private int[] nodesB = new int[4];
+            private long[] weights = new long[4];
+            private int size;
+
+            private Shortcuts(int node) {
+                this.node = node;
+            }
+
+            private void add(int nodeA, int nodeB, long weight) {
+                if (size == nodesA.length) {
+                    nodesA = Arrays.copyOf(nodesA, size * 2);
+                    nodesB = Arrays.copyOf(nodesB, size * 2);
+                    weights = Arrays.copyOf(weights, size * 2);
+                }
+                nodesA[size] = nodeA;
+                nodesB[size] = nodeB;
+                weights[size] = weight;
+                size++;
+            }
+        }
+
+        /**
+         * A bounded Dijkstra search used to find witness paths. Every thread uses its own instance.
+         */
+        private final class WitnessSearch {
+
+            private final long[] distances;
+            private final int[] reachedIn;
+            /**
+             * The id of the last search each node was a target of.
+             */
+            private final int[] targetIn;
+            private final IndexedMinHeap queue;
+            private int searchId;
+
+            private WitnessSearch(int nodeCount) {
+                distances = new long[nodeCount];
+                reachedIn = new int[nodeCount];
+                targetIn = new int[nodeCount];
+                queue = new IndexedMinHeap(nodeCount);
+            }
+
+            private int countShortcuts(int u) {
+                Shortcuts shortcuts = new Shortcuts(u);
+                collectShortcuts(u, shortcuts, true);
+                return shortcuts.size;
+            }
+
+            private Shortcuts findShortcuts(int u) {
+                Shortcuts shortcuts = new Shortcuts(u);
+                collectShortcuts(u, shortcuts, false);
+                return shortcuts;
+            }
+
+            /**
+             * Collects the shortcuts between all pairs of neighbors of {@code u} that have no witness path.
+             *
+             * @param simulated Whether {@code u} is not actually contracted yet, so it has to be ignored explicitly.
+             */
+            private void collectShortcuts(int u, Shortcuts shortcuts, boolean simulated) {
+                int degree = degrees[u];
+                long maxWeight = 0;
+                for (int i = 0; i < degree; i++) {
+                    maxWeight = Math.max(maxWeight, weights[u][i]);
+                }
+                for (int i = 0; i < degree - 1; i++) {
+                    int a = neighbors[u][i];
+                    long weightA = weights[u][i];
+                    search(u, i, weightA + maxWeight, simulated);
+                    for (int j = i + 1; j < degree; j++) {
+                        int b = neighbors[u][j];
+                        long viaU = weightA + weights[u][j];
+                        if (reachedIn[b] != searchId || distances[b] > viaU) {
+                            shortcuts.add(a, b, viaU);
+                        }
+                    }
+                }
+            }
+
+            /**
+             * Searches witness paths from the {@code sourceIndex}-th neighbor of {@code ignored} to the neighbors
+             * following it, stopping as soon as all of them are settled or {@code maxDistance} is exceeded.
+             */
+            private void search(int ignored, int sourceIndex, long maxDistance, boolean simulated) {
+                int settleLimit = simulated ? SIMULATION_SETTLE_LIMIT : WITNESS_SETTLE_LIMIT;
+                if (++searchId == 0) {
+                    Arrays.fill(reachedIn, 0);
+                    Arrays.fill(targetIn, 0);
+                    searchId = 1;
+                }
+                queue.clear();
+                int remainingTargets = 0;
+                for (int j = sourceIndex + 1; j < degrees[ignored]; j++) {
+                    int target = neighbors[ignored][j];
+                    if (targetIn[target] != searchId) {
+                        targetIn[target] = searchId;
+                        remainingTargets++;
+                    }
+                }
+                int source = neighbors[ignored][sourceIndex];
+                reachedIn[source] = searchId;
+                distances[source] = 0;
+                queue.insertOrDecrease(source, 0);
+
+                int settled = 0;
+                while (!queue.isEmpty() && settled++ < settleLimit) {
+                    int x = queue.poll();
+                    long distanceX = distances[x];
+                    if (distanceX > maxDistance) {
+                        return;
+                    }
+                    if (targetIn[x] == searchId && --remainingTargets == 0) {
+                        return;
+                    }
+                    for (int i = 0; i < degrees[x]; i++) {
+                        int y = neighbors[x][i];
+                        if (y == ignored || !simulated && excluded[y]) {
+                            continue;
+                        }
+                        long distance = distanceX + weights[x][i];
+                        if (reachedIn[y] != searchId) {
+                            reachedIn[y] = searchId;
+                        } else if (distance >= distances[y]) {
+                            continue;
+                        }
+                        distances[y] = distance;
+                        queue.insertOrDecrease(y, distance);
+                    }
+                }
+            }
+        }
+    }
+}
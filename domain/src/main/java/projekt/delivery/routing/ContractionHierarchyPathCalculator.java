@@ -0,0 +1,273 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * A {@link PathCalculator} that answers point-to-point queries using a {@link ContractionHierarchy}.<p>
+ *
+ * The hierarchy is built once per {@link Region}, either eagerly by passing it to the constructor or lazily on the first
+ * query. Every query runs two upward searches from the start and the end node and unpacks the shortcuts of the
+ * resulting path back into the original {@link Region.Node}s.<p>
+ *
+ * Queries for all paths to a node and {@link ShortestPathTree}s are delegated to a {@link CompactDijkstraPathCalculator}.<p>
+ *
+ * Since the search state is reused, instances of this class must not be used by multiple threads at the same time.
+ * The {@link ContractionHierarchy} itself can be shared by multiple instances.
+ */
+public class ContractionHierarchyPathCalculator implements PathCalculator {
+
+    private final ContractionHierarchy.ProgressListener progressListener;
+    private final CompactDijkstraPathCalculator allPathsCalculator = new CompactDijkstraPathCalculator();
+    private @Nullable ContractionHierarchy hierarchy;
+    private final Search forward = new Search();
+    private final Search backward = new Search();
+    /**
+     * The nodes of the current upward path, which is also used as stack while unpacking shortcuts.
+     */
+    private int[] nodes = new int[16];
+
+    /**
+     * Creates a new {@link ContractionHierarchyPathCalculator} that builds the {@link ContractionHierarchy} lazily.
+     */
+    public ContractionHierarchyPathCalculator() {
+        this(progress -> {
+        });
+    }
+
+    /**
+     * Creates a new {@link ContractionHierarchyPathCalculator} that builds the {@link ContractionHierarchy} lazily and
+     * reports the progress of building it to the given {@link ContractionHierarchy.ProgressListener}.
+     *
+     * @param progressListener The {@link ContractionHierarchy.ProgressListener}.
+     */
+    public ContractionHierarchyPathCalculator(ContractionHierarchy.ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Creates a new {@link ContractionHierarchyPathCalculator} that uses the given {@link ContractionHierarchy}.
+     *
+     * @param hierarchy The {@link ContractionHierarchy} used for {@link Region.Node}s of its {@link Region}.
+     */
+    public ContractionHierarchyPathCalculator(ContractionHierarchy hierarchy) {
+        this();
+        setHierarchy(hierarchy);
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        ContractionHierarchy hierarchy = getHierarchy(start.getRegion());
+        CompactGraph graph = hierarchy.getGraph();
+        int startIndex = graph.indexOf(start);
+        int endIndex = graph.indexOf(end);
+        if (startIndex < 0 || endIndex < 0) {
+            throw new IllegalArgumentException("Nodes %s and %s must be part of the region".formatted(start, end));
+        }
+        if (startIndex == endIndex) {
+            return new ArrayDeque<>();
+        }
+
+        int meetingNode = search(hierarchy, startIndex, endIndex);
+        if (meetingNode < 0) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+
+        // Collect the upward path from start to the meeting node followed by the upward path from end to the meeting node
+        int size = 0;
+        for (int node = meetingNode; node != startIndex; node = forward.previous[node]) {
+            size = push(size, node);
+        }
+        size = push(size, startIndex);
+        reverse(size);
+        for (int node = meetingNode; node != endIndex; ) {
+            node = backward.previous[node];
+            size = push(size, node);
+        }
+
+        return unpack(hierarchy, size);
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        ContractionHierarchy hierarchy = getHierarchy(start.getRegion());
+        CompactGraph graph = hierarchy.getGraph();
+        int startIndex = graph.indexOf(start);
+        int endIndex = graph.indexOf(end);
+        if (startIndex < 0 || endIndex < 0) {
+            throw new IllegalArgumentException("Nodes %s and %s must be part of the region".formatted(start, end));
+        }
+        if (startIndex == endIndex) {
+            return 0;
+        }
+
+        int meetingNode = search(hierarchy, startIndex, endIndex);
+        if (meetingNode < 0) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+        // shortcuts have the duration of the paths they replace, so no unpacking is necessary
+        return forward.durations[meetingNode] + backward.durations[meetingNode];
+    }
+
+    @Override
+    public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        return allPathsCalculator.getAllPathsTo(end);
+    }
+
+    @Override
+    public ShortestPathTree getShortestPathTree(Region.Node end) {
+        return allPathsCalculator.getShortestPathTree(end);
+    }
+
+    /**
+     * Returns the {@link ContractionHierarchy} of the given {@link Region}, building a new one if necessary.
+     *
+     * @param region The {@link Region}.
+     * @return The {@link ContractionHierarchy} of the given {@link Region}.
+     */
+    public ContractionHierarchy getHierarchy(Region region) {
+        if (hierarchy == null || hierarchy.getGraph().getRegion() != region) {
+            setHierarchy(ContractionHierarchy.build(CompactGraph.of(region), progressListener));
+        }
+        return hierarchy;
+    }
+
+    private void setHierarchy(ContractionHierarchy hierarchy) {
+        this.hierarchy = hierarchy;
+        forward.init(hierarchy.getGraph().getNodeCount());
+        backward.init(hierarchy.getGraph().getNodeCount());
+    }
+
+    /**
+     * Runs the upward searches from {@code start} and {@code end} alternately until neither of them can improve the
+     * shortest path found so far.
+     *
+     * @return The node with the highest rank on the shortest path or {@code -1} if there is no path.
+     */
+    private int search(ContractionHierarchy hierarchy, int start, int end) {
+        forward.start(start);
+        backward.start(end);
+        long best = Long.MAX_VALUE;
+        int meetingNode = -1;
+
+        boolean forwardTurn = true;
+        while (forward.canImprove(best) || backward.canImprove(best)) {
+            Search search = forwardTurn ? forward : backward;
+            Search other = forwardTurn ? backward : forward;
+            forwardTurn = !forwardTurn;
+            if (!search.canImprove(best)) {
+                continue;
+            }
+            int u = search.queue.poll();
+            if (other.isReached(u) && search.durations[u] + other.durations[u] < best) {
+                best = search.durations[u] + other.durations[u];
+                meetingNode = u;
+            }
+            search.relax(hierarchy, u);
+        }
+        return meetingNode;
+    }
+
+    private int push(int size, int node) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+        }
+        nodes[size] = node;
+        return size + 1;
+    }
+
+    private void reverse(int size) {
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            int node = nodes[i];
+            nodes[i] = nodes[j];
+            nodes[j] = node;
+        }
+    }
+
+    /**
+     * Unpacks the upward path stored in the first {@code size} entries of {@link #nodes} into the original
+     * {@link Region.Node}s, excluding the first and including the last node.
+     */
+    private Deque<Region.Node> unpack(ContractionHierarchy hierarchy, int size) {
+        Region.Node[] regionNodes = hierarchy.getGraph().nodes;
+        Deque<Region.Node> path = new ArrayDeque<>();
+        // Use the array as a stack whose top is the start of the remaining path
+        reverse(size);
+        while (size > 1) {
+            int from = nodes[size - 1];
+            int to = nodes[size - 2];
+            int arc = hierarchy.findArc(from, to);
+            assert arc >= 0;
+            int middle = hierarchy.middles[arc];
+            if (middle < 0) {
+                path.addLast(regionNodes[to]);
+                size--;
+            } else {
+                // replace the shortcut from -> to by from -> middle -> to
+                nodes[size - 1] = middle;
+                size = push(size, from);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * The state of a single upward search.
+     */
+    private static final class Search {
+
+        private long[] durations;
+        private int[] previous;
+        private int[] reachedIn;
+        private IndexedMinHeap queue;
+        private int searchId;
+
+        private void init(int nodeCount) {
+            durations = new long[nodeCount];
+            previous = new int[nodeCount];
+            reachedIn = new int[nodeCount];
+            queue = new IndexedMinHeap(nodeCount);
+            searchId = 0;
+        }
+
+        private void start(int source) {
+            if (++searchId == 0) {
+                Arrays.fill(reachedIn, 0);
+                searchId = 1;
+            }
+            queue.clear();
+            reachedIn[source] = searchId;
+            durations[source] = 0;
+            previous[source] = -1;
+            queue.insertOrDecrease(source, 0);
+        }
+
+        private boolean isReached(int node) {
+            return reachedIn[node] == searchId;
+        }
+
+        private boolean canImprove(long best) {
+            return !queue.isEmpty() && queue.peekKey() < best;
+        }
+
+        private void relax(ContractionHierarchy hierarchy, int u) {
+            long durationU = durations[u];
+            for (int arc = hierarchy.offsets[u], end = hierarchy.offsets[u + 1]; arc < end; arc++) {
+                int v = hierarchy.targets[arc];
+                long duration = durationU + hierarchy.durations[arc];
+                if (reachedIn[v] != searchId) {
+                    reachedIn[v] = searchId;
+                } else if (duration >= durations[v]) {
+                    continue;
+                }
+                durations[v] = duration;
+                previous[v] = u;
+                queue.insertOrDecrease(v, duration);
+            }
+        }
+    }
+}
@@ -10,6 +10,11 @@ import java.util.*;
  */
 public class DijkstraPathCalculator implements PathCalculator {
 
+    /**
+     * The indices of the nodes of the {@link Region} of the last created {@link ShortestPathTree}.
+     */
+    private volatile @Nullable NodeIndices nodeIndices;
+
     /**
      * Relaxes the given edge.
      *
@@ -63,6 +68,19 @@ public class DijkstraPathCalculator implements PathCalculator {
      */
 
     private Map<Region.Node, DijkstraNode> execute(Region.Node end) {
+        return execute(end, null);
+    }
+
+    /**
+     * Executes Dijkstra's algorithm starting at the given node and stops as soon as the given target is settled. The
+     * durations and previous nodes of the target and of all nodes on its shortest path are final at that point, the
+     * other nodes may not have been settled yet.
+     * @param end The starting node.
+     * @param target The node after which the search stops or {@code null} to settle all nodes.
+     * @return The result of the algorithm. Each {@link DijkstraNode} contains the information about which adjacent node
+     * lies on the shortest path to given node.
+     */
+    private Map<Region.Node, DijkstraNode> execute(Region.Node end, @Nullable Region.Node target) {
         // Initialize SSSP
         int size = end.getRegion().getNodes().size();
         Queue<DijkstraNode> queue = new PriorityQueue<>(size);
@@ -83,17 +101,20 @@ public class DijkstraPathCalculator implements PathCalculator {
             if (u.duration == null) {
                 break;
             }
+            // The shortest path of the target cannot change anymore
+            if (u.node.equals(target)) {
+                break;
+            }
 
-            for (Region.Node node : u.node.getAdjacentNodes()) {
-                DijkstraNode v = references.get(node);
-                // Only relax if the node is not visited (v must be in Q)
-                if (v.visited) {
-                    continue;
+            // only NodeImpl resolves its neighbors by index in constant time, other nodes sort them on every call
+            if (u.node instanceof NodeImpl) {
+                for (int i = 0, degree = u.node.getDegree(); i < degree; i++) {
+                    relaxAdjacent(queue, references, u, u.node.getAdjacentNode(i), u.node.getAdjacentEdge(i));
                 }
-                Region.Edge edge = u.node.getEdge(node);
-                assert edge != null;
-                if (relax(u, v, edge)) {
-                    queue.add(v);
+            } else {
+                for (Region.Edge edge : u.node.getAdjacentEdges()) {
+                    Region.Node adjacentNode = edge.getNodeA().equals(u.node) ? edge.getNodeB() : edge.getNodeA();
+                    relaxAdjacent(queue, references, u, adjacentNode, edge);
                 }
             }
         }
@@ -101,6 +122,27 @@ public class DijkstraPathCalculator implements PathCalculator {
         return references;
     }
 
+    /**
+     * Relaxes the given edge from {@code u} to the given adjacent node and adds the node to the queue if its duration
+     * decreased.
+     */
+    private void relaxAdjacent(
+        Queue<DijkstraNode> queue,
+        Map<Region.Node, DijkstraNode> references,
+        DijkstraNode u,
+        Region.Node adjacentNode,
+        Region.Edge edge
+    ) {
+        DijkstraNode v = references.get(adjacentNode);
+        // Only relax if the node is not visited (v must be in Q)
+        if (v.visited) {
+            return;
+        }
+        if (relax(u, v, edge)) {
+            queue.add(v);
+        }
+    }
+
     /**
      * Reconstructs the path from {@code start} to {@code end} after Dijkstra's algorithm was performed.
      * @param references the results of Dijkstra's algorithm.
@@ -122,7 +164,9 @@ public class DijkstraPathCalculator implements PathCalculator {
         node = node.previous;
 
         while (node != endNode) {
-            assert node != null;
+            if (node == null) {
+                throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+            }
             path.addLast(node.node);
             node = node.previous;
         }
@@ -135,23 +179,104 @@ public class DijkstraPathCalculator implements PathCalculator {
 
     @Override
     public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
-        Map<Region.Node, DijkstraNode> references = execute(end);
+        requireReachable(start, end);
+        Map<Region.Node, DijkstraNode> references = execute(end, start);
 
         return reconstructPath(references, start, end);
     }
 
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        requireReachable(start, end);
+        @Nullable DijkstraNode node = execute(end, start).get(start);
+        if (node == null || node.duration == null) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+        return node.duration;
+    }
+
+    /**
+     * Rejects the given {@link Region.Node}s without running a search if they belong to different connected
+     * components of their {@link Region}. This is only checked if the {@link Region} knows its connected components.
+     * Otherwise, checking them would take as long as the search, which detects unreachable nodes as well.
+     *
+     * @param start The start node of the path.
+     * @param end The end node of the path.
+     * @throws IllegalArgumentException If there is no path from {@code start} to {@code end}.
+     */
+    private void requireReachable(Region.Node start, Region.Node end) {
+        Region region = end.getRegion();
+        if (RegionImpl.knowsConnectedComponents(region) && !region.isReachable(start, end)) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+    }
+
     @Override
     public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        return getShortestPathTree(end).asMap();
+    }
 
+    @Override
+    public ShortestPathTree getShortestPathTree(Region.Node end) {
         Map<Region.Node, DijkstraNode> references = execute(end);
+        NodeIndices nodeIndices = getNodeIndices(end.getRegion());
+        Region.Node[] nodes = nodeIndices.nodes();
+        Map<Region.Node, Integer> indices = nodeIndices.indices();
 
-        Map<Region.Node, Deque<Region.Node>> paths = new HashMap<>();
+        int[] next = new int[nodes.length];
+        long[] durations = new long[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            DijkstraNode node = references.get(nodes[i]);
+            if (node.duration == null) {
+                next[i] = -1;
+                durations[i] = -1;
+            } else {
+                next[i] = node.previous == null ? -1 : CompactGraph.indexOf(nodes, indices, node.previous.node);
+                durations[i] = node.duration;
+            }
+        }
+        return new ShortestPathTree(nodes, indices, CompactGraph.indexOf(nodes, indices, end), next, durations);
+    }
 
-        for (Region.Node node : end.getRegion().getNodes()) {
-            paths.put(node, reconstructPath(references, node, end));
+    /**
+     * Returns the indices of the nodes used by the created {@link ShortestPathTree}s. The indices of the previous call
+     * are reused if the {@link Region} still contains exactly the same nodes, so that consecutive
+     * {@link ShortestPathTree}s share them.
+     *
+     * @param region The {@link Region} of the next {@link ShortestPathTree}.
+     * @return The indices of the nodes of the given {@link Region}.
+     */
+    private NodeIndices getNodeIndices(Region region) {
+        Collection<Region.Node> regionNodes = region.getNodes();
+        @Nullable NodeIndices nodeIndices = this.nodeIndices;
+        if (nodeIndices != null && nodeIndices.nodes().length == regionNodes.size()) {
+            boolean unchanged = true;
+            for (Region.Node node : regionNodes) {
+                int index = CompactGraph.indexOf(nodeIndices.nodes(), nodeIndices.indices(), node);
+                if (index < 0 || nodeIndices.nodes()[index] != node) {
+                    unchanged = false;
+                    break;
+                }
+            }
+            if (unchanged) {
+                return nodeIndices;
+            }
+        }
+        Region.Node[] nodes = regionNodes.toArray(Region.Node[]::new);
+        Arrays.sort(nodes);
+        Map<Region.Node, Integer> indices = new HashMap<>(nodes.length * 2);
+        for (int i = 0; i < nodes.length; i++) {
+            indices.put(nodes[i], i);
         }
+        nodeIndices = new NodeIndices(nodes, indices);
+        this.nodeIndices = nodeIndices;
+        return nodeIndices;
+    }
 
-        return paths;
+    /**
+     * The nodes of a {@link Region} and the index of every node in the array.
+     */
+    private record NodeIndices(Region.Node[] nodes, Map<Region.Node, Integer> indices) {
     }
 
     /**
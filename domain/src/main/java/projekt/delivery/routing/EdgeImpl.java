@@ -19,6 +19,8 @@ class EdgeImpl implements Region.Edge {
     private final Location locationA;
     private final Location locationB;
     private final long duration;
+    private final int hash;
+    private int id = -1;
 
     /**
      * Creates a new {@link EdgeImpl} instance.
@@ -45,6 +47,21 @@ class EdgeImpl implements Region.Edge {
         this.locationA = locationA;
         this.locationB = locationB;
         this.duration = duration;
+        this.hash = Objects.hash(name, locationA, locationB, duration);
+    }
+
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Assigns the given id to this {@link EdgeImpl}.
+     *
+     * @param id The id of this {@link EdgeImpl}.
+     */
+    void setId(int id) {
+        this.id = id;
     }
 
     /**
@@ -113,6 +130,12 @@ class EdgeImpl implements Region.Edge {
             return false;
         }
         EdgeImpl other = (EdgeImpl) o;
+        if (region == other.region && id >= 0 && other.id >= 0 && id != other.id) {
+            return false;
+        }
+        if (hash != other.hash) {
+            return false;
+        }
         return Objects.equals(this.name, other.name)
             && Objects.equals(this.locationA, other.locationA)
             && Objects.equals(this.locationB, other.locationB)
@@ -121,7 +144,7 @@ class EdgeImpl implements Region.Edge {
 
     @Override
     public int hashCode() { // TODO: H4.4 - remove if implemented
-        return Objects.hash(name, locationA, locationB, duration);
+        return hash;
     }
 
     @Override
@@ -0,0 +1,213 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+import projekt.base.DistanceCalculator;
+import projekt.base.Location;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A deeply immutable {@link Region} created by {@link Region#freeze()}.<p>
+ *
+ * The {@link Region.Node}s and {@link Region.Edge}s are copies of the ones of the frozen {@link Region} that belong to
+ * this {@link FrozenRegion}. They are stored in sorted arrays, so that the {@link Region.Component#getId() id} of every
+ * component is its index, and {@link Region.Node}s are looked up by binary search instead of hashing. Every
+ * {@link Region.Node} knows its adjacent {@link Region.Node}s and {@link Region.Edge}s, so {@link Region.Edge}s are
+ * found by scanning the neighbors of one of their {@link Region.Node}s.<p>
+ *
+ * All state is assigned before the constructor returns and only reachable through final fields, so a
+ * {@link FrozenRegion} can be shared by any number of {@link VehicleManager}s and threads without synchronization.
+ */
+final class FrozenRegion implements Region {
+
+    private final NodeImpl[] nodes;
+    private final EdgeImpl[] edges;
+    private final List<Node> nodeList;
+    private final List<Edge> edgeList;
+    private final DistanceCalculator distanceCalculator;
+
+    private FrozenRegion(Region region) {
+        distanceCalculator = region.getDistanceCalculator();
+
+        Node[] sourceNodes = region.getNodes().toArray(Node[]::new);
+        Arrays.sort(sourceNodes);
+        Location[] locations = new Location[sourceNodes.length];
+        for (int i = 0; i < sourceNodes.length; i++) {
+            locations[i] = sourceNodes[i].getLocation();
+        }
+
+        // order the edges like a Region.Builder does, by the indices of their smaller and then their larger node
+        Edge[] unsortedEdges = region.getEdges().toArray(Edge[]::new);
+        int[] unsortedA = new int[unsortedEdges.length];
+        int[] unsortedB = new int[unsortedEdges.length];
+        Integer[] order = new Integer[unsortedEdges.length];
+        for (int i = 0; i < unsortedEdges.length; i++) {
+            int a = requireIndex(locations, unsortedEdges[i].getNodeA().getLocation());
+            int b = requireIndex(locations, unsortedEdges[i].getNodeB().getLocation());
+            unsortedA[i] = Math.min(a, b);
+            unsortedB[i] = Math.max(a, b);
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingInt(i -> unsortedA[i]).thenComparingInt(i -> unsortedB[i]));
+
+        Edge[] sourceEdges = new Edge[unsortedEdges.length];
+        int[] edgeA = new int[unsortedEdges.length];
+        int[] edgeB = new int[unsortedEdges.length];
+        List<List<Location>> connections = new ArrayList<>(sourceNodes.length);
+        for (int i = 0; i < sourceNodes.length; i++) {
+            connections.add(new ArrayList<>());
+        }
+        for (int i = 0; i < order.length; i++) {
+            sourceEdges[i] = unsortedEdges[order[i]];
+            edgeA[i] = unsortedA[order[i]];
+            edgeB[i] = unsortedB[order[i]];
+            connections.get(edgeA[i]).add(locations[edgeB[i]]);
+            connections.get(edgeB[i]).add(locations[edgeA[i]]);
+        }
+
+        nodes = new NodeImpl[sourceNodes.length];
+        for (int i = 0; i < sourceNodes.length; i++) {
+            nodes[i] = copy(sourceNodes[i], Set.copyOf(connections.get(i)));
+        }
+        edges = new EdgeImpl[sourceEdges.length];
+        for (int i = 0; i < sourceEdges.length; i++) {
+            edges[i] = new EdgeImpl(this, sourceEdges[i].getName(), locations[edgeA[i]], locations[edgeB[i]],
+                sourceEdges[i].getDuration());
+        }
+        RegionBuilderImpl.link(nodes, edges, edgeA, edgeB);
+
+        nodeList = List.of(nodes);
+        edgeList = List.of(edges);
+    }
+
+    /**
+     * Creates a {@link FrozenRegion} containing copies of the {@link Region.Node}s and {@link Region.Edge}s of the
+     * given {@link Region}.
+     *
+     * @param region The {@link Region} to freeze.
+     * @return The created {@link FrozenRegion} or the given {@link Region} if it is already frozen.
+     * @throws IllegalArgumentException If an {@link Region.Edge} connects a {@link Region.Node} that is not part of
+     *                                  the given {@link Region}.
+     */
+    static FrozenRegion of(Region region) {
+        if (region instanceof FrozenRegion frozenRegion) {
+            return frozenRegion;
+        }
+        return new FrozenRegion(region);
+    }
+
+    private NodeImpl copy(Node node, Set<Location> connections) {
+        if (node instanceof Restaurant restaurant) {
+            return new RestaurantImpl(this, node.getName(), node.getLocation(), connections,
+                List.copyOf(restaurant.getAvailableFood()));
+        } else if (node instanceof Neighborhood) {
+            return new NeighborhoodImpl(this, node.getName(), node.getLocation(), connections);
+        }
+        return new NodeImpl(this, node.getName(), node.getLocation(), connections);
+    }
+
+    private static int requireIndex(Location[] locations, Location location) {
+        int index = Arrays.binarySearch(locations, location);
+        if (index < 0) {
+            throw new IllegalArgumentException("Node " + location + " is not part of the region");
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index of the {@link Region.Node} at the given coordinates or a negative value if there is none.
+     */
+    private int indexOf(int x, int y) {
+        int low = 0;
+        int high = nodes.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Location location = nodes[middle].getLocation();
+            int comparison = location.getX() != x ? Integer.compare(location.getX(), x) : Integer.compare(location.getY(), y);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public @Nullable Node getNode(Location location) {
+        int index = indexOf(location.getX(), location.getY());
+        return index < 0 ? null : nodes[index];
+    }
+
+    @Override
+    public @Nullable Edge getEdge(Location locationA, Location locationB) {
+        int index = indexOf(locationA.getX(), locationA.getY());
+        if (index < 0) {
+            return null;
+        }
+        NodeImpl node = nodes[index];
+        for (int i = 0; i < node.getDegree(); i++) {
+            if (node.getAdjacentNode(i).getLocation().equals(locationB)) {
+                return node.getAdjacentEdge(i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Collection<Node> getNodes() {
+        return nodeList;
+    }
+
+    @Override
+    public Collection<Edge> getEdges() {
+        return edgeList;
+    }
+
+    @Override
+    public boolean isReachable(Node nodeA, Node nodeB) {
+        return nodes[requireIndex(nodeA)].getConnectedComponent() == nodes[requireIndex(nodeB)].getConnectedComponent();
+    }
+
+    private int requireIndex(Node node) {
+        int index = indexOf(node.getLocation().getX(), node.getLocation().getY());
+        if (index < 0) {
+            throw new IllegalArgumentException("Node " + node + " is not part of the region");
+        }
+        return index;
+    }
+
+    @Override
+    public DistanceCalculator getDistanceCalculator() {
+        return distanceCalculator;
+    }
+
+    @Override
+    public Region freeze() {
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        FrozenRegion region = (FrozenRegion) o;
+        return Arrays.equals(nodes, region.nodes) && Arrays.equals(edges, region.edges);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(nodes) + Arrays.hashCode(edges);
+    }
+}
@@ -0,0 +1,147 @@
+package projekt.delivery.routing;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of int indices in {@code [0, capacity)} ordered by a {@code long} key.<p>
+ *
+ * In contrast to a {@link java.util.PriorityQueue}, the key of an index that is already queued can be decreased in
+ * place, so every index is contained at most once and no objects are allocated.
+ */
+class IndexedMinHeap implements IndexedPriorityQueue {
+
+    private final int[] heap;
+    private final long[] keys;
+    /**
+     * The position of every index in {@link #heap} or {@code -1} if the index is not queued.
+     */
+    private final int[] positions;
+    private int size;
+
+    /**
+     * Creates a new, empty {@link IndexedMinHeap}.
+     *
+     * @param capacity The exclusive upper bound of the indices that can be queued.
+     */
+    IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        keys = new long[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int index) {
+        return positions[index] >= 0;
+    }
+
+    /**
+     * Returns the key of the smallest queued index.
+     *
+     * @return The key of the smallest queued index.
+     */
+    @Override
+    public long peekKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * Adds the given index with the given key, or decreases its key if it is already queued with a larger key.
+     *
+     * @param index The index.
+     * @param key   The key.
+     */
+    @Override
+    public void insertOrDecrease(int index, long key) {
+        int position = positions[index];
+        if (position < 0) {
+            position = size++;
+            heap[position] = index;
+            positions[index] = position;
+        } else if (key >= keys[index]) {
+            return;
+        }
+        keys[index] = key;
+        siftUp(position);
+    }
+
+    /**
+     * Removes and returns the index with the smallest key.
+     *
+     * @return The index with the smallest key.
+     */
+    @Override
+    public int poll() {
+        int top = heap[0];
+        positions[top] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Removes all queued indices.
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position) {
+        int index = heap[position];
+        long key = keys[index];
+        while (position > 0) {
+            int parentPosition = (position - 1) >>> 1;
+            int parent = heap[parentPosition];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+        heap[position] = index;
+        positions[index] = position;
+    }
+
+    private void siftDown(int position) {
+        int index = heap[position];
+        long key = keys[index];
+        int half = size >>> 1;
+        while (position < half) {
+            int childPosition = 2 * position + 1;
+            int child = heap[childPosition];
+            int rightPosition = childPosition + 1;
+            if (rightPosition < size && keys[heap[rightPosition]] < keys[child]) {
+                childPosition = rightPosition;
+                child = heap[childPosition];
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            heap[position] = child;
+            positions[child] = position;
+            position = childPosition;
+        }
+        heap[position] = index;
+        positions[index] = position;
+    }
+}
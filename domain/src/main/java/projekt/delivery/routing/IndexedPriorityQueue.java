@@ -0,0 +1,41 @@
+package projekt.delivery.routing;
+
+/**
+ * A priority queue of int indices in {@code [0, capacity)} ordered by a {@code long} key, in which every index is
+ * contained at most once.
+ */
+interface IndexedPriorityQueue {
+
+    boolean isEmpty();
+
+    int size();
+
+    boolean contains(int index);
+
+    /**
+     * Returns the key of the smallest queued index.
+     *
+     * @return The key of the smallest queued index.
+     */
+    long peekKey();
+
+    /**
+     * Adds the given index with the given key, or decreases its key if it is already queued with a larger key.
+     *
+     * @param index The index.
+     * @param key   The key.
+     */
+    void insertOrDecrease(int index, long key);
+
+    /**
+     * Removes and returns the index with the smallest key.
+     *
+     * @return The index with the smallest key.
+     */
+    int poll();
+
+    /**
+     * Removes all queued indices.
+     */
+    void clear();
+}
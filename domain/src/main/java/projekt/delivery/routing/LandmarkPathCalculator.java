@@ -0,0 +1,187 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * A {@link PathCalculator} that answers point-to-point queries with the ALT algorithm, which is A* using lower bounds
+ * given by {@link Landmarks} and the triangle inequality as heuristic.<p>
+ *
+ * In contrast to the {@link AStarPathCalculator}, the heuristic only depends on the durations of the
+ * {@link Region.Edge}s and not on the {@link projekt.base.DistanceCalculator} of the {@link Region}, so it stays
+ * accurate even if the durations of the edges do not match the distances of their nodes. The {@link Landmarks} are
+ * either passed to the constructor, for example after reading them from a file, or selected lazily on the first
+ * query.<p>
+ *
+ * Queries for all paths to a node and {@link ShortestPathTree}s cannot profit from a heuristic and are delegated to a
+ * {@link CompactDijkstraPathCalculator}.<p>
+ *
+ * Since the search state is reused, instances of this class must not be used by multiple threads at the same time.
+ * The {@link Landmarks} themselves can be shared by multiple instances.
+ */
+public class LandmarkPathCalculator implements PathCalculator {
+
+    /**
+     * The amount of landmarks selected if no amount is specified.
+     */
+    public static final int DEFAULT_LANDMARK_COUNT = 16;
+
+    private final int landmarkCount;
+    private final CompactDijkstraPathCalculator allPathsCalculator = new CompactDijkstraPathCalculator();
+    private @Nullable Landmarks landmarks;
+    private long[] durations;
+    private long[] heuristics;
+    private int[] previous;
+    private int[] reachedIn;
+    private IndexedMinHeap queue;
+    private int searchId;
+
+    /**
+     * Creates a new {@link LandmarkPathCalculator} that selects {@link #DEFAULT_LANDMARK_COUNT} landmarks lazily.
+     */
+    public LandmarkPathCalculator() {
+        this(DEFAULT_LANDMARK_COUNT);
+    }
+
+    /**
+     * Creates a new {@link LandmarkPathCalculator} that selects the given amount of landmarks lazily.
+     *
+     * @param landmarkCount The amount of landmarks to select.
+     */
+    public LandmarkPathCalculator(int landmarkCount) {
+        if (landmarkCount <= 0) {
+            throw new IllegalArgumentException("The amount of landmarks must be positive: " + landmarkCount);
+        }
+        this.landmarkCount = landmarkCount;
+    }
+
+    /**
+     * Creates a new {@link LandmarkPathCalculator} that uses the given {@link Landmarks}.
+     *
+     * @param landmarks The {@link Landmarks} used for {@link Region.Node}s of their {@link Region}.
+     */
+    public LandmarkPathCalculator(Landmarks landmarks) {
+        this(Math.max(landmarks.getCount(), 1));
+        setLandmarks(landmarks);
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        Landmarks landmarks = getLandmarks(start.getRegion());
+        CompactGraph graph = landmarks.getGraph();
+        int startIndex = graph.indexOf(start);
+        int endIndex = graph.indexOf(end);
+        if (startIndex < 0 || endIndex < 0) {
+            throw new IllegalArgumentException("Nodes %s and %s must be part of the region".formatted(start, end));
+        }
+
+        if (!search(landmarks, startIndex, endIndex)) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+
+        Deque<Region.Node> path = new ArrayDeque<>();
+        for (int node = endIndex; node != startIndex; node = previous[node]) {
+            path.addFirst(graph.nodes[node]);
+        }
+        return path;
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        Landmarks landmarks = getLandmarks(start.getRegion());
+        CompactGraph graph = landmarks.getGraph();
+        int startIndex = graph.indexOf(start);
+        int endIndex = graph.indexOf(end);
+        if (startIndex < 0 || endIndex < 0) {
+            throw new IllegalArgumentException("Nodes %s and %s must be part of the region".formatted(start, end));
+        }
+
+        if (!search(landmarks, startIndex, endIndex)) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+        return durations[endIndex];
+    }
+
+    @Override
+    public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        return allPathsCalculator.getAllPathsTo(end);
+    }
+
+    @Override
+    public ShortestPathTree getShortestPathTree(Region.Node end) {
+        return allPathsCalculator.getShortestPathTree(end);
+    }
+
+    /**
+     * Returns the {@link Landmarks} of the given {@link Region}, selecting new ones if necessary.
+     *
+     * @param region The {@link Region}.
+     * @return The {@link Landmarks} of the given {@link Region}.
+     */
+    public Landmarks getLandmarks(Region region) {
+        if (landmarks == null || landmarks.getGraph().getRegion() != region) {
+            setLandmarks(Landmarks.select(CompactGraph.of(region), landmarkCount));
+        }
+        return landmarks;
+    }
+
+    private void setLandmarks(Landmarks landmarks) {
+        int nodeCount = landmarks.getGraph().getNodeCount();
+        this.landmarks = landmarks;
+        durations = new long[nodeCount];
+        heuristics = new long[nodeCount];
+        previous = new int[nodeCount];
+        reachedIn = new int[nodeCount];
+        queue = new IndexedMinHeap(nodeCount);
+        searchId = 0;
+    }
+
+    /**
+     * Executes the A* algorithm from {@code source} to {@code target} with the landmark heuristic.
+     *
+     * @return {@code true} if {@code target} is reachable from {@code source}.
+     */
+    private boolean search(Landmarks landmarks, int source, int target) {
+        CompactGraph graph = landmarks.getGraph();
+        if (++searchId == 0) {
+            Arrays.fill(reachedIn, 0);
+            searchId = 1;
+        }
+        queue.clear();
+
+        reachedIn[source] = searchId;
+        durations[source] = 0;
+        heuristics[source] = landmarks.lowerBound(source, target);
+        previous[source] = -1;
+        queue.insertOrDecrease(source, heuristics[source]);
+
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        long[] arcDurations = graph.durations;
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            if (u == target) {
+                return true;
+            }
+            long durationU = durations[u];
+            for (int arc = offsets[u], end = offsets[u + 1]; arc < end; arc++) {
+                int v = targets[arc];
+                long duration = durationU + arcDurations[arc];
+                if (reachedIn[v] != searchId) {
+                    reachedIn[v] = searchId;
+                    heuristics[v] = landmarks.lowerBound(v, target);
+                } else if (duration >= durations[v]) {
+                    continue;
+                }
+                durations[v] = duration;
+                previous[v] = u;
+                queue.insertOrDecrease(v, duration + heuristics[v]);
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,238 @@
+package projekt.delivery.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A set of landmark {@link Region.Node}s together with the durations of the shortest paths between every landmark and
+ * every {@link Region.Node} of a {@link CompactGraph}.<p>
+ *
+ * By the triangle inequality, {@code |d(L, t) - d(L, v)|} is a lower bound of the duration of the shortest path from
+ * {@code v} to {@code t} for every landmark {@code L}, which is used as heuristic by the
+ * {@link LandmarkPathCalculator}. Since the edges of a {@link Region} are undirected, the durations from and to a
+ * landmark are the same, so only one table is stored.<p>
+ *
+ * A {@link Landmarks} instance is immutable and can be shared by multiple threads.
+ */
+public final class Landmarks {
+
+    /**
+     * The duration stored for {@link Region.Node}s that are not connected to a landmark.
+     */
+    static final long UNREACHABLE = -1;
+
+    private final CompactGraph graph;
+    private final int[] landmarks;
+    /**
+     * The durations in node-major order, so the durations of all landmarks of a node are stored next to each other.
+     */
+    final long[] durations;
+
+    private Landmarks(CompactGraph graph, int[] landmarks, long[] durations) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.durations = durations;
+    }
+
+    /**
+     * Selects the given amount of landmarks in the given {@link CompactGraph} and calculates their durations.<p>
+     *
+     * The landmarks are selected by farthest-point selection: every landmark is the {@link Region.Node} whose shortest
+     * path to the closest already selected landmark takes the longest. {@link Region.Node}s that are not connected to
+     * any selected landmark are preferred, so every connected component gets a landmark if possible.
+     *
+     * @param graph The {@link CompactGraph}.
+     * @param count The amount of landmarks to select. If the {@link CompactGraph} has less nodes, every node is selected.
+     * @return The selected {@link Landmarks}.
+     */
+    public static Landmarks select(CompactGraph graph, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("The amount of landmarks must be positive: " + count);
+        }
+        int nodeCount = graph.getNodeCount();
+        count = Math.min(count, nodeCount);
+        int[] landmarks = new int[count];
+        long[] durations = new long[nodeCount * count];
+        if (count == 0) {
+            return new Landmarks(graph, landmarks, durations);
+        }
+
+        Search search = new Search(nodeCount);
+        // start with the node farthest away from an arbitrary node
+        long[] current = search.run(graph, 0);
+        long[] closest = new long[nodeCount];
+        Arrays.fill(closest, Long.MAX_VALUE);
+        boolean[] selected = new boolean[nodeCount];
+        int next = farthest(current, selected);
+        for (int i = 0; i < count; i++) {
+            landmarks[i] = next;
+            selected[next] = true;
+            current = search.run(graph, next);
+            for (int node = 0; node < nodeCount; node++) {
+                durations[node * count + i] = current[node];
+                if (current[node] != UNREACHABLE) {
+                    closest[node] = Math.min(closest[node], current[node]);
+                }
+            }
+            next = farthest(closest, selected);
+        }
+        return new Landmarks(graph, landmarks, durations);
+    }
+
+    /**
+     * Returns the node with the largest duration that is not selected yet, ignoring unreachable nodes.
+     */
+    private static int farthest(long[] durations, boolean[] selected) {
+        int farthest = 0;
+        long max = UNREACHABLE;
+        for (int node = 0; node < durations.length; node++) {
+            if (durations[node] > max && !selected[node]) {
+                max = durations[node];
+                farthest = node;
+            }
+        }
+        return farthest;
+    }
+
+    /**
+     * Creates {@link Landmarks} from previously calculated durations, for example read from a file.
+     *
+     * @param graph     The {@link CompactGraph}.
+     * @param landmarks The landmark {@link Region.Node}s.
+     * @param durations The durations between every {@link Region.Node} and the landmarks, in the order of
+     *                  {@code landmarks}. Unreachable landmarks have a duration of {@code -1}.
+     * @return The created {@link Landmarks}.
+     * @throws IllegalArgumentException If a landmark or {@link Region.Node} is missing or not part of the
+     *                                  {@link CompactGraph}.
+     */
+    public static Landmarks of(CompactGraph graph, List<Region.Node> landmarks, Map<Region.Node, long[]> durations) {
+        int count = landmarks.size();
+        int[] landmarkIndices = new int[count];
+        for (int i = 0; i < count; i++) {
+            landmarkIndices[i] = requireIndex(graph, landmarks.get(i));
+        }
+        long[] durationArray = new long[graph.getNodeCount() * count];
+        Arrays.fill(durationArray, Long.MIN_VALUE);
+        for (Map.Entry<Region.Node, long[]> entry : durations.entrySet()) {
+            int node = requireIndex(graph, entry.getKey());
+            if (entry.getValue().length != count) {
+                throw new IllegalArgumentException("Expected %d durations for node %s but got %d".formatted(
+                    count, entry.getKey(), entry.getValue().length));
+            }
+            System.arraycopy(entry.getValue(), 0, durationArray, node * count, count);
+        }
+        for (int node = 0; node < graph.getNodeCount(); node++) {
+            if (count > 0 && durationArray[node * count] == Long.MIN_VALUE) {
+                throw new IllegalArgumentException("Missing durations for node " + graph.getNode(node));
+            }
+        }
+        return new Landmarks(graph, landmarkIndices, durationArray);
+    }
+
+    private static int requireIndex(CompactGraph graph, Region.Node node) {
+        int index = graph.indexOf(node);
+        if (index < 0) {
+            throw new IllegalArgumentException("Node " + node + " is not part of the region");
+        }
+        return index;
+    }
+
+    /**
+     * Returns the {@link CompactGraph} these {@link Landmarks} were calculated for.
+     *
+     * @return The {@link CompactGraph} these {@link Landmarks} were calculated for.
+     */
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the amount of landmarks.
+     *
+     * @return The amount of landmarks.
+     */
+    public int getCount() {
+        return landmarks.length;
+    }
+
+    /**
+     * Returns the landmark {@link Region.Node}s.
+     *
+     * @return An unmodifiable {@link List} of the landmark {@link Region.Node}s.
+     */
+    public List<Region.Node> getLandmarks() {
+        List<Region.Node> nodes = new ArrayList<>(landmarks.length);
+        for (int landmark : landmarks) {
+            nodes.add(graph.getNode(landmark));
+        }
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Returns the durations of the shortest paths between the given {@link Region.Node} and every landmark.
+     *
+     * @param node The {@link Region.Node}.
+     * @return A new array containing the durations in the order of {@link #getLandmarks()}, where {@code -1} denotes
+     * that the landmark is not reachable.
+     * @throws IllegalArgumentException If the {@link Region.Node} is not part of the {@link CompactGraph}.
+     */
+    public long[] getDurations(Region.Node node) {
+        int index = requireIndex(graph, node);
+        return Arrays.copyOfRange(durations, index * landmarks.length, (index + 1) * landmarks.length);
+    }
+
+    /**
+     * Calculates the lower bound of the duration of the shortest path between the nodes with the given indices.
+     *
+     * @param node   The index of the first node.
+     * @param target The index of the second node.
+     * @return The largest lower bound given by any landmark that is connected to both nodes.
+     */
+    long lowerBound(int node, int target) {
+        int count = landmarks.length;
+        long bound = 0;
+        for (int i = 0, a = node * count, b = target * count; i < count; i++, a++, b++) {
+            long durationA = durations[a];
+            long durationB = durations[b];
+            if (durationA != UNREACHABLE && durationB != UNREACHABLE) {
+                bound = Math.max(bound, Math.abs(durationA - durationB));
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * A plain Dijkstra search on a {@link CompactGraph} that calculates the durations from one node to all other nodes.
+     */
+    private static final class Search {
+
+        private final IndexedMinHeap queue;
+
+        private Search(int nodeCount) {
+            queue = new IndexedMinHeap(nodeCount);
+        }
+
+        private long[] run(CompactGraph graph, int source) {
+            long[] durations = new long[graph.getNodeCount()];
+            Arrays.fill(durations, UNREACHABLE);
+            durations[source] = 0;
+            queue.insertOrDecrease(source, 0);
+            while (!queue.isEmpty()) {
+                int u = queue.poll();
+                long durationU = durations[u];
+                for (int arc = graph.offsets[u], end = graph.offsets[u + 1]; arc < end; arc++) {
+                    int v = graph.targets[arc];
+                    long duration = durationU + graph.durations[arc];
+                    if (durations[v] == UNREACHABLE || duration < durations[v]) {
+                        durations[v] = duration;
+                        queue.insertOrDecrease(v, duration);
+                    }
+                }
+            }
+            return durations;
+        }
+    }
+}
@@ -32,7 +32,7 @@ class NeighborhoodImpl extends NodeImpl implements Region.Neighborhood {
             return false;
         }
         NeighborhoodImpl that = (NeighborhoodImpl) o;
-        if (hashCode() != that.hashCode()) {
+        if (hasDifferentId(that) || hashCode() != that.hashCode()) {
             return false;
         }
 
@@ -3,7 +3,10 @@ package projekt.delivery.routing;
 import org.jetbrains.annotations.Nullable;
 import projekt.base.Location;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -15,6 +18,27 @@ class NodeImpl implements Region.Node {
     protected final Region region;
     protected final String name;
     protected final Location location;
+    /**
+     * The id assigned by {@link #setId(int)} or {@code -1}.
+     */
+    private int id = -1;
+    /**
+     * The hash code cached by {@link #setId(int)}, which is only valid if {@link #id} is assigned.
+     */
+    private int hash;
+    /**
+     * The neighbors precomputed by {@link #setAdjacency(Region.Node[], Region.Edge[])} or {@code null}.
+     */
+    private @Nullable Adjacency adjacency;
+    /**
+     * The neighbors resolved from the {@link #connections} by {@link #getAdjacency()} if none were precomputed or
+     * {@code null}.
+     */
+    private @Nullable Adjacency resolvedAdjacency;
+    /**
+     * The connected component assigned by {@link #setConnectedComponent(int)} or {@code -1}.
+     */
+    private int connectedComponent = -1;
 
     /**
      * Creates a new {@link NodeImpl} instance.
@@ -50,17 +74,76 @@ class NodeImpl implements Region.Node {
         return location;
     }
 
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Assigns the given id to this {@link NodeImpl} and caches its hash code. Must only be called once all
+     * {@link #connections} are known, since they are part of the hash code.
+     *
+     * @param id The id of this {@link NodeImpl}.
+     */
+    void setId(int id) {
+        this.hash = Objects.hash(name, location, connections);
+        this.id = id;
+    }
+
+    /**
+     * Returns the connected component of the {@link Region} this {@link NodeImpl} belongs to. Two {@link NodeImpl}s
+     * of the same {@link Region} are connected by a path if and only if their connected components are equal.
+     *
+     * @return The connected component of this {@link NodeImpl} or {@code -1} if it was not assigned.
+     */
+    int getConnectedComponent() {
+        return connectedComponent;
+    }
+
+    /**
+     * Assigns the connected component of this {@link NodeImpl}. Must only be called once the {@link Region} is
+     * complete, since later changes to it are not observed.
+     *
+     * @param connectedComponent The connected component of this {@link NodeImpl}.
+     */
+    void setConnectedComponent(int connectedComponent) {
+        this.connectedComponent = connectedComponent;
+    }
+
+    /**
+     * Returns whether this {@link NodeImpl} and the given one are known to be different without comparing their
+     * values, which is the case if they belong to the same {@link Region} and have different ids.
+     *
+     * @param other The other {@link NodeImpl}.
+     * @return {@code true} if the {@link NodeImpl}s are different.
+     */
+    boolean hasDifferentId(NodeImpl other) {
+        return region == other.region && id >= 0 && other.id >= 0 && id != other.id;
+    }
+
     public Set<Location> getConnections() {
         return connections;
     }
 
     @Override
     public @Nullable Region.Edge getEdge(Region.Node other) { // TODO: H3.1 - remove if implemented
+        if (adjacency != null) {
+            for (int i = 0; i < adjacency.nodes.length; i++) {
+                if (adjacency.nodes[i] == other) {
+                    return adjacency.edges[i];
+                }
+            }
+        }
         return this.region.getEdge(this.location,other.getLocation());
     }
 
     @Override
     public Set<Region.Node> getAdjacentNodes() { // TODO: H3.2 - remove if implemented
+        if (adjacency != null) {
+            Set<Region.Node> adjacentNodes = new HashSet<>(adjacency.nodes.length * 2);
+            Collections.addAll(adjacentNodes, adjacency.nodes);
+            return adjacentNodes;
+        }
         Set<Region.Node> adjacentNodes = new HashSet<>();
         for (Location location1 : connections) {
             adjacentNodes.add(this.region.getNode(location1));
@@ -71,6 +154,11 @@ class NodeImpl implements Region.Node {
 
     @Override
     public Set<Region.Edge> getAdjacentEdges() { // TODO: H3.3 - remove if implemented
+        if (adjacency != null) {
+            Set<Region.Edge> adjacentEdges = new HashSet<>(adjacency.edges.length * 2);
+            Collections.addAll(adjacentEdges, adjacency.edges);
+            return adjacentEdges;
+        }
         Set<Region.Edge> adjacentEdges = new HashSet<>();
         for (Region.Node node : getAdjacentNodes()) {
             adjacentEdges.add(region.getEdge(this.location,node.getLocation()));
@@ -78,6 +166,67 @@ class NodeImpl implements Region.Node {
         return adjacentEdges;
     }
 
+    @Override
+    public int getDegree() {
+        return getAdjacency().nodes.length;
+    }
+
+    @Override
+    public Region.Node getAdjacentNode(int index) {
+        return getAdjacency().nodes[index];
+    }
+
+    @Override
+    public Region.Edge getAdjacentEdge(int index) {
+        return getAdjacency().edges[index];
+    }
+
+    /**
+     * Sets the precomputed neighbors of this {@link NodeImpl}. Must only be called once the {@link Region} is
+     * complete, since later changes to it are not observed.
+     *
+     * @param nodes The adjacent {@link Region.Node}s in ascending order.
+     * @param edges The {@link Region.Edge} to every {@link Region.Node} in {@code nodes}, in the same order.
+     */
+    void setAdjacency(Region.Node[] nodes, Region.Edge[] edges) {
+        adjacency = new Adjacency(nodes, edges, -1);
+    }
+
+    /**
+     * Returns the precomputed neighbors of this {@link NodeImpl} or, if there are none, resolves them from the
+     * {@link #connections}. The resolved neighbors are cached until further {@link NodeImpl}s or {@link EdgeImpl}s are
+     * added to the {@link RegionImpl} this {@link NodeImpl} belongs to. They are not cached for other {@link Region}s,
+     * whose changes cannot be observed.
+     */
+    private Adjacency getAdjacency() {
+        if (adjacency != null) {
+            return adjacency;
+        }
+        int modificationCount = region instanceof RegionImpl regionImpl ? regionImpl.getModificationCount() : -1;
+        // the cached neighbors are read once, since another thread may replace them concurrently
+        @Nullable Adjacency resolved = resolvedAdjacency;
+        if (resolved != null && modificationCount >= 0 && resolved.modificationCount() == modificationCount) {
+            return resolved;
+        }
+        List<Region.Node> nodes = new ArrayList<>(connections.size());
+        for (Location connection : connections) {
+            Region.Node node = region.getNode(connection);
+            if (node != null && region.getEdge(location, connection) != null) {
+                nodes.add(node);
+            }
+        }
+        Collections.sort(nodes);
+        Region.Edge[] edges = new Region.Edge[nodes.size()];
+        for (int i = 0; i < edges.length; i++) {
+            edges[i] = region.getEdge(location, nodes.get(i).getLocation());
+        }
+        resolved = new Adjacency(nodes.toArray(Region.Node[]::new), edges, modificationCount);
+        if (modificationCount >= 0) {
+            resolvedAdjacency = resolved;
+        }
+        return resolved;
+    }
+
     @Override
     public int compareTo(Region.Node o) { // TODO: H3.4 - remove if implemented
          return this.location.compareTo(o.getLocation());
@@ -92,6 +241,9 @@ class NodeImpl implements Region.Node {
             return true;
         }
         NodeImpl other = (NodeImpl) o;
+        if (hasDifferentId(other)) {
+            return false;
+        }
         return Objects.equals(this.name, other.name)
             && Objects.equals(this.location, other.location)
             && Objects.equals(this.connections, other.connections);
@@ -100,6 +252,9 @@ class NodeImpl implements Region.Node {
 
     @Override
     public int hashCode() { // TODO: H3.6 - remove if implemented
+        if (id >= 0) {
+            return hash;
+        }
         return Objects.hash(name, location, connections);
     }
 
@@ -108,4 +263,12 @@ class NodeImpl implements Region.Node {
         return String.format("NodeImpl(name='%s', location='%s', connections='%s')",
             name, location, connections);
     }
+
+    /**
+     * The adjacent {@link Region.Node}s of a {@link NodeImpl} and the {@link Region.Edge}s leading to them, together
+     * with the modification count of the {@link RegionImpl} they were resolved for or {@code -1} if they were
+     * precomputed.
+     */
+    private record Adjacency(Region.Node[] nodes, Region.Edge[] edges, int modificationCount) {
+    }
 }
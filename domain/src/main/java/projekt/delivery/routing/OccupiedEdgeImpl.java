@@ -1,12 +1,17 @@
 package projekt.delivery.routing;
 
+import org.jetbrains.annotations.Nullable;
 import projekt.delivery.event.ArrivedAtEdgeEvent;
 
-import java.util.List;
-import java.util.Map;
-
 class OccupiedEdgeImpl extends AbstractOccupied<Region.Edge> {
 
+    /**
+     * The arrivals of the {@link VehicleManagerImpl} ticking this {@link OccupiedEdgeImpl}, see
+     * {@link #setArrivals(TimingWheel, int)}.
+     */
+    private @Nullable TimingWheel<Arrival> arrivals;
+    private int tickIndex;
+
     /**
      * Creates a new {@link OccupiedEdgeImpl} instance.
      * @param edge The represented {@link Region.Edge}.
@@ -18,11 +23,59 @@ class OccupiedEdgeImpl extends AbstractOccupied<Region.Edge> {
 
     @Override
     public void tick(long currentTick) {
-        // it is important to create a copy here. The move method in vehicle will probably modify this map
-        for (Map.Entry<VehicleImpl, VehicleStats> entry : List.copyOf(vehicles.entrySet())) {
-            if (currentTick >= entry.getValue().arrived + component.getDuration()) {
-                entry.getKey().move(currentTick);
+        // it is important to iterate over a copy here. The move method in vehicle will probably modify this map
+        for (VehicleImpl vehicle : copyVehicles()) {
+            if (vehicle == null) {
+                break;
             }
+            if (currentTick >= vehicles.get(vehicle).arrived + component.getDuration()) {
+                vehicle.move(currentTick);
+            }
+        }
+    }
+
+    /**
+     * Registers this {@link OccupiedEdgeImpl} at the given {@link TimingWheel}. From now on, every vehicle that is put
+     * into {@link #vehicles} is scheduled for the tick it reaches the end of the {@link Region.Edge}, so that the
+     * owner of the {@link TimingWheel} only has to move the due vehicles instead of ticking this
+     * {@link OccupiedEdgeImpl}.
+     *
+     * @param arrivals The {@link TimingWheel} to schedule the {@link Arrival}s in.
+     * @param tickIndex The position of this {@link OccupiedEdgeImpl} in the order the edges are ticked.
+     */
+    void setArrivals(TimingWheel<Arrival> arrivals, int tickIndex) {
+        this.arrivals = arrivals;
+        this.tickIndex = tickIndex;
+    }
+
+    /**
+     * Returns the position of this {@link OccupiedEdgeImpl} in the order the edges are ticked.
+     *
+     * @return The position set by {@link #setArrivals(TimingWheel, int)}.
+     */
+    int getTickIndex() {
+        return tickIndex;
+    }
+
+    /**
+     * Schedules the given {@link Arrival} for the given tick in the {@link TimingWheel} set by
+     * {@link #setArrivals(TimingWheel, int)}, e.g. to look at a vehicle again that did not leave this
+     * {@link OccupiedEdgeImpl} when it was due.
+     *
+     * @param arrival The {@link Arrival} to schedule.
+     * @param tick The tick to schedule the {@link Arrival} for.
+     */
+    void reschedule(Arrival arrival, long tick) {
+        if (arrivals != null) {
+            arrivals.schedule(tick, arrival);
+        }
+    }
+
+    @Override
+    protected void vehicleAdded(VehicleImpl vehicle, VehicleStats stats) {
+        super.vehicleAdded(vehicle, stats);
+        if (arrivals != null) {
+            arrivals.schedule(stats.arrived + component.getDuration(), new Arrival(vehicle, this, stats));
         }
     }
 
@@ -41,7 +94,7 @@ class OccupiedEdgeImpl extends AbstractOccupied<Region.Edge> {
         }
         vehicles.put(vehicle, new VehicleStats(currentTick, previous));
         vehicle.setOccupied(this);
-        vehicleManager.getEventBus().queuePost(ArrivedAtEdgeEvent.of(
+        postEvent(ArrivedAtEdgeEvent.of(
                 currentTick,
                 vehicle,
                 component,
@@ -49,4 +102,23 @@ class OccupiedEdgeImpl extends AbstractOccupied<Region.Edge> {
             )
         );
     }
+
+    /**
+     * The scheduled arrival of a vehicle at the end of an {@link OccupiedEdgeImpl}.
+     *
+     * @param vehicle The vehicle.
+     * @param edge The {@link OccupiedEdgeImpl} the vehicle is on.
+     * @param stats The {@link VehicleStats} of the vehicle when it was added, which identify its stay on the edge.
+     */
+    record Arrival(VehicleImpl vehicle, OccupiedEdgeImpl edge, VehicleStats stats) {
+
+        /**
+         * Returns whether the vehicle is still on the edge since this {@link Arrival} was scheduled.
+         *
+         * @return {@code true} if this {@link Arrival} is still valid.
+         */
+        boolean isValid() {
+            return edge.vehicles.get(vehicle) == stats;
+        }
+    }
 }
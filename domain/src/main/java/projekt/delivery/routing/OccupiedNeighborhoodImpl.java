@@ -33,7 +33,7 @@ class OccupiedNeighborhoodImpl extends OccupiedNodeImpl<Region.Neighborhood> imp
 
     @Override
     protected void emitArrivedEvent(VehicleImpl vehicle, OccupiedEdgeImpl previousEdge, long tick) {
-        vehicleManager.getEventBus().queuePost(ArrivedAtNeighborhoodEvent.of(
+        postEvent(ArrivedAtNeighborhoodEvent.of(
                 tick,
                 vehicle,
                 component,
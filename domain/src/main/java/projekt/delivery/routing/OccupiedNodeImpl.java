@@ -2,9 +2,6 @@ package projekt.delivery.routing;
 
 import projekt.delivery.event.ArrivedAtNodeEvent;
 
-import java.util.List;
-import java.util.Map;
-
 class OccupiedNodeImpl<C extends Region.Node> extends AbstractOccupied<C> {
 
     /**
@@ -18,10 +15,13 @@ class OccupiedNodeImpl<C extends Region.Node> extends AbstractOccupied<C> {
 
     @Override
     public void tick(long currentTick) {
-        // it is important to create a copy here. The move method in vehicle will probably modify this map
+        // it is important to iterate over a copy here. The move method in vehicle will probably modify this map
         // TODO: Only move things that can be moved
-        for (Map.Entry<VehicleImpl, VehicleStats> entry : List.copyOf(vehicles.entrySet())) {
-            entry.getKey().move(currentTick);
+        for (VehicleImpl vehicle : copyVehicles()) {
+            if (vehicle == null) {
+                break;
+            }
+            vehicle.move(currentTick);
         }
     }
 
@@ -44,7 +44,7 @@ class OccupiedNodeImpl<C extends Region.Node> extends AbstractOccupied<C> {
     }
 
     protected void emitArrivedEvent(VehicleImpl vehicle, OccupiedEdgeImpl previousEdge, long tick) {
-        vehicleManager.getEventBus().queuePost(ArrivedAtNodeEvent.of(
+        postEvent(ArrivedAtNodeEvent.of(
                 tick,
                 vehicle,
                 component,
@@ -32,7 +32,7 @@ class OccupiedRestaurantImpl extends OccupiedNodeImpl<Region.Restaurant> impleme
 
     @Override
     protected void emitArrivedEvent(VehicleImpl vehicle, OccupiedEdgeImpl previousEdge, long currentTick) {
-        vehicleManager.getEventBus().queuePost(ArrivedAtRestaurantEvent.of(
+        postEvent(ArrivedAtRestaurantEvent.of(
                 currentTick,
                 vehicle,
                 this,
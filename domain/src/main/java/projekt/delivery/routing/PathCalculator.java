@@ -25,4 +25,56 @@ public interface PathCalculator {
      * (excluding start and including end) that represent the path from start to end
      */
     Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end);
+
+    /**
+     * Calculates the {@link ShortestPathTree} of the shortest paths from every node in the region to {@code end}.<p>
+     *
+     * The default implementation converts the result of {@link #getAllPathsTo(Region.Node)}. Implementations should
+     * override it if they can create the {@link ShortestPathTree} without materializing every path.
+     *
+     * @param end The end {@link Region.Node} of all paths.
+     * @return The {@link ShortestPathTree} of all paths to {@code end}.
+     */
+    default ShortestPathTree getShortestPathTree(Region.Node end) {
+        return ShortestPathTree.of(end, getAllPathsTo(end));
+    }
+
+    /**
+     * Calculates the duration of the shortest path from {@code start} to {@code end}.<p>
+     *
+     * The default implementation sums up the durations of the edges of {@link #getPath(Region.Node, Region.Node)}.
+     * Implementations should override it if they can calculate the duration without creating the path.
+     *
+     * @param start The start {@link Region.Node}
+     * @param end   The end {@link Region.Node}
+     * @return The sum of the durations of the edges on the shortest path from start to end
+     * @throws IllegalArgumentException If there is no path from {@code start} to {@code end}.
+     */
+    default long getDuration(Region.Node start, Region.Node end) {
+        long duration = 0;
+        Region.Node current = start;
+        for (Region.Node node : getPath(start, end)) {
+            Region.Edge edge = current.getEdge(node);
+            if (edge == null) {
+                throw new IllegalStateException("The path contains the unconnected nodes %s and %s".formatted(current, node));
+            }
+            duration += edge.getDuration();
+            current = node;
+        }
+        return duration;
+    }
+
+    /**
+     * Calculates the durations of the shortest paths from the given nodes to {@code end}.<p>
+     *
+     * The default implementation returns the durations stored in {@link #getShortestPathTree(Region.Node)}.
+     *
+     * @param end    The end {@link Region.Node} of all paths.
+     * @param starts The start {@link Region.Node}s of the paths.
+     * @return A new array containing the duration of the shortest path of every start {@link Region.Node} at its index
+     * in {@code starts} or {@code -1} if {@code end} is not reachable from it
+     */
+    default long[] getDurationsTo(Region.Node end, Region.Node... starts) {
+        return getShortestPathTree(end).getDurations(starts);
+    }
 }
@@ -0,0 +1,158 @@
+package projekt.delivery.routing;
+
+import java.util.Arrays;
+
+/**
+ * A monotone radix heap of int indices in {@code [0, capacity)} ordered by a non-negative {@code long} key.<p>
+ *
+ * The heap only supports keys that are not smaller than the key of the last polled index, which is always the case
+ * for Dijkstra's algorithm with non-negative durations. An index with key {@code k} is stored in the bucket of the
+ * highest bit in which {@code k} differs from the last polled key. Inserting and decreasing a key only moves the
+ * index between buckets in constant time, and every index is redistributed at most once per bit of the keys, so the
+ * amortized cost of an operation does not depend on the amount of queued indices.
+ */
+class RadixHeap implements IndexedPriorityQueue {
+
+    private static final int BUCKET_COUNT = Long.SIZE + 1;
+
+    private final int[][] buckets = new int[BUCKET_COUNT][];
+    private final int[] bucketSizes = new int[BUCKET_COUNT];
+    private final long[] keys;
+    /**
+     * The bucket of every index or {@code -1} if the index is not queued.
+     */
+    private final int[] bucketOf;
+    /**
+     * The position of every queued index in its bucket.
+     */
+    private final int[] positions;
+    /**
+     * The key of the last polled index, which is a lower bound of all queued keys.
+     */
+    private long last;
+    private int size;
+
+    /**
+     * Creates a new, empty {@link RadixHeap}.
+     *
+     * @param capacity The exclusive upper bound of the indices that can be queued.
+     */
+    RadixHeap(int capacity) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new int[4];
+        }
+        keys = new long[capacity];
+        bucketOf = new int[capacity];
+        positions = new int[capacity];
+        Arrays.fill(bucketOf, -1);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int index) {
+        return bucketOf[index] >= 0;
+    }
+
+    @Override
+    public long peekKey() {
+        if (bucketSizes[0] > 0) {
+            return last;
+        }
+        int bucket = firstNonEmptyBucket();
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < bucketSizes[bucket]; i++) {
+            min = Math.min(min, keys[buckets[bucket][i]]);
+        }
+        return min;
+    }
+
+    @Override
+    public void insertOrDecrease(int index, long key) {
+        assert key >= last : "The keys of a radix heap must not be smaller than the last polled key";
+        int bucket = bucketOf[index];
+        if (bucket >= 0) {
+            if (key >= keys[index]) {
+                return;
+            }
+            remove(bucket, index);
+        } else {
+            size++;
+        }
+        keys[index] = key;
+        add(bucketOf(key), index);
+    }
+
+    @Override
+    public int poll() {
+        if (bucketSizes[0] == 0) {
+            // Move the smallest key to the front and redistribute the remaining indices of its bucket
+            int bucket = firstNonEmptyBucket();
+            int[] indices = buckets[bucket];
+            int count = bucketSizes[bucket];
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                min = Math.min(min, keys[indices[i]]);
+            }
+            last = min;
+            bucketSizes[bucket] = 0;
+            for (int i = 0; i < count; i++) {
+                int index = indices[i];
+                add(bucketOf(keys[index]), index);
+            }
+        }
+        int index = buckets[0][--bucketSizes[0]];
+        bucketOf[index] = -1;
+        size--;
+        return index;
+    }
+
+    @Override
+    public void clear() {
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            for (int i = 0; i < bucketSizes[bucket]; i++) {
+                bucketOf[buckets[bucket][i]] = -1;
+            }
+            bucketSizes[bucket] = 0;
+        }
+        size = 0;
+        last = 0;
+    }
+
+    private int bucketOf(long key) {
+        return key == last ? 0 : Long.SIZE - Long.numberOfLeadingZeros(key ^ last);
+    }
+
+    private int firstNonEmptyBucket() {
+        int bucket = 0;
+        while (bucketSizes[bucket] == 0) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private void add(int bucket, int index) {
+        int position = bucketSizes[bucket]++;
+        if (position == buckets[bucket].length) {
+            buckets[bucket] = Arrays.copyOf(buckets[bucket], position * 2);
+        }
+        buckets[bucket][position] = index;
+        bucketOf[index] = bucket;
+        positions[index] = position;
+    }
+
+    private void remove(int bucket, int index) {
+        int position = positions[index];
+        int lastIndex = buckets[bucket][--bucketSizes[bucket]];
+        buckets[bucket][position] = lastIndex;
+        positions[lastIndex] = position;
+    }
+}
@@ -0,0 +1,30 @@
+package projekt.delivery.routing;
+
+/**
+ * A {@link CompactDijkstraPathCalculator} whose priority queue is a monotone radix heap instead of a binary heap.<p>
+ *
+ * Since the durations of {@link Region.Edge}s are non-negative integers, Dijkstra's algorithm only extracts keys in
+ * increasing order. A radix heap exploits this by sorting the queued nodes into buckets by the highest bit in which
+ * their duration differs from the last extracted duration, so inserting a node and decreasing its duration take
+ * constant time and extracting the minimum takes amortized constant time per bit of the durations.<p>
+ *
+ * Since the search state is reused, instances of this class must not be used by multiple threads at the same time.
+ */
+public class RadixHeapPathCalculator extends CompactDijkstraPathCalculator {
+
+    /**
+     * Creates a new {@link RadixHeapPathCalculator} that creates the {@link CompactGraph} snapshot lazily.
+     */
+    public RadixHeapPathCalculator() {
+        super(RadixHeap::new);
+    }
+
+    /**
+     * Creates a new {@link RadixHeapPathCalculator} that uses the given {@link CompactGraph} snapshot.
+     *
+     * @param graph The {@link CompactGraph} to use for {@link Region.Node}s of its {@link Region}.
+     */
+    public RadixHeapPathCalculator(CompactGraph graph) {
+        super(RadixHeap::new, graph);
+    }
+}
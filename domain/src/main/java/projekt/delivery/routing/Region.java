@@ -4,7 +4,12 @@ import org.jetbrains.annotations.Nullable;
 import projekt.base.DistanceCalculator;
 import projekt.base.Location;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -21,6 +26,14 @@ public interface Region {
         return new RegionBuilderImpl();
     }
 
+    /**
+     * Returns a new {@link Region.BulkBuilder} instance.
+     * @return A new {@link Region.BulkBuilder} instance.
+     */
+    static BulkBuilder bulkBuilder() {
+        return new RegionBulkBuilderImpl();
+    }
+
     /**
      * Returns the {@link Region.Node} at the given {@link Location}.
      * @param location The {@link Location} of the returned {@link Region.Node}.
@@ -58,6 +71,57 @@ public interface Region {
      */
     Collection<Edge> getEdges();
 
+    /**
+     * Returns whether there is a path between the two given {@link Node}s, i.e. whether they belong to the same
+     * connected component of this {@link Region}.<p>
+     *
+     * {@link Region}s created by a {@link Builder} or {@link BulkBuilder} compute their connected components when
+     * they are built and answer in constant time, so unreachable targets can be rejected before running a search.
+     * The default implementation searches the {@link Node}s reachable from {@code nodeA}.
+     *
+     * @param nodeA The first {@link Node}.
+     * @param nodeB The second {@link Node}.
+     * @return {@code true} if there is a path between the two {@link Node}s.
+     * @throws IllegalArgumentException If one of the {@link Node}s is not part of this {@link Region}.
+     */
+    default boolean isReachable(Node nodeA, Node nodeB) {
+        for (Node node : List.of(nodeA, nodeB)) {
+            if (getNode(node.getLocation()) == null) {
+                throw new IllegalArgumentException("Node " + node + " is not part of the region");
+            }
+        }
+        Set<Node> visited = new HashSet<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        visited.add(nodeA);
+        stack.push(nodeA);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            if (node.equals(nodeB)) {
+                return true;
+            }
+            for (int i = 0, degree = node.getDegree(); i < degree; i++) {
+                Node adjacentNode = node.getAdjacentNode(i);
+                if (visited.add(adjacentNode)) {
+                    stack.push(adjacentNode);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a deeply immutable snapshot of this {@link Region}.<p>
+     *
+     * The snapshot contains copies of the {@link Node}s and {@link Edge}s of this {@link Region}, which are equal to
+     * the original ones but belong to the snapshot. It stores them in arrays instead of maps, does not observe later
+     * changes to this {@link Region} and can be shared by any number of {@link VehicleManager}s and threads.
+     *
+     * @return The frozen snapshot of this {@link Region} or this {@link Region} if it is already frozen.
+     */
+    default Region freeze() {
+        return FrozenRegion.of(this);
+    }
+
     /**
      * Returns the {@link DistanceCalculator} used by this {@link Region}.
      * @return The {@link DistanceCalculator} used by this {@link Region}.
@@ -81,6 +145,20 @@ public interface Region {
          * @return The name of this {@link Component}.
          */
         String getName();
+
+        /**
+         * Returns the id of this {@link Component}.<p>
+         *
+         * The ids of the {@link Node}s and of the {@link Edge}s of a {@link Region} created by a {@link Builder} are
+         * dense, i.e. they range from {@code 0} to the amount of {@link Node}s or {@link Edge}s minus one, and are
+         * assigned in ascending order of the {@link Component}s. They can therefore be used as index of arrays that
+         * store additional information about the {@link Component}s.
+         *
+         * @return The id of this {@link Component} or {@code -1} if it was not created by a {@link Builder}.
+         */
+        default int getId() {
+            return -1;
+        }
     }
 
     /**
@@ -112,6 +190,48 @@ public interface Region {
          * @return All {@link Edge}s that are connected with this {@link Node}.
          */
         Set<Edge> getAdjacentEdges();
+
+        /**
+         * Returns the amount of {@link Edge}s that are connected with this {@link Node}.<p>
+         *
+         * Together with {@link #getAdjacentNode(int)} and {@link #getAdjacentEdge(int)}, this allows iterating over
+         * the neighbors of this {@link Node} without allocating a {@link Set} or an iterator.
+         *
+         * @return The amount of {@link Edge}s that are connected with this {@link Node}.
+         */
+        default int getDegree() {
+            return getAdjacentEdges().size();
+        }
+
+        /**
+         * Returns the {@link Node} that is connected with this {@link Node} by the {@link Edge} returned by
+         * {@link #getAdjacentEdge(int)} for the same index.
+         *
+         * @param index The index of the neighbor in {@code [0, getDegree())}.
+         * @return The {@link Node} with the given index.
+         * @throws IndexOutOfBoundsException If the index is not in {@code [0, getDegree())}.
+         */
+        default Node getAdjacentNode(int index) {
+            Edge edge = getAdjacentEdge(index);
+            return edge.getNodeA().equals(this) ? edge.getNodeB() : edge.getNodeA();
+        }
+
+        /**
+         * Returns the {@link Edge} with the given index of all {@link Edge}s that are connected with this
+         * {@link Node}, in ascending order.<p>
+         *
+         * The default implementation sorts all adjacent {@link Edge}s on every call, so implementations that are
+         * iterated by index should precompute their neighbors.
+         *
+         * @param index The index of the {@link Edge} in {@code [0, getDegree())}.
+         * @return The {@link Edge} with the given index.
+         * @throws IndexOutOfBoundsException If the index is not in {@code [0, getDegree())}.
+         */
+        default Edge getAdjacentEdge(int index) {
+            List<Edge> edges = new ArrayList<>(getAdjacentEdges());
+            Collections.sort(edges);
+            return edges.get(index);
+        }
     }
 
     /**
@@ -282,4 +402,74 @@ public interface Region {
          */
         Region build();
     }
+
+    /**
+     * A builder for large {@link Region}s, e.g. imported road networks.<p>
+     *
+     * In contrast to a {@link Builder}, a {@link BulkBuilder} does not check the added components until
+     * {@link #build()} is called and only stores their names and {@link Location}s in growing arrays. All components
+     * are validated in one final pass that throws the same exceptions a {@link Builder} throws when the components are
+     * added. The {@link Node}s and {@link Edge}s of the {@link Region} are created directly from these arrays and are
+     * equal to the ones a {@link Builder} creates for the same components, which may be added in any order.
+     */
+    interface BulkBuilder {
+
+        /**
+         * Sets the used {@link DistanceCalculator} to the given {@link DistanceCalculator}.
+         * @param distanceCalculator The new {@link DistanceCalculator}.
+         * @return The current {@link BulkBuilder}.
+         */
+        BulkBuilder distanceCalculator(DistanceCalculator distanceCalculator);
+
+        /**
+         * Adds a new {@link Node} to the constructed {@link Region}.
+         * @param name The name of the new {@link Node}.
+         * @param location The {@link Location} of the new {@link Node}.
+         * @return The current {@link BulkBuilder}.
+         */
+        BulkBuilder addNode(String name, Location location);
+
+        /**
+         * Adds a new {@link Neighborhood} to the constructed {@link Region}.
+         * @param name The name of the new {@link Neighborhood}.
+         * @param location The {@link Location} of the new {@link Neighborhood}.
+         * @return The current {@link BulkBuilder}.
+         */
+        BulkBuilder addNeighborhood(String name, Location location);
+
+        /**
+         * Adds a new {@link Restaurant} to the constructed {@link Region}.
+         * @param name The name of the new {@link Restaurant}.
+         * @param location The {@link Location} of the new {@link Restaurant}.
+         * @param availableFood The available food of the new {@link Restaurant}.
+         * @return The current {@link BulkBuilder}.
+         */
+        BulkBuilder addRestaurant(String name, Location location, List<String> availableFood);
+
+        /**
+         * Adds a new {@link Restaurant} to the constructed {@link Region}.
+         * @param location The {@link Location} of the new {@link Restaurant}.
+         * @param restaurantPreset The {@link Restaurant.Preset} used to create the new {@link Restaurant}.
+         * @return The current {@link BulkBuilder}.
+         */
+        BulkBuilder addRestaurant(Location location, Region.Restaurant.Preset restaurantPreset);
+
+        /**
+         * Adds a new {@link Edge} to the constructed {@link Region}.
+         * @param name The name of the new {@link Edge}.
+         * @param locationA The start {@link Location} of the new {@link Edge}.
+         * @param locationB The end {@link Location} of the new {@link Edge}.
+         * @return The current {@link BulkBuilder}.
+         */
+        BulkBuilder addEdge(String name, Location locationA, Location locationB);
+
+        /**
+         * Validates the added components and constructs the new {@link Region}.
+         * @return The constructed {@link Region}.
+         * @throws IllegalArgumentException If two components have the same name, two {@link Node}s the same
+         *                                  {@link Location} or two {@link Edge}s the same {@link Node}s, or if an
+         *                                  {@link Edge} connects a {@link Location} without a {@link Node}.
+         */
+        Region build();
+    }
 }
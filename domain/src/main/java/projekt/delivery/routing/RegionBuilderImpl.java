@@ -2,11 +2,12 @@ package projekt.delivery.routing;
 
 import projekt.base.DistanceCalculator;
 import projekt.base.Location;
+import projekt.base.LocationMap;
 
 import java.util.*;
 
 class RegionBuilderImpl implements Region.Builder {
-    private final Map<Location, NodeBuilder> nodes = new HashMap<>();
+    private final Map<Location, NodeBuilder> nodes = new LocationMap<>();
     private final Set<EdgeBuilder> edges = new TreeSet<>(
         Comparator.comparing(EdgeBuilder::getLocationA).thenComparing(EdgeBuilder::getLocationB)
     );
@@ -133,9 +134,13 @@ class RegionBuilderImpl implements Region.Builder {
     public Region build() {
         Objects.requireNonNull(distanceCalc, "distanceCalculator");
         RegionImpl region = new RegionImpl(distanceCalc);
+        List<NodeImpl> builtNodes = new ArrayList<>(nodes.size());
+        List<EdgeImpl> builtEdges = new ArrayList<>(edges.size());
         nodes.forEach((l, n) -> {
             n.connections = new HashSet<>(); //reset connection to not modify nodes created by previous calls to build()
-            region.putNode(n.build(region));
+            NodeImpl node = n.build(region);
+            builtNodes.add(node);
+            region.putNode(node);
         });
         edges.forEach(e -> {
 
@@ -145,11 +150,131 @@ class RegionBuilderImpl implements Region.Builder {
 
             nodes.get(e.locationA).connections.add(e.locationB);
             nodes.get(e.locationB).connections.add(e.locationA);
-            region.putEdge(e.build(region, distanceCalc));
+            EdgeImpl edge = e.build(region, distanceCalc);
+            builtEdges.add(edge);
+            region.putEdge(edge);
         });
+
+        // ids are assigned in ascending order after all connections are known, since they are part of the hash code
+        builtNodes.sort(Comparator.comparing(NodeImpl::getLocation));
+        link(builtNodes.toArray(NodeImpl[]::new), builtEdges.toArray(EdgeImpl[]::new));
+        region.markLinked();
         return region;
     }
 
+    /**
+     * Assigns the {@link Region.Component#getId() ids} of the given {@link NodeImpl}s and {@link EdgeImpl}s and
+     * stores the adjacent {@link Region.Node}s and {@link Region.Edge}s as well as the connected component of every
+     * {@link NodeImpl}.
+     *
+     * @param nodes The {@link NodeImpl}s sorted by their {@link Location}s, with all connections.
+     * @param edges The {@link EdgeImpl}s sorted by their {@link Location}s, connecting the given {@link NodeImpl}s.
+     */
+    static void link(NodeImpl[] nodes, EdgeImpl[] edges) {
+        Location[] locations = new Location[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            locations[i] = nodes[i].getLocation();
+        }
+        int[] edgeA = new int[edges.length];
+        int[] edgeB = new int[edges.length];
+        for (int i = 0; i < edges.length; i++) {
+            edgeA[i] = Arrays.binarySearch(locations, edges[i].getLocationA());
+            edgeB[i] = Arrays.binarySearch(locations, edges[i].getLocationB());
+        }
+        link(nodes, edges, edgeA, edgeB);
+    }
+
+    /**
+     * Assigns the {@link Region.Component#getId() ids} of the given {@link NodeImpl}s and {@link EdgeImpl}s and
+     * stores the adjacent {@link Region.Node}s and {@link Region.Edge}s as well as the connected component of every
+     * {@link NodeImpl}.
+     *
+     * @param nodes The {@link NodeImpl}s sorted by their {@link Location}s, with all connections.
+     * @param edges The {@link EdgeImpl}s sorted by the indices of their {@link NodeImpl}s.
+     * @param edgeA The index of the first {@link NodeImpl} of every {@link EdgeImpl}.
+     * @param edgeB The index of the second {@link NodeImpl} of every {@link EdgeImpl}.
+     */
+    static void link(NodeImpl[] nodes, EdgeImpl[] edges, int[] edgeA, int[] edgeB) {
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i].setId(i);
+        }
+        for (int i = 0; i < edges.length; i++) {
+            edges[i].setId(i);
+        }
+
+        // the edges are sorted, so the neighbors of every node are stored in ascending order as well
+        int[] degrees = new int[nodes.length];
+        for (int i = 0; i < edges.length; i++) {
+            degrees[edgeA[i]]++;
+            degrees[edgeB[i]]++;
+        }
+        Region.Node[][] adjacentNodes = new Region.Node[nodes.length][];
+        Region.Edge[][] adjacentEdges = new Region.Edge[nodes.length][];
+        for (int i = 0; i < nodes.length; i++) {
+            adjacentNodes[i] = new Region.Node[degrees[i]];
+            adjacentEdges[i] = new Region.Edge[degrees[i]];
+            degrees[i] = 0;
+        }
+        for (int i = 0; i < edges.length; i++) {
+            int a = edgeA[i];
+            int b = edgeB[i];
+            adjacentNodes[a][degrees[a]] = nodes[b];
+            adjacentEdges[a][degrees[a]++] = edges[i];
+            adjacentNodes[b][degrees[b]] = nodes[a];
+            adjacentEdges[b][degrees[b]++] = edges[i];
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i].setAdjacency(adjacentNodes[i], adjacentEdges[i]);
+        }
+
+        int[] components = connectedComponents(nodes.length, edgeA, edgeB);
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i].setConnectedComponent(components[i]);
+        }
+    }
+
+    /**
+     * Computes the connected components of a graph by union-find over its edges. The components are numbered in
+     * ascending order of their smallest node.
+     *
+     * @param nodeCount The amount of nodes of the graph.
+     * @param edgeA The index of the first node of every edge.
+     * @param edgeB The index of the second node of every edge.
+     * @return The connected component of every node.
+     */
+    private static int[] connectedComponents(int nodeCount, int[] edgeA, int[] edgeB) {
+        int[] parents = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            parents[i] = i;
+        }
+        // the smaller root becomes the parent, so the root of every component is its smallest node
+        for (int i = 0; i < edgeA.length; i++) {
+            int rootA = find(parents, edgeA[i]);
+            int rootB = find(parents, edgeB[i]);
+            if (rootA < rootB) {
+                parents[rootB] = rootA;
+            } else if (rootB < rootA) {
+                parents[rootA] = rootB;
+            }
+        }
+        int[] components = new int[nodeCount];
+        int componentCount = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            int root = find(parents, i);
+            components[i] = root == i ? componentCount++ : components[root];
+        }
+        return components;
+    }
+
+    private static int find(int[] parents, int node) {
+        while (parents[node] != node) {
+            // path halving
+            parents[node] = parents[parents[node]];
+            node = parents[node];
+        }
+        return node;
+    }
+
     private void addSortedEdge(String name, Location locationA, Location locationB) {
         addName(name);
         if (!edges.add(new EdgeBuilder(name, locationA, locationB))) {
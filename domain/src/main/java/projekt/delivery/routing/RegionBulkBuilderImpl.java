@@ -0,0 +1,282 @@
+package projekt.delivery.routing;
+
+import projekt.base.DistanceCalculator;
+import projekt.base.Location;
+import projekt.base.LocationMap;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link Region.BulkBuilder} that stores the added components in growing arrays and validates them when the
+ * {@link Region} is built.
+ */
+class RegionBulkBuilderImpl implements Region.BulkBuilder {
+
+    private static final byte NODE = 0;
+    private static final byte NEIGHBORHOOD = 1;
+    private static final byte RESTAURANT = 2;
+
+    private DistanceCalculator distanceCalc;
+
+    private int nodeCount;
+    private String[] nodeNames = new String[16];
+    private Location[] nodeLocations = new Location[16];
+    private byte[] nodeTypes = new byte[16];
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<String>[] availableFood = new List[16];
+
+    private int edgeCount;
+    private String[] edgeNames = new String[16];
+    private Location[] edgeLocationsA = new Location[16];
+    private Location[] edgeLocationsB = new Location[16];
+
+    @Override
+    public Region.BulkBuilder distanceCalculator(DistanceCalculator distanceCalculator) {
+        this.distanceCalc = distanceCalculator;
+        return this;
+    }
+
+    @Override
+    public Region.BulkBuilder addNode(String name, Location location) {
+        return add(name, location, NODE, null);
+    }
+
+    @Override
+    public Region.BulkBuilder addNeighborhood(String name, Location location) {
+        return add(name, location, NEIGHBORHOOD, null);
+    }
+
+    @Override
+    public Region.BulkBuilder addRestaurant(String name, Location location, List<String> availableFood) {
+        return add(name, location, RESTAURANT, Objects.requireNonNull(availableFood, "availableFood"));
+    }
+
+    @Override
+    public Region.BulkBuilder addRestaurant(Location location, Region.Restaurant.Preset restaurantPreset) {
+        return addRestaurant(restaurantPreset.name(), location, restaurantPreset.availableFoods());
+    }
+
+    private Region.BulkBuilder add(String name, Location location, byte type, List<String> food) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(location, "location");
+        if (nodeCount == nodeNames.length) {
+            int capacity = nodeCount * 2;
+            nodeNames = Arrays.copyOf(nodeNames, capacity);
+            nodeLocations = Arrays.copyOf(nodeLocations, capacity);
+            nodeTypes = Arrays.copyOf(nodeTypes, capacity);
+            availableFood = Arrays.copyOf(availableFood, capacity);
+        }
+        nodeNames[nodeCount] = name;
+        nodeLocations[nodeCount] = location;
+        nodeTypes[nodeCount] = type;
+        availableFood[nodeCount++] = food;
+        return this;
+    }
+
+    @Override
+    public Region.BulkBuilder addEdge(String name, Location locationA, Location locationB) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(locationA, "locationA");
+        Objects.requireNonNull(locationB, "locationB");
+        if (edgeCount == edgeNames.length) {
+            int capacity = edgeCount * 2;
+            edgeNames = Arrays.copyOf(edgeNames, capacity);
+            edgeLocationsA = Arrays.copyOf(edgeLocationsA, capacity);
+            edgeLocationsB = Arrays.copyOf(edgeLocationsB, capacity);
+        }
+        edgeNames[edgeCount] = name;
+        edgeLocationsA[edgeCount] = locationA;
+        edgeLocationsB[edgeCount++] = locationB;
+        return this;
+    }
+
+    @Override
+    public Region build() {
+        Objects.requireNonNull(distanceCalc, "distanceCalculator");
+
+        // nodes are sorted by primitive keys that are ordered like their locations
+        long[] keys = new long[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            keys[i] = sortKey(nodeLocations[i]);
+        }
+        long[] sortedKeys = keys.clone();
+        Arrays.sort(sortedKeys);
+        for (int i = 1; i < nodeCount; i++) {
+            if (sortedKeys[i] == sortedKeys[i - 1]) {
+                Location location = nodeLocations[indexOf(keys, sortedKeys[i])];
+                throw new IllegalArgumentException("Duplicate node at location " + location);
+            }
+        }
+        NodeIndices indices = new NodeIndices(sortedKeys);
+        int[] nodeOrder = new int[nodeCount];
+        Location[] locations = new Location[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            int index = indices.require(nodeLocations[i]);
+            nodeOrder[index] = i;
+            locations[index] = nodeLocations[i];
+        }
+
+        Set<String> allNames = new HashSet<>((int) ((nodeCount + edgeCount) / 0.75f) + 1);
+        for (int i = 0; i < nodeCount; i++) {
+            addName(allNames, nodeNames[i]);
+        }
+        for (int i = 0; i < edgeCount; i++) {
+            addName(allNames, edgeNames[i]);
+        }
+
+        // edges are identified by the indices of their smaller and larger node and sorted by a counting sort over the
+        // smaller node, followed by sorting the few edges of every node by the larger node
+        int[] unsortedA = new int[edgeCount];
+        int[] unsortedB = new int[edgeCount];
+        int[] starts = new int[nodeCount + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            int a = indices.require(edgeLocationsA[i]);
+            int b = indices.require(edgeLocationsB[i]);
+            unsortedA[i] = Math.min(a, b);
+            unsortedB[i] = Math.max(a, b);
+            starts[unsortedA[i] + 1]++;
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            starts[i + 1] += starts[i];
+        }
+        long[] edgeKeys = new long[edgeCount];
+        int[] positions = Arrays.copyOf(starts, nodeCount);
+        for (int i = 0; i < edgeCount; i++) {
+            edgeKeys[positions[unsortedA[i]]++] = (long) unsortedB[i] << 32 | i;
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            if (starts[i + 1] - starts[i] > 1) {
+                Arrays.sort(edgeKeys, starts[i], starts[i + 1]);
+            }
+        }
+
+        int[] edgeOrder = new int[edgeCount];
+        int[] edgeA = new int[edgeCount];
+        int[] edgeB = new int[edgeCount];
+        int[] degrees = new int[nodeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            edgeOrder[i] = (int) edgeKeys[i];
+            edgeA[i] = unsortedA[edgeOrder[i]];
+            edgeB[i] = unsortedB[edgeOrder[i]];
+            if (i > 0 && edgeA[i] == edgeA[i - 1] && edgeB[i] == edgeB[i - 1]) {
+                throw new IllegalArgumentException("Duplicate edge connecting %s to %s"
+                    .formatted(locations[edgeA[i]], locations[edgeB[i]]));
+            }
+            degrees[edgeA[i]]++;
+            if (edgeA[i] != edgeB[i]) {
+                degrees[edgeB[i]]++;
+            }
+        }
+
+        // connections are stored in compact immutable sets instead of one hash set per node
+        Location[][] connections = new Location[nodeCount][];
+        for (int i = 0; i < nodeCount; i++) {
+            connections[i] = new Location[degrees[i]];
+            degrees[i] = 0;
+        }
+        for (int i = 0; i < edgeCount; i++) {
+            int a = edgeA[i];
+            int b = edgeB[i];
+            connections[a][degrees[a]++] = locations[b];
+            if (a != b) {
+                connections[b][degrees[b]++] = locations[a];
+            }
+        }
+
+        RegionImpl region = new RegionImpl(distanceCalc, nodeCount, edgeCount);
+        NodeImpl[] nodes = new NodeImpl[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            int node = nodeOrder[i];
+            Set<Location> nodeConnections = Set.of(connections[i]);
+            connections[i] = null;
+            nodes[i] = switch (nodeTypes[node]) {
+                case RESTAURANT -> new RestaurantImpl(region, nodeNames[node], locations[i], nodeConnections,
+                    availableFood[node]);
+                case NEIGHBORHOOD -> new NeighborhoodImpl(region, nodeNames[node], locations[i], nodeConnections);
+                default -> new NodeImpl(region, nodeNames[node], locations[i], nodeConnections);
+            };
+        }
+        EdgeImpl[] edges = new EdgeImpl[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            Location locationA = locations[edgeA[i]];
+            Location locationB = locations[edgeB[i]];
+            long duration = (long) Math.ceil(distanceCalc.calculateDistance(locationA, locationB));
+            edges[i] = new EdgeImpl(region, edgeNames[edgeOrder[i]], locationA, locationB, duration);
+        }
+
+        RegionBuilderImpl.link(nodes, edges, edgeA, edgeB);
+        region.putAll(nodes, edges);
+        region.markLinked();
+        return region;
+    }
+
+    private static void addName(Set<String> allNames, String name) {
+        if (!allNames.add(name)) {
+            throw new IllegalArgumentException(String.format("Duplicate name '%s'", name));
+        }
+    }
+
+    /**
+     * Returns a key for the given {@link Location}, so that the keys of two {@link Location}s are ordered like the
+     * {@link Location}s.
+     */
+    private static long sortKey(Location location) {
+        return LocationMap.pack(location.getX(), location.getY() ^ Integer.MIN_VALUE);
+    }
+
+    /**
+     * An open addressing hash table from the keys of the sorted {@link Location}s to their indices, which resolves a
+     * {@link Location} with a single memory access in most cases instead of a binary search.
+     */
+    private static final class NodeIndices {
+
+        private final long[] keys;
+        private final int[] indices;
+        private final int mask;
+
+        private NodeIndices(long[] sortedKeys) {
+            int capacity = Integer.highestOneBit(Math.max(2, sortedKeys.length) * 2 - 1) << 1;
+            keys = new long[capacity];
+            indices = new int[capacity];
+            mask = capacity - 1;
+            Arrays.fill(indices, -1);
+            for (int i = 0; i < sortedKeys.length; i++) {
+                int slot = slot(sortedKeys[i]);
+                while (indices[slot] >= 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = sortedKeys[i];
+                indices[slot] = i;
+            }
+        }
+
+        private int slot(long key) {
+            key ^= key >>> 33;
+            key *= 0xFF51AFD7ED558CCDL;
+            key ^= key >>> 33;
+            return (int) key & mask;
+        }
+
+        int require(Location location) {
+            long key = sortKey(location);
+            for (int slot = slot(key); indices[slot] >= 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return indices[slot];
+                }
+            }
+            throw new IllegalArgumentException("Node " + location + " is not part of the region");
+        }
+    }
+
+    private static int indexOf(long[] keys, long key) {
+        int index = 0;
+        while (keys[index] != key) {
+            index++;
+        }
+        return index;
+    }
+}
@@ -4,6 +4,7 @@ import org.jetbrains.annotations.Nullable;
 import projekt.base.DistanceCalculator;
 import projekt.base.EuclideanDistanceCalculator;
 import projekt.base.Location;
+import projekt.base.LocationMap;
 
 import java.util.*;
 
@@ -11,10 +12,19 @@ import static org.tudalgo.algoutils.student.Student.crash;
 
 class RegionImpl implements Region {
 
-    private final Map<Location, NodeImpl> nodes = new HashMap<>();
-    private final Map<Location, Map<Location, EdgeImpl>> edges = new HashMap<>();
-    private final List<EdgeImpl> allEdges = new ArrayList<>();
+    private final Map<Location, NodeImpl> nodes;
+    private final Map<Location, Map<Location, EdgeImpl>> edges;
+    private final List<EdgeImpl> allEdges;
     private final DistanceCalculator distanceCalculator;
+    /**
+     * Whether the ids, adjacency and connected components stored in the {@link NodeImpl}s are up to date, which is
+     * the case from {@link #markLinked()} until the next {@link NodeImpl} or {@link EdgeImpl} is added.
+     */
+    private boolean linked;
+    /**
+     * The amount of times {@link NodeImpl}s or {@link EdgeImpl}s were added to this {@link RegionImpl}.
+     */
+    private int modificationCount;
 
     /**
      * Creates a new, empty {@link RegionImpl} instance using a {@link EuclideanDistanceCalculator}.
@@ -27,7 +37,18 @@ class RegionImpl implements Region {
      * Creates a new, empty {@link RegionImpl} instance using the given {@link DistanceCalculator}.
      */
     public RegionImpl(DistanceCalculator distanceCalculator) {
+        this(distanceCalculator, 0, 0);
+    }
+
+    /**
+     * Creates a new, empty {@link RegionImpl} instance using the given {@link DistanceCalculator} that is able to
+     * hold the given amount of {@link NodeImpl}s and {@link EdgeImpl}s without resizing.
+     */
+    RegionImpl(DistanceCalculator distanceCalculator, int expectedNodeCount, int expectedEdgeCount) {
         this.distanceCalculator = distanceCalculator;
+        nodes = new LocationMap<>(expectedNodeCount);
+        edges = new LocationMap<>(Math.min(expectedNodeCount, expectedEdgeCount));
+        allEdges = new ArrayList<>(expectedEdgeCount);
     }
 
     @Override
@@ -66,6 +87,22 @@ class RegionImpl implements Region {
         return Collections.unmodifiableCollection(this.allEdges);
     }
 
+    @Override
+    public boolean isReachable(Node nodeA, Node nodeB) {
+        if (!linked) {
+            return Region.super.isReachable(nodeA, nodeB);
+        }
+        return getLinkedNode(nodeA).getConnectedComponent() == getLinkedNode(nodeB).getConnectedComponent();
+    }
+
+    private NodeImpl getLinkedNode(Node node) {
+        @Nullable NodeImpl linkedNode = nodes.get(node.getLocation());
+        if (linkedNode == null) {
+            throw new IllegalArgumentException("Node " + node + " is not part of the region");
+        }
+        return linkedNode;
+    }
+
     @Override
     public DistanceCalculator getDistanceCalculator() {
         return distanceCalculator;
@@ -81,6 +118,8 @@ class RegionImpl implements Region {
             throw new IllegalArgumentException("Node " + node.toString() + " has incorrect region");
         }
         nodes.put(node.getLocation(), node);
+        linked = false;
+        modificationCount++;
     }
 
 
@@ -110,11 +149,85 @@ class RegionImpl implements Region {
         Node nodeA = edge.getNodeA();
         Node nodeB = edge.getNodeB();
         // Kante in Map und Liste einfügen
-        this.edges.computeIfAbsent(nodeA.getLocation(), k -> new HashMap<>()).put(nodeB.getLocation(), edge);
+        this.edges.computeIfAbsent(nodeA.getLocation(), k -> new LocationMap<>()).put(nodeB.getLocation(), edge);
         Map<Location,EdgeImpl> map = this.edges.get(nodeA.getLocation());
         map.put(nodeB.getLocation(),edge);
         this.edges.put(nodeA.getLocation(),map);
         this.allEdges.add(edge);
+        linked = false;
+        modificationCount++;
+    }
+
+    /**
+     * Adds the given {@link NodeImpl}s and {@link EdgeImpl}s to this {@link RegionImpl} without the checks of
+     * {@link #putNode(NodeImpl)} and {@link #putEdge(EdgeImpl)}. The caller has to ensure that all components belong
+     * to this {@link RegionImpl} and that every {@link EdgeImpl} connects two of the given {@link NodeImpl}s. The
+     * {@link EdgeImpl}s should be sorted by their first {@link Location}.
+     *
+     * @param nodes the {@link NodeImpl}s to add.
+     * @param edges the {@link EdgeImpl}s to add.
+     */
+    void putAll(NodeImpl[] nodes, EdgeImpl[] edges) {
+        for (NodeImpl node : nodes) {
+            this.nodes.put(node.getLocation(), node);
+        }
+        // sorted edges starting at the same location are adjacent, so their map is created with the right capacity
+        for (int start = 0, end; start < edges.length; start = end) {
+            Location locationA = edges[start].getLocationA();
+            end = start + 1;
+            while (end < edges.length && edges[end].getLocationA().equals(locationA)) {
+                end++;
+            }
+            int count = end - start;
+            Map<Location, EdgeImpl> map = this.edges.computeIfAbsent(locationA, k -> new LocationMap<>(count));
+            for (int i = start; i < end; i++) {
+                map.put(edges[i].getLocationB(), edges[i]);
+                allEdges.add(edges[i]);
+            }
+        }
+        linked = false;
+        modificationCount++;
+    }
+
+    /**
+     * Marks all {@link NodeImpl}s and {@link EdgeImpl}s of this {@link RegionImpl} as linked by
+     * {@link RegionBuilderImpl#link(NodeImpl[], EdgeImpl[], int[], int[])}, so that their connected components can be
+     * used until further {@link NodeImpl}s or {@link EdgeImpl}s are added.
+     */
+    void markLinked() {
+        linked = true;
+    }
+
+    /**
+     * Returns whether the connected components stored in the {@link NodeImpl}s are up to date, i.e. whether
+     * {@link #isReachable(Node, Node)} answers in constant time.
+     *
+     * @return {@code true} if this {@link RegionImpl} is linked.
+     */
+    boolean isLinked() {
+        return linked;
+    }
+
+    /**
+     * Returns whether the given {@link Region} knows the connected components of its {@link Node}s, i.e. whether
+     * {@link Region#isReachable(Node, Node)} answers in constant time instead of searching the {@link Region}. Callers
+     * should only check reachability in advance if this is the case and otherwise rely on the search they run anyway.
+     *
+     * @param region The {@link Region} to check.
+     * @return {@code true} if the given {@link Region} is frozen or a linked {@link RegionImpl}.
+     */
+    static boolean knowsConnectedComponents(Region region) {
+        return region instanceof FrozenRegion || region instanceof RegionImpl regionImpl && regionImpl.isLinked();
+    }
+
+    /**
+     * Returns the amount of times {@link NodeImpl}s or {@link EdgeImpl}s were added to this {@link RegionImpl}. Values
+     * derived from this {@link RegionImpl} are up to date as long as this amount does not change.
+     *
+     * @return The modification count of this {@link RegionImpl}.
+     */
+    int getModificationCount() {
+        return modificationCount;
     }
 
     @Override
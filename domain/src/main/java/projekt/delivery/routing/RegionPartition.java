@@ -0,0 +1,443 @@
+package projekt.delivery.routing;
+
+import projekt.base.Location;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A partition of the nodes of a {@link CompactGraph} into districts.<p>
+ *
+ * The districts are created by recursive inertial bisection: the nodes are projected onto the principal axis of their
+ * {@link Location}s and split at the position that divides the remaining amount of districts between both halves,
+ * until every half contains the nodes of one district. Afterwards, every part of a district that is not connected to
+ * the largest part of the district is moved to the adjacent district it shares the most edges with, and nodes that
+ * only have one neighbor in their own district but more in another one are moved to that district, as long as it does
+ * not get too large.<p>
+ *
+ * Therefore, every district is connected unless the {@link Region} itself is not connected. The bisection creates
+ * districts whose sizes differ by at most one node. Reducing the cut edges changes their sizes by a few percent at
+ * most, but moving disconnected parts may change them more, e.g. in {@link Region}s of loosely connected clusters. Districts are identified by indices in
+ * {@code [0, getDistrictCount())} and nodes by their index in the {@link CompactGraph}, which is their
+ * {@link Region.Node#getId() id} if the {@link Region} was created by a {@link Region.Builder}.<p>
+ *
+ * Instances of this class are immutable and can be shared between threads.
+ */
+public final class RegionPartition {
+
+    /**
+     * The factor by which a district may become larger than the average district size when nodes are moved to reduce
+     * the amount of cut edges.
+     */
+    private static final double IMBALANCE = 1.03;
+    /**
+     * The maximum amount of passes over all nodes when nodes are moved to reduce the amount of cut edges.
+     */
+    private static final int REFINEMENT_PASSES = 8;
+
+    private final CompactGraph graph;
+    private final int districtCount;
+    private final int[] districts;
+    private final int[] districtSizes;
+    /**
+     * The boundary nodes of district {@code d} are stored in ascending order in the range
+     * {@code [boundaryOffsets[d], boundaryOffsets[d + 1])} of {@link #boundaryNodes}.
+     */
+    private final int[] boundaryOffsets;
+    private final int[] boundaryNodes;
+
+    private RegionPartition(CompactGraph graph, int districtCount) {
+        this.graph = graph;
+        this.districtCount = districtCount;
+        int nodeCount = graph.getNodeCount();
+
+        districts = new int[nodeCount];
+        int[] nodes = new int[nodeCount];
+        double[] x = new double[nodeCount];
+        double[] y = new double[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            nodes[node] = node;
+            Location location = graph.getNode(node).getLocation();
+            x[node] = location.getX();
+            y[node] = location.getY();
+        }
+        bisect(nodes, 0, nodeCount, 0, districtCount, x, y, new double[nodeCount]);
+
+        districtSizes = new int[districtCount];
+        for (int district : districts) {
+            districtSizes[district]++;
+        }
+        connect();
+        refine();
+
+        boundaryOffsets = new int[districtCount + 1];
+        for (int node = 0; node < nodeCount; node++) {
+            if (isBoundaryNode(node)) {
+                boundaryOffsets[districts[node] + 1]++;
+            }
+        }
+        for (int district = 0; district < districtCount; district++) {
+            boundaryOffsets[district + 1] += boundaryOffsets[district];
+        }
+        boundaryNodes = new int[boundaryOffsets[districtCount]];
+        int[] next = Arrays.copyOf(boundaryOffsets, districtCount);
+        for (int node = 0; node < nodeCount; node++) {
+            if (isBoundaryNode(node)) {
+                boundaryNodes[next[districts[node]]++] = node;
+            }
+        }
+    }
+
+    /**
+     * Partitions the nodes of the given {@link CompactGraph} into the given amount of districts.
+     *
+     * @param graph         The {@link CompactGraph} to partition.
+     * @param districtCount The amount of districts.
+     * @return The created {@link RegionPartition}.
+     * @throws IllegalArgumentException If the amount of districts is not positive or larger than the amount of nodes.
+     */
+    public static RegionPartition of(CompactGraph graph, int districtCount) {
+        if (districtCount <= 0 || districtCount > Math.max(1, graph.getNodeCount())) {
+            throw new IllegalArgumentException("Can't partition %d nodes into %d districts"
+                .formatted(graph.getNodeCount(), districtCount));
+        }
+        return new RegionPartition(graph, districtCount);
+    }
+
+    /**
+     * Partitions the nodes of the given {@link Region} into the given amount of districts.
+     *
+     * @param region        The {@link Region} to partition.
+     * @param districtCount The amount of districts.
+     * @return The created {@link RegionPartition}.
+     * @throws IllegalArgumentException If the amount of districts is not positive or larger than the amount of nodes.
+     */
+    public static RegionPartition of(Region region, int districtCount) {
+        return of(CompactGraph.of(region), districtCount);
+    }
+
+    /**
+     * Assigns the nodes in the range {@code [from, to)} of {@code nodes} to the districts in the range
+     * {@code [firstDistrict, firstDistrict + count)}.
+     */
+    private void bisect(int[] nodes, int from, int to, int firstDistrict, int count, double[] x, double[] y,
+                        double[] projections) {
+        if (count == 1) {
+            for (int i = from; i < to; i++) {
+                districts[nodes[i]] = firstDistrict;
+            }
+            return;
+        }
+
+        // the principal axis is the direction in which the locations have the largest variance
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = from; i < to; i++) {
+            meanX += x[nodes[i]];
+            meanY += y[nodes[i]];
+        }
+        meanX /= to - from;
+        meanY /= to - from;
+        double varianceX = 0;
+        double varianceY = 0;
+        double covariance = 0;
+        for (int i = from; i < to; i++) {
+            double dx = x[nodes[i]] - meanX;
+            double dy = y[nodes[i]] - meanY;
+            varianceX += dx * dx;
+            varianceY += dy * dy;
+            covariance += dx * dy;
+        }
+        double angle = 0.5 * Math.atan2(2 * covariance, varianceX - varianceY);
+        double axisX = Math.cos(angle);
+        double axisY = Math.sin(angle);
+        for (int i = from; i < to; i++) {
+            int node = nodes[i];
+            projections[node] = x[node] * axisX + y[node] * axisY;
+        }
+
+        int lowerCount = count / 2;
+        int middle = from + (int) ((long) (to - from) * lowerCount / count);
+        select(nodes, from, to, middle, projections);
+        bisect(nodes, from, middle, firstDistrict, lowerCount, x, y, projections);
+        bisect(nodes, middle, to, firstDistrict + lowerCount, count - lowerCount, x, y, projections);
+    }
+
+    /**
+     * Reorders the range {@code [from, to)} of {@code nodes}, so that the nodes before {@code k} have a smaller or
+     * equal projection than the nodes at and after {@code k}.
+     */
+    private static void select(int[] nodes, int from, int to, int k, double[] projections) {
+        int low = from;
+        int high = to - 1;
+        while (low < high) {
+            int pivot = nodes[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (compare(nodes[i], pivot, projections) < 0) {
+                    i++;
+                }
+                while (compare(nodes[j], pivot, projections) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    int node = nodes[i];
+                    nodes[i++] = nodes[j];
+                    nodes[j--] = node;
+                }
+            }
+            if (k <= j) {
+                high = j;
+            } else if (k >= i) {
+                low = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Compares two nodes by their projection, breaking ties by their index, so the split is deterministic.
+     */
+    private static int compare(int nodeA, int nodeB, double[] projections) {
+        int comparison = Double.compare(projections[nodeA], projections[nodeB]);
+        return comparison != 0 ? comparison : Integer.compare(nodeA, nodeB);
+    }
+
+    /**
+     * Moves every part of a district that is not connected to the largest part of the district to an adjacent
+     * district.
+     */
+    private void connect() {
+        int nodeCount = graph.getNodeCount();
+        int[] components = new int[nodeCount];
+        int[] stack = new int[nodeCount];
+        int[] shared = new int[districtCount];
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            Arrays.fill(components, -1);
+            List<int[]> parts = new ArrayList<>();
+            int[] largest = new int[districtCount];
+            Arrays.fill(largest, -1);
+            for (int start = 0; start < nodeCount; start++) {
+                if (components[start] >= 0) {
+                    continue;
+                }
+                // collect the nodes of the part of the district containing start with a depth-first search
+                int district = districts[start];
+                int size = 0;
+                stack[size++] = start;
+                components[start] = parts.size();
+                for (int i = 0; i < size; i++) {
+                    int node = stack[i];
+                    for (int arc = graph.getFirstArc(node); arc < graph.getFirstArc(node + 1); arc++) {
+                        int target = graph.getTarget(arc);
+                        if (components[target] < 0 && districts[target] == district) {
+                            components[target] = parts.size();
+                            stack[size++] = target;
+                        }
+                    }
+                }
+                if (largest[district] < 0 || parts.get(largest[district]).length < size) {
+                    largest[district] = parts.size();
+                }
+                parts.add(Arrays.copyOf(stack, size));
+            }
+
+            for (int part = 0; part < parts.size(); part++) {
+                int[] nodes = parts.get(part);
+                int district = districts[nodes[0]];
+                if (part == largest[district]) {
+                    continue;
+                }
+                Arrays.fill(shared, 0);
+                for (int node : nodes) {
+                    for (int arc = graph.getFirstArc(node); arc < graph.getFirstArc(node + 1); arc++) {
+                        int target = graph.getTarget(arc);
+                        if (districts[target] != district) {
+                            shared[districts[target]]++;
+                        }
+                    }
+                }
+                int best = district;
+                for (int other = 0; other < districtCount; other++) {
+                    if (shared[other] > 0 && (best == district || shared[other] > shared[best])) {
+                        best = other;
+                    }
+                }
+                if (best != district) {
+                    for (int node : nodes) {
+                        districts[node] = best;
+                    }
+                    districtSizes[district] -= nodes.length;
+                    districtSizes[best] += nodes.length;
+                    moved = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves nodes that only have one neighbor in their own district to the district most of their neighbors belong to.
+     * Removing a node with a single neighbor does not disconnect a district, and a node is only added to a district
+     * it is adjacent to, so all districts stay connected.
+     */
+    private void refine() {
+        int nodeCount = graph.getNodeCount();
+        int maxSize = (int) Math.ceil(IMBALANCE * nodeCount / districtCount);
+        int[] shared = new int[districtCount];
+        for (int pass = 0; pass < REFINEMENT_PASSES; pass++) {
+            boolean moved = false;
+            for (int node = 0; node < nodeCount; node++) {
+                int district = districts[node];
+                int own = 0;
+                int bestDistrict = district;
+                for (int arc = graph.getFirstArc(node); arc < graph.getFirstArc(node + 1); arc++) {
+                    int target = graph.getTarget(arc);
+                    int other = districts[target];
+                    if (target == node) {
+                        continue;
+                    } else if (other == district) {
+                        own++;
+                    } else if (++shared[other] > (bestDistrict == district ? 0 : shared[bestDistrict])) {
+                        bestDistrict = other;
+                    }
+                }
+                int gain = shared[bestDistrict] - own;
+                for (int arc = graph.getFirstArc(node); arc < graph.getFirstArc(node + 1); arc++) {
+                    shared[districts[graph.getTarget(arc)]] = 0;
+                }
+                if (own == 1 && bestDistrict != district && gain > 0 && districtSizes[bestDistrict] < maxSize) {
+                    districts[node] = bestDistrict;
+                    districtSizes[district]--;
+                    districtSizes[bestDistrict]++;
+                    moved = true;
+                }
+            }
+            if (!moved) {
+                return;
+            }
+        }
+    }
+
+    private boolean isBoundaryNode(int node) {
+        for (int arc = graph.getFirstArc(node); arc < graph.getFirstArc(node + 1); arc++) {
+            if (districts[graph.getTarget(arc)] != districts[node]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the {@link CompactGraph} this {@link RegionPartition} was created from.
+     *
+     * @return The {@link CompactGraph} this {@link RegionPartition} was created from.
+     */
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the amount of districts.
+     *
+     * @return The amount of districts.
+     */
+    public int getDistrictCount() {
+        return districtCount;
+    }
+
+    /**
+     * Returns the district of the node with the given index.
+     *
+     * @param node The index of the node in the {@link CompactGraph}.
+     * @return The district of the node with the given index.
+     */
+    public int getDistrict(int node) {
+        return districts[node];
+    }
+
+    /**
+     * Returns the district of the given {@link Region.Node}.
+     *
+     * @param node The {@link Region.Node}.
+     * @return The district of the given {@link Region.Node}.
+     * @throws IllegalArgumentException If the given {@link Region.Node} is not part of the {@link CompactGraph}.
+     */
+    public int getDistrict(Region.Node node) {
+        int index = graph.indexOf(node);
+        if (index < 0) {
+            throw new IllegalArgumentException("Node " + node + " is not part of the region");
+        }
+        return districts[index];
+    }
+
+    /**
+     * Returns the district of every node, indexed by the index of the node in the {@link CompactGraph}.
+     *
+     * @return A new array containing the district of every node.
+     */
+    public int[] getDistricts() {
+        return districts.clone();
+    }
+
+    /**
+     * Returns the amount of nodes in the given district.
+     *
+     * @param district The district.
+     * @return The amount of nodes in the given district.
+     */
+    public int getDistrictSize(int district) {
+        return districtSizes[district];
+    }
+
+    /**
+     * Returns the {@link Region.Node}s that are connected to a {@link Region.Node} of another district, ordered by
+     * district and index.
+     *
+     * @return The boundary nodes of all districts.
+     */
+    public List<Region.Node> getBoundaryNodes() {
+        return toNodes(0, boundaryNodes.length);
+    }
+
+    /**
+     * Returns the {@link Region.Node}s of the given district that are connected to a {@link Region.Node} of another
+     * district, ordered by index.
+     *
+     * @param district The district.
+     * @return The boundary nodes of the given district.
+     */
+    public List<Region.Node> getBoundaryNodes(int district) {
+        return toNodes(boundaryOffsets[district], boundaryOffsets[district + 1]);
+    }
+
+    private List<Region.Node> toNodes(int from, int to) {
+        Region.Node[] nodes = new Region.Node[to - from];
+        for (int i = from; i < to; i++) {
+            nodes[i - from] = graph.getNode(boundaryNodes[i]);
+        }
+        return List.of(nodes);
+    }
+
+    /**
+     * Returns the {@link Region.Edge}s connecting {@link Region.Node}s of different districts.
+     *
+     * @return The cut edges.
+     */
+    public List<Region.Edge> getCutEdges() {
+        List<Region.Edge> cutEdges = new ArrayList<>();
+        for (int node : boundaryNodes) {
+            for (int arc = graph.getFirstArc(node); arc < graph.getFirstArc(node + 1); arc++) {
+                int target = graph.getTarget(arc);
+                if (target > node && districts[target] != districts[node]) {
+                    cutEdges.add(graph.getEdge(arc));
+                }
+            }
+        }
+        return cutEdges;
+    }
+}
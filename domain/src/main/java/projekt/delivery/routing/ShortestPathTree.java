@@ -0,0 +1,366 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The shortest paths from every {@link Region.Node} of a {@link Region} to a common end {@link Region.Node}.<p>
+ *
+ * Instead of storing a separate path for every {@link Region.Node}, the tree only stores the next {@link Region.Node}
+ * on the shortest path and the duration of the shortest path for each {@link Region.Node}. Paths are materialized only
+ * when they are requested, so a {@link ShortestPathTree} needs linear memory in the amount of {@link Region.Node}s.<p>
+ *
+ * A {@link ShortestPathTree} is immutable and can be shared between threads. Every returned path is a new
+ * {@link Deque} that can be modified freely.
+ */
+public final class ShortestPathTree {
+
+    private final Region.Node[] nodes;
+    private final Map<Region.Node, Integer> indices;
+    private final int end;
+    /**
+     * The index of the next node on the shortest path to the end node or {@code -1} for the end node and unreachable
+     * nodes.
+     */
+    private final int[] next;
+    /**
+     * The duration of the shortest path to the end node or {@code -1} for unreachable nodes.
+     */
+    private final long[] durations;
+    private final int reachableCount;
+
+    /**
+     * Creates a new {@link ShortestPathTree}. The given arrays are not copied.
+     *
+     * @param nodes     The {@link Region.Node}s of the {@link Region}.
+     * @param indices   The index of every {@link Region.Node} in {@code nodes}.
+     * @param end       The index of the end node.
+     * @param next      The index of the next node on the shortest path of every node or {@code -1}.
+     * @param durations The duration of the shortest path of every node or {@code -1} if it is unreachable.
+     */
+    ShortestPathTree(Region.Node[] nodes, Map<Region.Node, Integer> indices, int end, int[] next, long[] durations) {
+        this.nodes = nodes;
+        this.indices = indices;
+        this.end = end;
+        this.next = next;
+        this.durations = durations;
+        int reachableCount = 0;
+        for (long duration : durations) {
+            if (duration >= 0) {
+                reachableCount++;
+            }
+        }
+        this.reachableCount = reachableCount;
+    }
+
+    /**
+     * Creates a new {@link ShortestPathTree} from the paths returned by {@link PathCalculator#getAllPathsTo(Region.Node)}.
+     *
+     * @param end   The end {@link Region.Node} of all paths.
+     * @param paths The paths from every reachable {@link Region.Node} to {@code end}.
+     * @return The created {@link ShortestPathTree}.
+     */
+    public static ShortestPathTree of(Region.Node end, Map<Region.Node, Deque<Region.Node>> paths) {
+        Collection<Region.Node> regionNodes = end.getRegion().getNodes();
+        Region.Node[] nodes = regionNodes.toArray(Region.Node[]::new);
+        Arrays.sort(nodes);
+        Map<Region.Node, Integer> indices = new HashMap<>(nodes.length * 2);
+        for (int i = 0; i < nodes.length; i++) {
+            indices.put(nodes[i], i);
+        }
+
+        int[] next = new int[nodes.length];
+        long[] durations = new long[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            @Nullable Deque<Region.Node> path = paths.get(nodes[i]);
+            if (path == null) {
+                next[i] = -1;
+                durations[i] = -1;
+            } else if (path.isEmpty()) {
+                next[i] = -1;
+                durations[i] = 0;
+            } else {
+                Region.Node nextNode = path.getFirst();
+                Region.Edge edge = nodes[i].getEdge(nextNode);
+                if (edge == null) {
+                    throw new IllegalArgumentException("The path of %s does not start with an adjacent node".formatted(nodes[i]));
+                }
+                next[i] = indices.get(nextNode);
+                durations[i] = edge.getDuration();
+            }
+        }
+
+        // The durations of the first edges are summed up along the paths
+        long[] totalDurations = new long[nodes.length];
+        boolean[] done = new boolean[nodes.length];
+        int[] stack = new int[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            int size = 0;
+            int node = i;
+            while (node >= 0 && !done[node]) {
+                done[node] = true;
+                stack[size++] = node;
+                node = next[node];
+            }
+            long duration = node >= 0 ? totalDurations[node] : 0;
+            while (size > 0) {
+                node = stack[--size];
+                duration = durations[node] < 0 ? -1 : duration + durations[node];
+                totalDurations[node] = duration;
+            }
+        }
+        return new ShortestPathTree(nodes, indices, indices.get(end), next, totalDurations);
+    }
+
+    private int indexOf(Object node) {
+        return CompactGraph.indexOf(nodes, indices, node);
+    }
+
+    private int requireReachable(Region.Node start) {
+        int index = indexOf(start);
+        if (index < 0 || durations[index] < 0) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, nodes[end]));
+        }
+        return index;
+    }
+
+    /**
+     * Returns the {@link Region} of this {@link ShortestPathTree}.
+     *
+     * @return The {@link Region} of this {@link ShortestPathTree}.
+     */
+    public Region getRegion() {
+        return nodes[end].getRegion();
+    }
+
+    /**
+     * Returns the common end {@link Region.Node} of all paths.
+     *
+     * @return The common end {@link Region.Node} of all paths.
+     */
+    public Region.Node getEnd() {
+        return nodes[end];
+    }
+
+    /**
+     * Returns the amount of {@link Region.Node}s from which the end {@link Region.Node} is reachable, including the end
+     * {@link Region.Node} itself.
+     *
+     * @return The amount of {@link Region.Node}s from which the end {@link Region.Node} is reachable.
+     */
+    public int getReachableCount() {
+        return reachableCount;
+    }
+
+    /**
+     * Estimates the amount of memory used by this {@link ShortestPathTree} in bytes. The arrays of {@link Region.Node}s
+     * and their indices are not included, since they are usually shared by all trees of the same {@link Region}.
+     *
+     * @return The estimated amount of memory used by this {@link ShortestPathTree} in bytes.
+     */
+    public long getMemoryUsage() {
+        // object header and fields, followed by the two arrays with their headers
+        return 40 + 16 + 4L * next.length + 16 + 8L * durations.length;
+    }
+
+    /**
+     * Checks whether the end {@link Region.Node} is reachable from the given {@link Region.Node}.
+     *
+     * @param start The start {@link Region.Node}.
+     * @return {@code true} if there is a path from {@code start} to the end {@link Region.Node}.
+     */
+    public boolean isReachable(Region.Node start) {
+        int index = indexOf(start);
+        return index >= 0 && durations[index] >= 0;
+    }
+
+    /**
+     * Returns the duration of the shortest path from the given {@link Region.Node} to the end {@link Region.Node}.
+     *
+     * @param start The start {@link Region.Node}.
+     * @return The duration of the shortest path.
+     * @throws IllegalArgumentException If there is no path from {@code start} to the end {@link Region.Node}.
+     */
+    public long getDuration(Region.Node start) {
+        return durations[requireReachable(start)];
+    }
+
+    /**
+     * Returns the next {@link Region.Node} on the shortest path from the given {@link Region.Node} to the end
+     * {@link Region.Node}.
+     *
+     * @param start The start {@link Region.Node}.
+     * @return The next {@link Region.Node} or {@code null} if {@code start} is the end {@link Region.Node}.
+     * @throws IllegalArgumentException If there is no path from {@code start} to the end {@link Region.Node}.
+     */
+    public @Nullable Region.Node getNextNode(Region.Node start) {
+        int next = this.next[requireReachable(start)];
+        return next < 0 ? null : nodes[next];
+    }
+
+    /**
+     * Materializes the shortest path from the given {@link Region.Node} to the end {@link Region.Node}.
+     *
+     * @param start The start {@link Region.Node}.
+     * @return A new {@link Deque} of nodes (excluding start and including end) that represent the path.
+     * @throws IllegalArgumentException If there is no path from {@code start} to the end {@link Region.Node}.
+     */
+    public Deque<Region.Node> getPath(Region.Node start) {
+        return materialize(requireReachable(start));
+    }
+
+    /**
+     * Returns a view of the shortest path from the given {@link Region.Node} to the end {@link Region.Node} that
+     * follows the stored next nodes while iterating instead of materializing the path.
+     *
+     * @param start The start {@link Region.Node}.
+     * @return An {@link Iterable} over the nodes (excluding start and including end) of the path.
+     * @throws IllegalArgumentException If there is no path from {@code start} to the end {@link Region.Node}.
+     */
+    public Iterable<Region.Node> iteratePath(Region.Node start) {
+        int startIndex = requireReachable(start);
+        return () -> new Iterator<>() {
+
+            private int current = startIndex;
+
+            @Override
+            public boolean hasNext() {
+                return next[current] >= 0;
+            }
+
+            @Override
+            public Region.Node next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                current = next[current];
+                return nodes[current];
+            }
+        };
+    }
+
+    private Deque<Region.Node> materialize(int start) {
+        Deque<Region.Node> path = new ArrayDeque<>();
+        for (int node = next[start]; node >= 0; node = next[node]) {
+            path.addLast(nodes[node]);
+        }
+        return path;
+    }
+
+    /**
+     * Returns an unmodifiable {@link Map} view of this {@link ShortestPathTree} in the format of
+     * {@link PathCalculator#getAllPathsTo(Region.Node)}. The paths are materialized whenever they are accessed.
+     *
+     * @return An unmodifiable {@link Map} mapping every reachable {@link Region.Node} to its path.
+     */
+    public Map<Region.Node, Deque<Region.Node>> asMap() {
+        return new MapView();
+    }
+
+    /**
+     * Returns the durations of the shortest paths from the given {@link Region.Node}s to the end {@link Region.Node}
+     * without boxing them.
+     *
+     * @param starts The start {@link Region.Node}s.
+     * @return A new array containing the duration of the shortest path of every start {@link Region.Node} at its index
+     * in {@code starts} or {@code -1} if there is no path from the {@link Region.Node} to the end {@link Region.Node}.
+     */
+    public long[] getDurations(Region.Node... starts) {
+        long[] result = new long[starts.length];
+        for (int i = 0; i < starts.length; i++) {
+            int index = indexOf(starts[i]);
+            result[i] = index < 0 ? -1 : durations[index];
+        }
+        return result;
+    }
+
+    /**
+     * An {@link Iterator} over the indices of all reachable nodes.
+     *
+     * @param <T> The type of the elements created for each index.
+     */
+    private abstract class ReachableIterator<T> implements Iterator<T> {
+
+        private int index = advance(0);
+
+        private int advance(int index) {
+            while (index < nodes.length && durations[index] < 0) {
+                index++;
+            }
+            return index;
+        }
+
+        abstract T createEntry(int index);
+
+        @Override
+        public boolean hasNext() {
+            return index < nodes.length;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T entry = createEntry(index);
+            index = advance(index + 1);
+            return entry;
+        }
+    }
+
+    /**
+     * The {@link Map} view returned by {@link #asMap()}.
+     */
+    private final class MapView extends AbstractMap<Region.Node, Deque<Region.Node>> {
+
+        @Override
+        public int size() {
+            return reachableCount;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            int index = indexOf(key);
+            return index >= 0 && durations[index] >= 0;
+        }
+
+        @Override
+        public @Nullable Deque<Region.Node> get(Object key) {
+            int index = indexOf(key);
+            return index >= 0 && durations[index] >= 0 ? materialize(index) : null;
+        }
+
+        @Override
+        public Set<Entry<Region.Node, Deque<Region.Node>>> entrySet() {
+            return new AbstractSet<>() {
+
+                @Override
+                public int size() {
+                    return reachableCount;
+                }
+
+                @Override
+                public Iterator<Entry<Region.Node, Deque<Region.Node>>> iterator() {
+                    return new ReachableIterator<>() {
+
+                        @Override
+                        Entry<Region.Node, Deque<Region.Node>> createEntry(int index) {
+                            return Map.entry(nodes[index], materialize(index));
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
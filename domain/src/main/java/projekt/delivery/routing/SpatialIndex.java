@@ -0,0 +1,397 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+import projekt.base.DistanceCalculator;
+import projekt.base.Location;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * A uniform grid over the {@link Region.Node}s of a {@link Region} that answers nearest-neighbor, radius and bounding
+ * box queries without scanning all {@link Region.Node}s.<p>
+ *
+ * The {@link Region.Node}s are bucketed into square cells, which are sized so that every cell contains a small
+ * constant amount of {@link Region.Node}s on average. Nearest-neighbor and radius queries visit the cells in rings of
+ * growing size around the queried {@link Location} and stop as soon as no unvisited cell can contain a closer
+ * {@link Region.Node}. For evenly spread {@link Region.Node}s, a query therefore only visits a constant amount of cells
+ * in addition to the ones containing its result.<p>
+ *
+ * Distances are measured with the {@link DistanceCalculator} of the {@link Region}. To skip cells, the
+ * {@link DistanceCalculator} must not decrease if the difference of the x- or y-coordinates of two {@link Location}s
+ * grows, which holds for all {@link DistanceCalculator}s based on a norm such as the
+ * {@link projekt.base.EuclideanDistanceCalculator}, {@link projekt.base.ManhattanDistanceCalculator} and
+ * {@link projekt.base.ChessboardDistanceCalculator}.<p>
+ *
+ * The index is a snapshot that does not observe later changes to the {@link Region}. It is immutable and can be
+ * shared by multiple threads.
+ */
+public final class SpatialIndex {
+
+    /**
+     * The average amount of {@link Region.Node}s per cell the cell size is chosen for.
+     */
+    private static final int NODES_PER_CELL = 2;
+
+    private final Region region;
+    private final DistanceCalculator distanceCalculator;
+    /**
+     * The {@link Region.Node}s ordered by cell.
+     */
+    private final Region.Node[] nodes;
+    /**
+     * The {@link Region.Node}s of cell {@code c} are stored in {@code nodes[cellStarts[c]]} to
+     * {@code nodes[cellStarts[c + 1] - 1]}, where cells are numbered row by row.
+     */
+    private final int[] cellStarts;
+    private final int minX;
+    private final int minY;
+    private final long cellSize;
+    private final int columns;
+    private final int rows;
+
+    private SpatialIndex(Region region) {
+        this.region = region;
+        distanceCalculator = region.getDistanceCalculator();
+        Region.Node[] regionNodes = region.getNodes().toArray(Region.Node[]::new);
+
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        for (Region.Node node : regionNodes) {
+            minX = Math.min(minX, node.getLocation().getX());
+            minY = Math.min(minY, node.getLocation().getY());
+            maxX = Math.max(maxX, node.getLocation().getX());
+            maxY = Math.max(maxY, node.getLocation().getY());
+        }
+        if (regionNodes.length == 0) {
+            minX = minY = maxX = maxY = 0;
+        }
+        long width = (long) maxX - minX + 1;
+        long height = (long) maxY - minY + 1;
+        long cellSize = Math.max(1, (long) Math.ceil(Math.sqrt((double) width * height * NODES_PER_CELL
+            / Math.max(1, regionNodes.length))));
+        // rounding may produce more cells than intended for very thin regions, so grow the cells until they fit
+        while (cellCount(width, cellSize) * cellCount(height, cellSize) > 4L * regionNodes.length + 1) {
+            cellSize *= 2;
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.cellSize = cellSize;
+        columns = (int) cellCount(width, cellSize);
+        rows = (int) cellCount(height, cellSize);
+
+        int[] cells = new int[regionNodes.length];
+        cellStarts = new int[columns * rows + 1];
+        for (int i = 0; i < regionNodes.length; i++) {
+            Location location = regionNodes[i].getLocation();
+            cells[i] = row(location.getY()) * columns + column(location.getX());
+            cellStarts[cells[i] + 1]++;
+        }
+        for (int cell = 0; cell < columns * rows; cell++) {
+            cellStarts[cell + 1] += cellStarts[cell];
+        }
+        nodes = new Region.Node[regionNodes.length];
+        int[] next = new int[columns * rows];
+        System.arraycopy(cellStarts, 0, next, 0, next.length);
+        for (int i = 0; i < regionNodes.length; i++) {
+            nodes[next[cells[i]]++] = regionNodes[i];
+        }
+    }
+
+    private static long cellCount(long length, long cellSize) {
+        return (length + cellSize - 1) / cellSize;
+    }
+
+    /**
+     * Creates a new {@link SpatialIndex} of the {@link Region.Node}s of the given {@link Region}.
+     *
+     * @param region The {@link Region} to index.
+     * @return The created {@link SpatialIndex}.
+     */
+    public static SpatialIndex of(Region region) {
+        return new SpatialIndex(region);
+    }
+
+    /**
+     * Returns the {@link Region} this {@link SpatialIndex} was created from.
+     *
+     * @return The {@link Region} this {@link SpatialIndex} was created from.
+     */
+    public Region getRegion() {
+        return region;
+    }
+
+    /**
+     * Returns the {@link Region.Node} closest to the given {@link Location}.
+     *
+     * @param location The {@link Location}.
+     * @return The closest {@link Region.Node} or {@code null} if the {@link Region} has no {@link Region.Node}s.
+     */
+    public @Nullable Region.Node getNearestNode(Location location) {
+        return getNearestNode(location, node -> true);
+    }
+
+    /**
+     * Returns the {@link Region.Node} closest to the given {@link Location} that matches the given filter, for example
+     * the closest {@link Region.Neighborhood}.
+     *
+     * @param location The {@link Location}.
+     * @param filter   The filter the returned {@link Region.Node} has to match.
+     * @return The closest matching {@link Region.Node} or {@code null} if no {@link Region.Node} matches.
+     */
+    public @Nullable Region.Node getNearestNode(Location location, Predicate<? super Region.Node> filter) {
+        List<Region.Node> nearest = getNearestNodes(location, 1, filter);
+        return nearest.isEmpty() ? null : nearest.get(0);
+    }
+
+    /**
+     * Returns the {@code k} {@link Region.Node}s closest to the given {@link Location}.
+     *
+     * @param location The {@link Location}.
+     * @param k        The maximum amount of {@link Region.Node}s to return.
+     * @return The closest {@link Region.Node}s in ascending order of their distance.
+     */
+    public List<Region.Node> getNearestNodes(Location location, int k) {
+        return getNearestNodes(location, k, node -> true);
+    }
+
+    /**
+     * Returns the {@code k} {@link Region.Node}s closest to the given {@link Location} that match the given filter.
+     *
+     * @param location The {@link Location}.
+     * @param k        The maximum amount of {@link Region.Node}s to return.
+     * @param filter   The filter the returned {@link Region.Node}s have to match.
+     * @return The closest matching {@link Region.Node}s in ascending order of their distance.
+     */
+    public List<Region.Node> getNearestNodes(Location location, int k, Predicate<? super Region.Node> filter) {
+        if (k < 0) {
+            throw new IllegalArgumentException("The amount of nodes must not be negative: " + k);
+        }
+        // the farthest of the k closest nodes found so far is at the head
+        PriorityQueue<Candidate> nearest = new PriorityQueue<>(Math.max(1, k), Candidate.COMPARATOR.reversed());
+        if (k == 0) {
+            return List.of();
+        }
+
+        Rings rings = new Rings(location);
+        for (long ring = rings.first; ring <= rings.last; ring++) {
+            if (nearest.size() == k && nearest.peek().distance < rings.lowerBound(ring - 1)) {
+                break;
+            }
+            rings.visit(ring, (node, distance) -> {
+                if (!filter.test(node)) {
+                    return;
+                }
+                Candidate candidate = new Candidate(node, distance);
+                if (nearest.size() < k) {
+                    nearest.add(candidate);
+                } else if (Candidate.COMPARATOR.compare(candidate, nearest.peek()) < 0) {
+                    nearest.poll();
+                    nearest.add(candidate);
+                }
+            });
+        }
+        return toSortedList(new ArrayList<>(nearest));
+    }
+
+    /**
+     * Returns all {@link Region.Node}s whose distance to the given {@link Location} is at most the given radius.
+     *
+     * @param location The {@link Location}.
+     * @param radius   The maximum distance.
+     * @return The {@link Region.Node}s within the radius in ascending order of their distance.
+     */
+    public List<Region.Node> getNodesWithin(Location location, double radius) {
+        List<Candidate> candidates = new ArrayList<>();
+        Rings rings = new Rings(location);
+        for (long ring = rings.first; ring <= rings.last; ring++) {
+            if (rings.lowerBound(ring - 1) > radius) {
+                break;
+            }
+            rings.visit(ring, (node, distance) -> {
+                if (distance <= radius) {
+                    candidates.add(new Candidate(node, distance));
+                }
+            });
+        }
+        return toSortedList(candidates);
+    }
+
+    /**
+     * Returns all {@link Region.Node}s inside the axis-aligned rectangle spanned by the given corners, including its
+     * border.
+     *
+     * @param corner         A corner of the rectangle.
+     * @param oppositeCorner The opposite corner of the rectangle.
+     * @return The {@link Region.Node}s inside the rectangle in no particular order.
+     */
+    public List<Region.Node> getNodesIn(Location corner, Location oppositeCorner) {
+        int left = Math.min(corner.getX(), oppositeCorner.getX());
+        int right = Math.max(corner.getX(), oppositeCorner.getX());
+        int bottom = Math.min(corner.getY(), oppositeCorner.getY());
+        int top = Math.max(corner.getY(), oppositeCorner.getY());
+        List<Region.Node> result = new ArrayList<>();
+        if (nodes.length == 0 || right < minX || top < minY) {
+            return result;
+        }
+
+        int firstColumn = column(Math.max(left, minX));
+        int lastColumn = column(right);
+        int firstRow = row(Math.max(bottom, minY));
+        int lastRow = row(top);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int cell = row * columns + firstColumn, end = row * columns + lastColumn; cell <= end; cell++) {
+                for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+                    Location location = nodes[i].getLocation();
+                    if (location.getX() >= left && location.getX() <= right
+                        && location.getY() >= bottom && location.getY() <= top) {
+                        result.add(nodes[i]);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<Region.Node> toSortedList(List<Candidate> candidates) {
+        candidates.sort(Candidate.COMPARATOR);
+        List<Region.Node> result = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            result.add(candidate.node);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the unclamped column of the given x-coordinate.
+     */
+    private long columnOf(int x) {
+        return Math.floorDiv((long) x - minX, cellSize);
+    }
+
+    /**
+     * Returns the unclamped row of the given y-coordinate.
+     */
+    private long rowOf(int y) {
+        return Math.floorDiv((long) y - minY, cellSize);
+    }
+
+    private int column(int x) {
+        return (int) Math.min(columns - 1, columnOf(x));
+    }
+
+    private int row(int y) {
+        return (int) Math.min(rows - 1, rowOf(y));
+    }
+
+    private static int clamp(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+
+    /**
+     * A {@link Region.Node} together with its distance to the queried {@link Location}.
+     */
+    private record Candidate(Region.Node node, double distance) {
+
+        private static final Comparator<Candidate> COMPARATOR = Comparator.comparingDouble(Candidate::distance)
+            .thenComparing(Candidate::node);
+    }
+
+    @FunctionalInterface
+    private interface NodeConsumer {
+
+        void accept(Region.Node node, double distance);
+    }
+
+    /**
+     * The square rings of cells around the cell of a queried {@link Location}. Ring {@code r} consists of the cells
+     * whose column and row differ by at most {@code r} from the ones of the queried {@link Location}, with at least one
+     * of them differing by exactly {@code r}.
+     */
+    private final class Rings {
+
+        private final Location location;
+        private final long column;
+        private final long row;
+        /**
+         * The first ring that contains a cell of the grid.
+         */
+        private final long first;
+        /**
+         * The last ring that contains a cell of the grid.
+         */
+        private final long last;
+
+        private Rings(Location location) {
+            this.location = location;
+            column = columnOf(location.getX());
+            row = rowOf(location.getY());
+            if (nodes.length == 0) {
+                first = 0;
+                last = -1;
+            } else {
+                first = Math.max(Math.max(-column, column - (columns - 1)), Math.max(Math.max(-row, row - (rows - 1)), 0));
+                last = Math.max(Math.max(column, columns - 1 - column), Math.max(row, rows - 1 - row));
+            }
+        }
+
+        /**
+         * Returns a lower bound of the distance between the queried {@link Location} and every {@link Location}
+         * outside the cells of the rings up to the given one.
+         */
+        private double lowerBound(long ring) {
+            if (ring < 0) {
+                return 0;
+            }
+            int x = location.getX();
+            int y = location.getY();
+            int left = clamp(minX + (column - ring) * cellSize - 1);
+            int right = clamp(minX + (column + ring + 1) * cellSize);
+            int bottom = clamp(minY + (row - ring) * cellSize - 1);
+            int top = clamp(minY + (row + ring + 1) * cellSize);
+            return Math.min(
+                Math.min(distanceCalculator.calculateDistance(location, new Location(left, y)),
+                    distanceCalculator.calculateDistance(location, new Location(right, y))),
+                Math.min(distanceCalculator.calculateDistance(location, new Location(x, bottom)),
+                    distanceCalculator.calculateDistance(location, new Location(x, top))));
+        }
+
+        /**
+         * Passes every {@link Region.Node} in the cells of the given ring together with its distance to the given
+         * consumer.
+         */
+        private void visit(long ring, NodeConsumer consumer) {
+            long firstColumn = column - ring;
+            long lastColumn = column + ring;
+            for (long r = row - ring; r <= row + ring; r++) {
+                if (r < 0 || r >= rows) {
+                    continue;
+                }
+                if (r == row - ring || r == row + ring) {
+                    for (long c = Math.max(0, firstColumn); c <= Math.min(columns - 1, lastColumn); c++) {
+                        visitCell((int) r, (int) c, consumer);
+                    }
+                } else {
+                    if (firstColumn >= 0 && firstColumn < columns) {
+                        visitCell((int) r, (int) firstColumn, consumer);
+                    }
+                    if (ring > 0 && lastColumn >= 0 && lastColumn < columns) {
+                        visitCell((int) r, (int) lastColumn, consumer);
+                    }
+                }
+            }
+        }
+
+        private void visitCell(int row, int column, NodeConsumer consumer) {
+            int cell = row * columns + column;
+            for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+                consumer.accept(nodes[i], distanceCalculator.calculateDistance(location, nodes[i].getLocation()));
+            }
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package projekt.delivery.routing;
+
+import projekt.delivery.event.Event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A district of the occupied nodes and edges of a {@link VehicleManagerImpl}, which is ticked by a single worker
+ * thread while the {@link VehicleManagerImpl} ticks in parallel.<p>
+ *
+ * The worker of a district ticks the active nodes of the district and moves the vehicles that reach the end of the
+ * edges of the district. It only adds vehicles to the components of its own district. Moves to other components, i.e.
+ * onto edges that connect two districts and to the nodes at their ends, are handed off to the thread coordinating the
+ * districts, which applies them after all workers have finished. Every move is identified by a key that encodes its
+ * position in the order the sequential engine would execute it in: the index of the ticked node or edge in the upper
+ * and the position of the vehicle within it in the lower 32 bits. The {@link Event}s posted by the components of a
+ * district are buffered with the key of the move that caused them, so that merging the buffers of all districts by key
+ * yields exactly the {@link Event}s of the sequential engine in the same order.
+ */
+final class TickDistrict {
+
+    private final OccupiedNodeImpl<?>[] tickedNodes;
+    /**
+     * The indices of all nodes of this district that may hold vehicles.
+     */
+    private final BitSet activeNodes = new BitSet();
+    private final TimingWheel<OccupiedEdgeImpl.Arrival> arrivals;
+    private final List<OccupiedEdgeImpl.Arrival> dueArrivals = new ArrayList<>();
+    private final KeyedList<Event> events = new KeyedList<>();
+    private final KeyedList<VehicleImpl> handOffs = new KeyedList<>();
+    private final KeyedList<OccupiedEdgeImpl.Arrival> handedOffArrivals = new KeyedList<>();
+    private final KeyedList<OccupiedEdgeImpl.Arrival> rescheduledArrivals = new KeyedList<>();
+    /**
+     * Whether the {@link Event}s of the components of this district are buffered instead of being posted.
+     */
+    private boolean buffering;
+    /**
+     * The key of the move that is currently executed.
+     */
+    private long key;
+
+    /**
+     * Creates a new, empty {@link TickDistrict}.
+     *
+     * @param tickedNodes The occupied nodes of the {@link VehicleManagerImpl} in the order they are ticked.
+     * @param arrivals The {@link TimingWheel} of the edges of this district.
+     */
+    TickDistrict(OccupiedNodeImpl<?>[] tickedNodes, TimingWheel<OccupiedEdgeImpl.Arrival> arrivals) {
+        this.tickedNodes = tickedNodes;
+        this.arrivals = arrivals;
+    }
+
+    /**
+     * Returns the indices of all nodes of this district that may hold vehicles.
+     *
+     * @return The active nodes of this district.
+     */
+    BitSet getActiveNodes() {
+        return activeNodes;
+    }
+
+    /**
+     * Returns the {@link TimingWheel} that the vehicles on the edges of this district are scheduled in.
+     *
+     * @return The {@link TimingWheel} of this district.
+     */
+    TimingWheel<OccupiedEdgeImpl.Arrival> getArrivals() {
+        return arrivals;
+    }
+
+    boolean isBuffering() {
+        return buffering;
+    }
+
+    void setBuffering(boolean buffering) {
+        this.buffering = buffering;
+    }
+
+    /**
+     * Buffers the given {@link Event} with the key of the move that is currently executed.
+     *
+     * @param event The {@link Event} to buffer.
+     */
+    void post(Event event) {
+        events.add(key, event);
+    }
+
+    /**
+     * Returns whether ticking the active nodes of this district would execute an arrival action. Arrival actions may
+     * access any vehicle, so a tick that executes one cannot be split into districts.
+     *
+     * @return {@code true} if a vehicle on an active node has an arrival action due.
+     */
+    boolean hasDueArrivalAction() {
+        for (int i = activeNodes.nextSetBit(0); i >= 0; i = activeNodes.nextSetBit(i + 1)) {
+            for (VehicleImpl vehicle : tickedNodes[i].vehicles.keySet()) {
+                if (vehicle.hasDueArrivalAction()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ticks the active nodes of this district like {@link OccupiedNodeImpl#tick(long)} would, but hands off the
+     * vehicles that move onto an edge of another district. Must not be called if {@link #hasDueArrivalAction()}.
+     *
+     * @param currentTick The tick to execute.
+     */
+    void tickNodes(long currentTick) {
+        for (int i = activeNodes.nextSetBit(0); i >= 0; i = activeNodes.nextSetBit(i + 1)) {
+            OccupiedNodeImpl<?> node = tickedNodes[i];
+            int position = 0;
+            for (VehicleImpl vehicle : node.copyVehicles()) {
+                if (vehicle == null) {
+                    break;
+                }
+                long key = key(i, position++);
+                if (movesWithin(vehicle)) {
+                    this.key = key;
+                    vehicle.move(currentTick);
+                } else {
+                    handOffs.add(key, vehicle);
+                }
+            }
+            if (node.vehicles.isEmpty()) {
+                activeNodes.clear(i);
+            }
+        }
+    }
+
+    /**
+     * Moves the vehicles that reach the end of the edges of this district at the given tick, but hands off the
+     * vehicles that move to a node of another district. Vehicles that stay on their edge are not rescheduled
+     * immediately, but collected for {@link #mergeRescheduledArrivals(List, ObjLongConsumer)}.
+     *
+     * @param currentTick The tick to execute.
+     */
+    void moveDueArrivals(long currentTick) {
+        pollDueArrivals(currentTick, (arrival, key) -> {
+            // arrivals of vehicles that left their edge in the meantime are skipped
+            if (!arrival.isValid()) {
+                return;
+            }
+            if (movesWithin(arrival.vehicle())) {
+                this.key = key;
+                arrival.vehicle().move(currentTick);
+                if (arrival.isValid()) {
+                    rescheduledArrivals.add(key, arrival);
+                }
+            } else {
+                handedOffArrivals.add(key, arrival);
+            }
+        });
+    }
+
+    /**
+     * Hands off all vehicles that reach the end of the edges of this district at the given tick without moving them.
+     * This is used for the edges that connect two districts, which are not moved by any worker.
+     *
+     * @param currentTick The tick to execute.
+     */
+    void handOffDueArrivals(long currentTick) {
+        pollDueArrivals(currentTick, (arrival, key) -> handedOffArrivals.add(key, arrival));
+    }
+
+    /**
+     * Executes the given vehicle move that was handed off, buffering the {@link Event}s of the components of this
+     * district with the given key.
+     *
+     * @param vehicle The vehicle to move.
+     * @param key The key of the move.
+     * @param currentTick The current tick.
+     */
+    void moveHandedOff(VehicleImpl vehicle, long key, long currentTick) {
+        this.key = key;
+        vehicle.move(currentTick);
+    }
+
+    /**
+     * Executes the given vehicle arrival that was handed off like {@link #moveHandedOff(VehicleImpl, long, long)} and
+     * collects the vehicle for {@link #mergeRescheduledArrivals(List, ObjLongConsumer)} if it stays on its edge.
+     *
+     * @param arrival The {@link OccupiedEdgeImpl.Arrival} to execute.
+     * @param key The key of the move.
+     * @param currentTick The current tick.
+     */
+    void moveHandedOff(OccupiedEdgeImpl.Arrival arrival, long key, long currentTick) {
+        if (arrival.isValid()) {
+            moveHandedOff(arrival.vehicle(), key, currentTick);
+            if (arrival.isValid()) {
+                rescheduledArrivals.add(key, arrival);
+            }
+        }
+    }
+
+    /**
+     * Returns whether moving the given vehicle adds it to a component of this district or to no component at all.
+     */
+    private boolean movesWithin(VehicleImpl vehicle) {
+        AbstractOccupied<?> next = vehicle.getNextOccupied();
+        return next == null || next.getDistrict() == this;
+    }
+
+    /**
+     * Polls the due arrivals of this district, orders them by their edge like {@link VehicleManagerImpl} does and
+     * passes them to the given consumer together with their keys.
+     */
+    private void pollDueArrivals(long currentTick, ObjLongConsumer<OccupiedEdgeImpl.Arrival> consumer) {
+        arrivals.poll(currentTick, dueArrivals);
+        // the sort is stable, so vehicles on the same edge stay in the order they were scheduled
+        dueArrivals.sort(Comparator.comparingInt(arrival -> arrival.edge().getTickIndex()));
+        int edgeIndex = -1;
+        int position = 0;
+        for (OccupiedEdgeImpl.Arrival arrival : dueArrivals) {
+            position = arrival.edge().getTickIndex() == edgeIndex ? position + 1 : 0;
+            edgeIndex = arrival.edge().getTickIndex();
+            consumer.accept(arrival, key(edgeIndex, position));
+        }
+        dueArrivals.clear();
+    }
+
+    private static long key(int index, int position) {
+        return (long) index << 32 | position;
+    }
+
+    /**
+     * Passes the buffered {@link Event}s of the given districts to the given consumer in the order of their keys and
+     * clears the buffers.
+     *
+     * @param districts The districts whose {@link Event}s to merge.
+     * @param consumer The consumer of the {@link Event}s and their keys.
+     */
+    static void mergeEvents(List<TickDistrict> districts, ObjLongConsumer<Event> consumer) {
+        merge(districts, district -> district.events, consumer);
+    }
+
+    /**
+     * Passes the vehicles that were handed off by {@link #tickNodes(long)} to the given consumer in the order of their
+     * keys.
+     *
+     * @param districts The districts whose hand-offs to merge.
+     * @param consumer The consumer of the vehicles and their keys.
+     */
+    static void mergeHandOffs(List<TickDistrict> districts, ObjLongConsumer<VehicleImpl> consumer) {
+        merge(districts, district -> district.handOffs, consumer);
+    }
+
+    /**
+     * Passes the arrivals that were handed off by {@link #moveDueArrivals(long)} and
+     * {@link #handOffDueArrivals(long)} to the given consumer in the order of their keys.
+     *
+     * @param districts The districts whose hand-offs to merge.
+     * @param consumer The consumer of the arrivals and their keys.
+     */
+    static void mergeHandedOffArrivals(
+        List<TickDistrict> districts,
+        ObjLongConsumer<OccupiedEdgeImpl.Arrival> consumer
+    ) {
+        merge(districts, district -> district.handedOffArrivals, consumer);
+    }
+
+    /**
+     * Passes the arrivals of vehicles that stayed on their edge to the given consumer in the order of their keys.
+     *
+     * @param districts The districts whose arrivals to merge.
+     * @param consumer The consumer of the arrivals and their keys.
+     */
+    static void mergeRescheduledArrivals(
+        List<TickDistrict> districts,
+        ObjLongConsumer<OccupiedEdgeImpl.Arrival> consumer
+    ) {
+        merge(districts, district -> district.rescheduledArrivals, consumer);
+    }
+
+    /**
+     * Merges the sorted lists of the given districts by key and clears them. The keys of all lists are distinct.
+     */
+    private static <T> void merge(
+        List<TickDistrict> districts,
+        Function<TickDistrict, KeyedList<T>> lists,
+        ObjLongConsumer<? super T> consumer
+    ) {
+        while (true) {
+            KeyedList<T> next = null;
+            for (int i = 0; i < districts.size(); i++) {
+                KeyedList<T> list = lists.apply(districts.get(i));
+                if (list.position < list.size && (next == null || list.keys[list.position] < next.keys[next.position])) {
+                    next = list;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            int position = next.position++;
+            consumer.accept(next.get(position), next.keys[position]);
+        }
+        for (int i = 0; i < districts.size(); i++) {
+            lists.apply(districts.get(i)).clear();
+        }
+    }
+
+    /**
+     * A list of elements with keys in ascending order that is merged by {@link #merge(List, Function, ObjLongConsumer)}. Once it has grown to its working size, adding elements does not allocate any objects.
+     */
+    private static final class KeyedList<T> {
+
+        private long[] keys = new long[16];
+        private Object[] elements = new Object[16];
+        private int size;
+        private int position;
+
+        void add(long key, T element) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, 2 * size);
+                elements = Arrays.copyOf(elements, 2 * size);
+            }
+            keys[size] = key;
+            elements[size++] = element;
+        }
+
+        @SuppressWarnings("unchecked")
+        T get(int index) {
+            return (T) elements[index];
+        }
+
+        void clear() {
+            Arrays.fill(elements, 0, size, null);
+            size = 0;
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package projekt.delivery.routing;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A hashed timing wheel that schedules elements for ticks.<p>
+ *
+ * Every element is stored in the slot of its tick modulo the amount of slots. Polling the due elements of a tick only
+ * visits the slots of the ticks that passed since the last poll, so an element that is scheduled more than one
+ * revolution ahead is looked at once per revolution instead of once per tick. Once the slots have grown to their
+ * working size, scheduling and polling do not allocate any objects.
+ *
+ * @param <T> The type of the scheduled elements.
+ */
+final class TimingWheel<T> {
+
+    private final int mask;
+    private final long[][] ticks;
+    private final Object[][] elements;
+    private final int[] sizes;
+    private int size;
+    /**
+     * The last tick that was polled. Elements are never scheduled for this or an earlier tick.
+     */
+    private long polledTick = Long.MIN_VALUE;
+
+    /**
+     * Creates a new, empty {@link TimingWheel}.
+     *
+     * @param slotCount The amount of slots, which must be a power of two.
+     */
+    TimingWheel(int slotCount) {
+        if (slotCount <= 0 || Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("The amount of slots must be a power of two: " + slotCount);
+        }
+        mask = slotCount - 1;
+        ticks = new long[slotCount][];
+        elements = new Object[slotCount][];
+        sizes = new int[slotCount];
+    }
+
+    /**
+     * Returns whether no elements are scheduled.
+     *
+     * @return {@code true} if no elements are scheduled.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the amount of scheduled elements.
+     *
+     * @return The amount of scheduled elements.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the earliest tick an element is scheduled for. Elements that were scheduled for an already polled tick
+     * count as scheduled for the next tick.
+     *
+     * @return The earliest tick an element is scheduled for or {@link Long#MAX_VALUE} if no elements are scheduled.
+     */
+    long nextTick() {
+        long nextTick = Long.MAX_VALUE;
+        if (size == 0) {
+            return nextTick;
+        }
+        // the slots are visited in the order of the ticks of the next revolution, so the first element that is due
+        // within it is the earliest one
+        long firstTick = polledTick == Long.MIN_VALUE ? 0 : polledTick + 1;
+        for (int i = 0; i <= mask; i++) {
+            int slot = (int) (firstTick + i) & mask;
+            for (int j = 0; j < sizes[slot]; j++) {
+                if (polledTick != Long.MIN_VALUE && ticks[slot][j] == firstTick + i) {
+                    return firstTick + i;
+                }
+                nextTick = Math.min(nextTick, ticks[slot][j]);
+            }
+        }
+        return nextTick;
+    }
+
+    /**
+     * Schedules the given element for the given tick. Elements for a tick that was already polled are due at the next
+     * poll.
+     *
+     * @param tick The tick the element is due at.
+     * @param element The element to schedule.
+     */
+    void schedule(long tick, T element) {
+        if (tick <= polledTick) {
+            tick = polledTick + 1;
+        }
+        int slot = (int) tick & mask;
+        int slotSize = sizes[slot];
+        if (ticks[slot] == null) {
+            ticks[slot] = new long[4];
+            elements[slot] = new Object[4];
+        } else if (slotSize == ticks[slot].length) {
+            ticks[slot] = Arrays.copyOf(ticks[slot], 2 * slotSize);
+            elements[slot] = Arrays.copyOf(elements[slot], 2 * slotSize);
+        }
+        ticks[slot][slotSize] = tick;
+        elements[slot][slotSize] = element;
+        sizes[slot] = slotSize + 1;
+        size++;
+    }
+
+    /**
+     * Removes all elements that are due at the given tick or earlier and adds them to the given {@link Collection}.
+     * Elements are added in ascending order of the slots of their ticks, starting after the last polled tick, and in
+     * the order they were scheduled within a slot.
+     *
+     * @param currentTick The current tick.
+     * @param due The {@link Collection} to add the due elements to.
+     */
+    @SuppressWarnings("unchecked")
+    void poll(long currentTick, Collection<? super T> due) {
+        if (currentTick <= polledTick) {
+            return;
+        }
+        // before the first poll, elements may have been scheduled for any earlier tick
+        long firstTick = polledTick == Long.MIN_VALUE ? currentTick - mask : polledTick + 1;
+        long slotCount = Math.min(currentTick - firstTick + 1, mask + 1L);
+        polledTick = currentTick;
+        for (long i = 0; i < slotCount && size > 0; i++) {
+            int slot = (int) (firstTick + i) & mask;
+            long[] slotTicks = ticks[slot];
+            Object[] slotElements = elements[slot];
+            int slotSize = sizes[slot];
+            int kept = 0;
+            for (int j = 0; j < slotSize; j++) {
+                if (slotTicks[j] <= currentTick) {
+                    due.add((T) slotElements[j]);
+                } else {
+                    slotTicks[kept] = slotTicks[j];
+                    slotElements[kept++] = slotElements[j];
+                }
+            }
+            if (kept < slotSize) {
+                Arrays.fill(slotElements, kept, slotSize, null);
+                sizes[slot] = kept;
+                size -= slotSize - kept;
+            }
+        }
+    }
+
+    /**
+     * Removes all scheduled elements.
+     */
+    void clear() {
+        for (int slot = 0; slot < sizes.length; slot++) {
+            if (sizes[slot] > 0) {
+                Arrays.fill(elements[slot], 0, sizes[slot], null);
+                sizes[slot] = 0;
+            }
+        }
+        size = 0;
+        polledTick = Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,309 @@
+package projekt.delivery.routing;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * A precomputed table of the durations of the shortest paths from every {@link Region.Restaurant} to every
+ * {@link Region.Neighborhood} of a {@link Region}.<p>
+ *
+ * The table is built with one search per {@link Region.Restaurant} on a {@link CompactGraph} snapshot, running the
+ * searches for different {@link Region.Restaurant}s in parallel. Afterwards, every duration can be queried in constant
+ * time. Since the edges of a {@link Region} are undirected, the durations are the same in both directions.<p>
+ *
+ * The table of a {@link VehicleManager} is shared via {@link #of(VehicleManager)} and only rebuilt if the
+ * {@link Region.Node}s or {@link Region.Edge}s of its {@link Region} change. A {@link TravelTimeMatrix} itself is
+ * immutable and can be used by multiple threads.
+ */
+public final class TravelTimeMatrix {
+
+    /**
+     * The duration stored for {@link Region.Neighborhood}s that cannot be reached from a {@link Region.Restaurant}.
+     */
+    private static final long UNREACHABLE = -1;
+
+    /**
+     * The largest amount of durations a table can hold. Some virtual machines cannot allocate arrays of
+     * {@link Integer#MAX_VALUE} elements.
+     */
+    private static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * The amount of batches of {@link Region.Restaurant}s per thread of the common pool. Each batch reuses one
+     * {@link CompactDijkstraPathCalculator}, and having more batches than threads evens out their durations.
+     */
+    private static final int BATCHES_PER_THREAD = 4;
+
+    /**
+     * The {@link TravelTimeMatrix} of every {@link VehicleManager}. The tables do not reference the
+     * {@link VehicleManager}, so they are removed together with it.
+     */
+    private static final Map<VehicleManager, TravelTimeMatrix> MATRICES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Region region;
+    /**
+     * The modification count of the {@link Region} if it is a {@link RegionImpl}, see
+     * {@link RegionImpl#getModificationCount()}.
+     */
+    private final int regionModificationCount;
+    private final int regionNodeCount;
+    private final int regionEdgeCount;
+    private final Region.Restaurant[] restaurants;
+    private final Region.Neighborhood[] neighborhoods;
+    private final Map<Region.Node, Integer> restaurantIndices;
+    private final Map<Region.Node, Integer> neighborhoodIndices;
+    /**
+     * The durations in row-major order, one row per restaurant.
+     */
+    private final long[] durations;
+
+    private TravelTimeMatrix(Region region) {
+        this.region = region;
+        regionModificationCount = region instanceof RegionImpl regionImpl ? regionImpl.getModificationCount() : -1;
+        regionNodeCount = region.getNodes().size();
+        regionEdgeCount = region.getEdges().size();
+
+        CompactGraph graph = CompactGraph.of(region);
+        restaurants = IntStream.range(0, graph.getNodeCount())
+            .mapToObj(graph::getNode)
+            .filter(Region.Restaurant.class::isInstance)
+            .toArray(Region.Restaurant[]::new);
+        neighborhoods = IntStream.range(0, graph.getNodeCount())
+            .mapToObj(graph::getNode)
+            .filter(Region.Neighborhood.class::isInstance)
+            .toArray(Region.Neighborhood[]::new);
+        restaurantIndices = createIndices(restaurants);
+        neighborhoodIndices = createIndices(neighborhoods);
+
+        int[] neighborhoodNodes = new int[neighborhoods.length];
+        for (int i = 0; i < neighborhoods.length; i++) {
+            neighborhoodNodes[i] = graph.indexOf(neighborhoods[i]);
+        }
+
+        durations = new long[requireSize(restaurants.length, neighborhoods.length)];
+        // every batch allocates its own path calculator, so no graph-sized arrays are left behind in the threads
+        int batchCount = Math.min(restaurants.length, BATCHES_PER_THREAD * ForkJoinPool.getCommonPoolParallelism());
+        IntStream.range(0, batchCount).parallel().forEach(batch -> {
+            CompactDijkstraPathCalculator pathCalculator = new CompactDijkstraPathCalculator(graph);
+            for (int restaurant = batch; restaurant < restaurants.length; restaurant += batchCount) {
+                ShortestPathTree tree = pathCalculator.getShortestPathTree(restaurants[restaurant]);
+                int row = restaurant * neighborhoods.length;
+                for (int neighborhood = 0; neighborhood < neighborhoods.length; neighborhood++) {
+                    Region.Node node = graph.getNode(neighborhoodNodes[neighborhood]);
+                    durations[row + neighborhood] = tree.isReachable(node) ? tree.getDuration(node) : UNREACHABLE;
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the amount of durations of a table with the given amount of rows and columns.
+     *
+     * @throws IllegalArgumentException If the table would be too large for an array.
+     */
+    static int requireSize(int restaurantCount, int neighborhoodCount) {
+        long size = Math.multiplyExact((long) restaurantCount, neighborhoodCount);
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException(
+                "A travel time matrix of %d restaurants and %d neighborhoods exceeds the maximum size of %d durations"
+                    .formatted(restaurantCount, neighborhoodCount, MAX_SIZE));
+        }
+        return (int) size;
+    }
+
+    /**
+     * Returns the position of the given row and column in {@link #durations}. Both are checked first, since the
+     * position of an invalid row or column could be a valid position.
+     */
+    private int positionOf(int restaurant, int neighborhood) {
+        Objects.checkIndex(restaurant, restaurants.length);
+        Objects.checkIndex(neighborhood, neighborhoods.length);
+        return restaurant * neighborhoods.length + neighborhood;
+    }
+
+    private static Map<Region.Node, Integer> createIndices(Region.Node[] nodes) {
+        Map<Region.Node, Integer> indices = new HashMap<>(nodes.length * 2);
+        for (int i = 0; i < nodes.length; i++) {
+            indices.put(nodes[i], i);
+        }
+        return indices;
+    }
+
+    /**
+     * Returns the {@link TravelTimeMatrix} of the given {@link VehicleManager}. The table is built on the first call and
+     * rebuilt if the {@link Region} has changed since then.
+     *
+     * @param vehicleManager The {@link VehicleManager}.
+     * @return The {@link TravelTimeMatrix} of the {@link Region} of the given {@link VehicleManager}.
+     */
+    public static TravelTimeMatrix of(VehicleManager vehicleManager) {
+        Region region = vehicleManager.getRegion();
+        TravelTimeMatrix matrix = MATRICES.get(vehicleManager);
+        if (matrix != null && matrix.isUpToDate(region)) {
+            return matrix;
+        }
+        // the table is built without holding the lock of MATRICES, so building the tables of different vehicle
+        // managers does not block each other. Concurrent callers may build the same table twice, which is harmless.
+        matrix = of(region);
+        MATRICES.put(vehicleManager, matrix);
+        return matrix;
+    }
+
+    /**
+     * Builds a new {@link TravelTimeMatrix} for the given {@link Region}.
+     *
+     * @param region The {@link Region}.
+     * @return The created {@link TravelTimeMatrix}.
+     */
+    public static TravelTimeMatrix of(Region region) {
+        return new TravelTimeMatrix(region);
+    }
+
+    /**
+     * Returns whether this {@link TravelTimeMatrix} was built for the given {@link Region} and the {@link Region} has
+     * not changed since then. Changes to a {@link RegionImpl} are detected by its modification count. Other
+     * {@link Region}s are assumed to be unchanged as long as they contain as many nodes and edges as before.
+     */
+    private boolean isUpToDate(Region region) {
+        if (this.region != region) {
+            return false;
+        }
+        if (region instanceof RegionImpl regionImpl) {
+            return regionModificationCount == regionImpl.getModificationCount();
+        }
+        return regionNodeCount == region.getNodes().size() && regionEdgeCount == region.getEdges().size();
+    }
+
+    /**
+     * Returns the {@link Region} this {@link TravelTimeMatrix} was built for.
+     *
+     * @return The {@link Region} this {@link TravelTimeMatrix} was built for.
+     */
+    public Region getRegion() {
+        return region;
+    }
+
+    /**
+     * Returns the amount of {@link Region.Restaurant}s, which is the amount of rows.
+     *
+     * @return The amount of {@link Region.Restaurant}s.
+     */
+    public int getRestaurantCount() {
+        return restaurants.length;
+    }
+
+    /**
+     * Returns the amount of {@link Region.Neighborhood}s, which is the amount of columns.
+     *
+     * @return The amount of {@link Region.Neighborhood}s.
+     */
+    public int getNeighborhoodCount() {
+        return neighborhoods.length;
+    }
+
+    /**
+     * Returns the {@link Region.Restaurant} of the given row.
+     *
+     * @param index The row.
+     * @return The {@link Region.Restaurant} of the given row.
+     */
+    public Region.Restaurant getRestaurant(int index) {
+        return restaurants[index];
+    }
+
+    /**
+     * Returns the {@link Region.Neighborhood} of the given column.
+     *
+     * @param index The column.
+     * @return The {@link Region.Neighborhood} of the given column.
+     */
+    public Region.Neighborhood getNeighborhood(int index) {
+        return neighborhoods[index];
+    }
+
+    /**
+     * Returns the row of the given {@link Region.Restaurant}.
+     *
+     * @param restaurant The {@link Region.Restaurant}.
+     * @return The row of the given {@link Region.Restaurant} or {@code -1} if it is not part of the {@link Region}.
+     */
+    public int indexOf(Region.Restaurant restaurant) {
+        return restaurantIndices.getOrDefault(restaurant, -1);
+    }
+
+    /**
+     * Returns the column of the given {@link Region.Neighborhood}.
+     *
+     * @param neighborhood The {@link Region.Neighborhood}.
+     * @return The column of the given {@link Region.Neighborhood} or {@code -1} if it is not part of the {@link Region}.
+     */
+    public int indexOf(Region.Neighborhood neighborhood) {
+        return neighborhoodIndices.getOrDefault(neighborhood, -1);
+    }
+
+    /**
+     * Checks whether the {@link Region.Neighborhood} of the given column can be reached from the
+     * {@link Region.Restaurant} of the given row.
+     *
+     * @param restaurant   The row of the {@link Region.Restaurant}.
+     * @param neighborhood The column of the {@link Region.Neighborhood}.
+     * @return {@code true} if there is a path between them.
+     */
+    public boolean isReachable(int restaurant, int neighborhood) {
+        return durations[positionOf(restaurant, neighborhood)] != UNREACHABLE;
+    }
+
+    /**
+     * Returns the duration of the shortest path between the {@link Region.Restaurant} of the given row and the
+     * {@link Region.Neighborhood} of the given column.
+     *
+     * @param restaurant   The row of the {@link Region.Restaurant}.
+     * @param neighborhood The column of the {@link Region.Neighborhood}.
+     * @return The duration of the shortest path.
+     * @throws IllegalArgumentException If there is no path between them.
+     */
+    public long getDuration(int restaurant, int neighborhood) {
+        long duration = durations[positionOf(restaurant, neighborhood)];
+        if (duration == UNREACHABLE) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(
+                restaurants[restaurant], neighborhoods[neighborhood]));
+        }
+        return duration;
+    }
+
+    /**
+     * Returns the duration of the shortest path between the given {@link Region.Restaurant} and
+     * {@link Region.Neighborhood}.
+     *
+     * @param restaurant   The {@link Region.Restaurant}.
+     * @param neighborhood The {@link Region.Neighborhood}.
+     * @return The duration of the shortest path.
+     * @throws IllegalArgumentException If one of them is not part of the {@link Region} or there is no path between them.
+     */
+    public long getDuration(Region.Restaurant restaurant, Region.Neighborhood neighborhood) {
+        int row = indexOf(restaurant);
+        int column = indexOf(neighborhood);
+        if (row < 0 || column < 0) {
+            throw new IllegalArgumentException("Nodes %s and %s must be part of the region".formatted(restaurant, neighborhood));
+        }
+        return getDuration(row, column);
+    }
+
+    /**
+     * Returns the duration of the shortest path between the given {@link VehicleManager.OccupiedRestaurant} and
+     * {@link VehicleManager.OccupiedNeighborhood}.
+     *
+     * @param restaurant   The {@link VehicleManager.OccupiedRestaurant}.
+     * @param neighborhood The {@link VehicleManager.OccupiedNeighborhood}.
+     * @return The duration of the shortest path.
+     * @throws IllegalArgumentException If one of them is not part of the {@link Region} or there is no path between them.
+     */
+    public long getDuration(VehicleManager.OccupiedRestaurant restaurant, VehicleManager.OccupiedNeighborhood neighborhood) {
+        return getDuration(restaurant.getComponent(), neighborhood.getComponent());
+    }
+}
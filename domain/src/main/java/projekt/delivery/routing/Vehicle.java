@@ -57,6 +57,8 @@ public interface Vehicle extends Comparable<Vehicle> {
     /**
      * Adds the provided {@link Region.Node} to the move queue.
      * As soon as the vehicle arrives at the specified node, {@code arrivalAction} is run.
+     * @throws IllegalArgumentException If the node is not {@link Region#isReachable(Region.Node, Region.Node) reachable}
+     * from the end of the move queue.
      */
     void moveQueued(Region.Node node, BiConsumer<? super Vehicle, Long> arrivalAction);
 
@@ -8,6 +8,12 @@ import java.util.function.BiConsumer;
 
 class VehicleImpl implements Vehicle {
 
+    /**
+     * The arrival action of moves without one. Executing it has no effect apart from ending the move of the tick.
+     */
+    private static final BiConsumer<? super Vehicle, Long> NO_ARRIVAL_ACTION = (vehicle, tick) -> {
+    };
+
     private final int id;
     private final double capacity;
     private final List<ConfirmedOrder> orders = new ArrayList<>();
@@ -48,6 +54,11 @@ class VehicleImpl implements Vehicle {
         this.occupied = occupied;
     }
 
+    @Override
+    public void moveDirect(Region.Node node) {
+        moveDirect(node, NO_ARRIVAL_ACTION);
+    }
+
     @Override
     public void moveDirect(Region.Node node, BiConsumer<? super Vehicle, Long> arrivalAction) { // H5.4
         if (node == occupied.getComponent()) {
@@ -73,12 +84,22 @@ class VehicleImpl implements Vehicle {
         moveQueued(node, arrivalAction);
     }
 
+    @Override
+    public void moveQueued(Region.Node node) {
+        moveQueued(node, NO_ARRIVAL_ACTION);
+    }
+
     @Override
     public void moveQueued(Region.Node node, BiConsumer<? super Vehicle, Long> arrivalAction) {  //H5.3
         checkMoveToNode(node);
 
         PathImpl lastPath = moveQueue.peek();
         Region.Node lastNode = lastPath != null ? moveQueue.getLast().nodes.getLast() : (NodeImpl) occupied.getComponent();
+        Region region = vehicleManager.getRegion();
+        // otherwise, checking reachability would search the region, and the path calculator rejects the node anyway
+        if (RegionImpl.knowsConnectedComponents(region) && !region.isReachable(lastNode, node)) {
+            throw new IllegalArgumentException("Vehicle " + getId() + " cannot reach node " + node + " from " + lastNode);
+        }
         PathImpl newPath = new PathImpl(vehicleManager.getPathCalculator().getPath(lastNode, node), arrivalAction);
         moveQueue.add(newPath);
     }
@@ -115,6 +136,53 @@ class VehicleImpl implements Vehicle {
         orders.clear();
     }
 
+    /**
+     * Returns whether this {@link VehicleImpl} has nothing left to do, i.e. its move queue is empty.
+     *
+     * @return {@code true} if this {@link VehicleImpl} has nothing left to do.
+     */
+    boolean isIdle() {
+        return moveQueue.isEmpty();
+    }
+
+    /**
+     * Returns whether moving this {@link VehicleImpl} would execute the arrival action of a path it has finished. The
+     * arrival action of moves without one is ignored, since it does not access any vehicle.
+     *
+     * @return {@code true} if an arrival action is due.
+     */
+    boolean hasDueArrivalAction() {
+        for (PathImpl path : moveQueue) {
+            if (!path.nodes().isEmpty()) {
+                return false;
+            } else if (path.arrivalAction() != null) {
+                return path.arrivalAction() != NO_ARRIVAL_ACTION;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the component this {@link VehicleImpl} is added to when it is moved next, without moving it.
+     *
+     * @return The next component or {@code null} if moving this {@link VehicleImpl} does not add it to another
+     *     component, because it has nothing left to do or an arrival action is due.
+     */
+    @Nullable AbstractOccupied<?> getNextOccupied() {
+        for (PathImpl path : moveQueue) {
+            if (!path.nodes().isEmpty()) {
+                Region.Node next = path.nodes().peek();
+                if (occupied instanceof OccupiedNodeImpl<?> occupiedNode) {
+                    return vehicleManager.getOccupied(vehicleManager.getRegion().getEdge(occupiedNode.getComponent(), next));
+                }
+                return vehicleManager.getOccupied(next);
+            } else if (path.arrivalAction() != null) {
+                return null;
+            }
+        }
+        return null;
+    }
+
     private void checkMoveToNode(Region.Node node) {
         if (occupied.component.equals(node) && moveQueue.isEmpty()) {
             throw new IllegalArgumentException("Vehicle " + getId() + " cannot move to own node " + node);
@@ -102,6 +102,20 @@ public interface VehicleManager {
      */
     List<Event> tick(long currentTick);
 
+    /**
+     * Returns the next tick at or after the given tick at which {@link #tick(long)} may do anything, i.e. move a
+     * {@link Vehicle} or return {@link Event}s. Ticking this {@link VehicleManager} at an earlier tick would not
+     * change anything, as long as no {@link Vehicle} is moved or spawned in the meantime.<p>
+     *
+     * The default implementation returns the given tick, so no tick is ever skipped.
+     *
+     * @param tick The current tick.
+     * @return The next tick that has to be executed or {@link Long#MAX_VALUE} if there is none.
+     */
+    default long getNextEventTick(long tick) {
+        return tick;
+    }
+
     /**
      * Resets this {@link VehicleManager} to its start state.
      */
@@ -203,6 +217,15 @@ public interface VehicleManager {
          */
         Builder pathCalculator(PathCalculator pathCalculator);
 
+        /**
+         * Sets the amount of districts the {@link Region} is split into to tick the {@link Vehicle}s of different
+         * districts in parallel. Ticking in parallel yields exactly the same {@link Event}s in the same order as ticking
+         * sequentially, which is the default.
+         * @param districtCount The amount of districts or 1 to tick sequentially.
+         * @return The current {@link Builder}.
+         */
+        Builder districtCount(int districtCount);
+
         /**
          * Adds a new {@link Vehicle} to the constructed {@link VehicleManager}.
          * @param startingLocation The starting {@link Location} of the new {@link Vehicle}.
@@ -11,6 +11,7 @@ class VehicleManagerBuilderImpl implements VehicleManager.Builder {
     private final List<VehicleBuilder> vehicles = new ArrayList<>();
     private Region region;
     private PathCalculator pathCalculator;
+    private int districtCount = 1;
 
     @Override
     public VehicleManager.Builder region(Region region) {
@@ -24,6 +25,15 @@ class VehicleManagerBuilderImpl implements VehicleManager.Builder {
         return this;
     }
 
+    @Override
+    public VehicleManager.Builder districtCount(int districtCount) {
+        if (districtCount <= 0) {
+            throw new IllegalArgumentException("District count must be positive");
+        }
+        this.districtCount = districtCount;
+        return this;
+    }
+
     @Override
     public VehicleManager.Builder addVehicle(
         Location startingLocation,
@@ -46,7 +56,7 @@ class VehicleManagerBuilderImpl implements VehicleManager.Builder {
     public VehicleManager build() {
         Objects.requireNonNull(region, "region");
         Objects.requireNonNull(pathCalculator, "pathCalculator");
-        VehicleManagerImpl vehicleManager = new VehicleManagerImpl(region, pathCalculator);
+        VehicleManagerImpl vehicleManager = new VehicleManagerImpl(region, pathCalculator, districtCount);
         for (VehicleBuilder vehicleBuilder : vehicles) {
             vehicleManager.addVehicle(vehicleBuilder.startingLocation, vehicleBuilder.capacity);
         }
@@ -1,5 +1,6 @@
 package projekt.delivery.routing;
 
+import org.jetbrains.annotations.Nullable;
 import projekt.base.Location;
 import projekt.delivery.event.Event;
 import projekt.delivery.event.EventBus;
@@ -11,6 +12,12 @@ import static org.tudalgo.algoutils.student.Student.crash;
 
 class VehicleManagerImpl implements VehicleManager {
 
+    /**
+     * The amount of slots of {@link #arrivals}. A vehicle on an edge that takes longer is looked at once per this
+     * amount of ticks until it is due.
+     */
+    private static final int ARRIVAL_SLOTS = 256;
+
     final Map<Region.Node, OccupiedNodeImpl<? extends Region.Node>> occupiedNodes;
     final Map<Region.Edge, OccupiedEdgeImpl> occupiedEdges;
     private final Region region;
@@ -19,15 +26,107 @@ class VehicleManagerImpl implements VehicleManager {
     private final List<VehicleImpl> vehicles = new ArrayList<>();
     private final Collection<Vehicle> unmodifiableVehicles = Collections.unmodifiableCollection(vehicles);
     private final EventBus eventBus = new EventBus();
+    /**
+     * The occupied nodes and edges in the order they are ticked.
+     */
+    private final OccupiedNodeImpl<?>[] tickedNodes;
+    private final OccupiedEdgeImpl[] tickedEdges;
+    /**
+     * The indices in {@link #tickedNodes} of all nodes that may hold vehicles. Only these nodes are ticked, all others
+     * would not do anything. If this manager ticks in parallel, the active nodes are tracked by the {@link #districts}
+     * and this set is only used to iterate over all of them in order.
+     */
+    private final BitSet activeNodes = new BitSet();
+    /**
+     * The vehicles on the edges, scheduled for the tick they reach the end of their edge. Edges are not ticked,
+     * instead only the vehicles that are due are moved. If this manager ticks in parallel, this only contains the
+     * vehicles on the edges between {@link #districts}.
+     */
+    private final TimingWheel<OccupiedEdgeImpl.Arrival> arrivals = new TimingWheel<>(ARRIVAL_SLOTS);
+    private final List<OccupiedEdgeImpl.Arrival> dueArrivals = new ArrayList<>();
+    /**
+     * The districts that are ticked in parallel, which is empty if this manager ticks sequentially.
+     */
+    private final List<TickDistrict> districts;
+    /**
+     * The district of the edges between {@link #districts} and the nodes at their ends, whose vehicles are moved by the
+     * thread calling {@link #tick(long)} after the {@link #districts} have been ticked. {@code null} if this manager
+     * ticks sequentially.
+     */
+    private final @Nullable TickDistrict boundary;
+    /**
+     * The {@link #districts} and the {@link #boundary}.
+     */
+    private final List<TickDistrict> allDistricts;
+    private final List<Event> mergedEvents = new ArrayList<>();
 
     VehicleManagerImpl(
         Region region,
         PathCalculator pathCalculator
+    ) {
+        this(region, pathCalculator, 1);
+    }
+
+    /**
+     * Creates a new {@link VehicleManagerImpl} that splits the given {@link Region} into the given amount of districts
+     * by a {@link RegionPartition} and ticks them in parallel. The results are the same as the ones of ticking
+     * sequentially.
+     *
+     * @param region The {@link Region} the vehicles move in.
+     * @param pathCalculator The {@link PathCalculator} the vehicles use.
+     * @param districtCount The amount of districts to tick in parallel or 1 to tick sequentially.
+     * @throws IllegalArgumentException If the amount of districts is not positive or larger than the amount of nodes.
+     */
+    VehicleManagerImpl(
+        Region region,
+        PathCalculator pathCalculator,
+        int districtCount
     ) {
         this.region = region;
         this.pathCalculator = pathCalculator;
         occupiedNodes = toOccupiedNodes(region.getNodes());
         occupiedEdges = toOccupiedEdges(region.getEdges());
+        tickedNodes = occupiedNodes.values().toArray(OccupiedNodeImpl<?>[]::new);
+        tickedEdges = occupiedEdges.values().toArray(OccupiedEdgeImpl[]::new);
+        if (districtCount == 1) {
+            for (int i = 0; i < tickedNodes.length; i++) {
+                tickedNodes[i].setActiveSet(activeNodes, i);
+            }
+            for (int i = 0; i < tickedEdges.length; i++) {
+                tickedEdges[i].setArrivals(arrivals, i);
+            }
+            districts = List.of();
+            boundary = null;
+            allDistricts = List.of();
+            return;
+        }
+        RegionPartition partition = RegionPartition.of(region, districtCount);
+        TickDistrict[] partitionDistricts = new TickDistrict[districtCount];
+        for (int district = 0; district < districtCount; district++) {
+            partitionDistricts[district] = new TickDistrict(tickedNodes, new TimingWheel<>(ARRIVAL_SLOTS));
+        }
+        boundary = new TickDistrict(tickedNodes, arrivals);
+        Set<Region.Node> boundaryNodes = new HashSet<>(partition.getBoundaryNodes());
+        for (int i = 0; i < tickedNodes.length; i++) {
+            Region.Node node = tickedNodes[i].getComponent();
+            TickDistrict district = partitionDistricts[partition.getDistrict(node)];
+            // the vehicles on boundary nodes are ticked by their district, but only added to them by the boundary
+            tickedNodes[i].setActiveSet(district.getActiveNodes(), i);
+            tickedNodes[i].setDistrict(boundaryNodes.contains(node) ? boundary : district);
+        }
+        for (int i = 0; i < tickedEdges.length; i++) {
+            Region.Edge edge = tickedEdges[i].getComponent();
+            int districtA = partition.getDistrict(edge.getNodeA());
+            TickDistrict district = districtA == partition.getDistrict(edge.getNodeB())
+                ? partitionDistricts[districtA]
+                : boundary;
+            tickedEdges[i].setArrivals(district.getArrivals(), i);
+            tickedEdges[i].setDistrict(district);
+        }
+        districts = List.of(partitionDistricts);
+        List<TickDistrict> allDistricts = new ArrayList<>(districts);
+        allDistricts.add(boundary);
+        this.allDistricts = List.copyOf(allDistricts);
     }
 
     private Map<Region.Node, OccupiedNodeImpl<? extends Region.Node>> toOccupiedNodes(Collection<Region.Node> nodes) { // TODO: H6.1 - remove if implemented
@@ -65,8 +164,14 @@ class VehicleManagerImpl implements VehicleManager {
     }
 
     private OccupiedNodeImpl<? extends Region.Node> getOccupiedNode(Location location) {
+        Region.Node node = region.getNode(location);
+        OccupiedNodeImpl<? extends Region.Node> occupied = node == null ? null : occupiedNodes.get(node);
+        if (occupied != null) {
+            return occupied;
+        }
+        // the region may have been changed after this manager was created
         return occupiedNodes.values().stream()
-            .filter(node -> node.getComponent().getLocation().equals(location))
+            .filter(occupiedNode -> occupiedNode.getComponent().getLocation().equals(location))
             .findFirst()
             .orElseThrow(() -> new IllegalArgumentException("Could not find node with given predicate"));
     }
@@ -177,21 +282,140 @@ class VehicleManagerImpl implements VehicleManager {
             spawnVehicle(vehicle, currentTick);
         }
         vehiclesToSpawn.clear();
+        // arrival actions may access any vehicle, so ticks that execute one are not split into districts
+        if (boundary != null && districts.stream().noneMatch(TickDistrict::hasDueArrivalAction)) {
+            tickInParallel(currentTick);
+        } else {
+            tickSequentially(currentTick);
+        }
+        return eventBus.popEvents(currentTick);
+    }
+
+    /**
+     * Ticks all active nodes and moves all vehicles that reach the end of their edge, one after another.
+     *
+     * @param currentTick The tick to execute.
+     */
+    private void tickSequentially(long currentTick) {
         // It is important that nodes are ticked before edges
         // This only works because edge ticking is idempotent
         // Otherwise, there may be two state changes in a single tick.
         // For example, a node tick may move a vehicle onto an edge.
         // Ticking this edge afterwards does not move the vehicle further along the edge
         // compared to a vehicle already on the edge.
-        occupiedNodes.values().forEach(occupiedNode -> occupiedNode.tick(currentTick));
-        occupiedEdges.values().forEach(occupiedEdge -> occupiedEdge.tick(currentTick));
-        return eventBus.popEvents(currentTick);
+        // Only the active nodes and the vehicles that reach the end of their edge are ticked, in the same order as
+        // ticking all nodes and edges would.
+        for (TickDistrict district : districts) {
+            activeNodes.or(district.getActiveNodes());
+        }
+        for (int i = activeNodes.nextSetBit(0); i >= 0; i = activeNodes.nextSetBit(i + 1)) {
+            tickedNodes[i].tick(currentTick);
+            if (tickedNodes[i].vehicles.isEmpty()) {
+                activeNodes.clear(i);
+            }
+        }
+        // ticking nodes does not add vehicles to nodes, so no district became active in the meantime
+        for (TickDistrict district : districts) {
+            district.getActiveNodes().and(activeNodes);
+        }
+        moveDueArrivals(currentTick);
+    }
+
+    /**
+     * Ticks the {@link #districts} in parallel. The moves the districts hand off are executed afterwards in the order
+     * of their keys, and the {@link Event}s of all districts are merged into the {@link EventBus} in the same order, so
+     * the result is exactly the same as the one of {@link #tickSequentially(long)}.
+     *
+     * @param currentTick The tick to execute.
+     */
+    private void tickInParallel(long currentTick) {
+        allDistricts.forEach(district -> district.setBuffering(true));
+        try {
+            districts.parallelStream().forEach(district -> district.tickNodes(currentTick));
+            TickDistrict.mergeHandOffs(districts, (vehicle, key) -> boundary.moveHandedOff(vehicle, key, currentTick));
+            postMergedEvents();
+
+            districts.parallelStream().forEach(district -> district.moveDueArrivals(currentTick));
+            boundary.handOffDueArrivals(currentTick);
+            TickDistrict.mergeHandedOffArrivals(
+                allDistricts,
+                (arrival, key) -> boundary.moveHandedOff(arrival, key, currentTick)
+            );
+            TickDistrict.mergeRescheduledArrivals(
+                allDistricts,
+                (arrival, key) -> arrival.edge().reschedule(arrival, currentTick + 1)
+            );
+            postMergedEvents();
+        } finally {
+            allDistricts.forEach(district -> district.setBuffering(false));
+        }
+    }
+
+    /**
+     * Posts the buffered {@link Event}s of all districts to the {@link EventBus} in the order of their keys.
+     */
+    private void postMergedEvents() {
+        TickDistrict.mergeEvents(allDistricts, (event, key) -> mergedEvents.add(event));
+        eventBus.queuePost(mergedEvents);
+        mergedEvents.clear();
+    }
+
+    @Override
+    public long getNextEventTick(long tick) {
+        if (!vehiclesToSpawn.isEmpty() || eventBus.hasQueuedEvents()) {
+            return tick;
+        }
+        // idle vehicles on nodes do not do anything until they are moved
+        for (TickDistrict district : districts) {
+            activeNodes.or(district.getActiveNodes());
+        }
+        for (int i = activeNodes.nextSetBit(0); i >= 0; i = activeNodes.nextSetBit(i + 1)) {
+            for (VehicleImpl vehicle : tickedNodes[i].vehicles.keySet()) {
+                if (!vehicle.isIdle()) {
+                    return tick;
+                }
+            }
+        }
+        long nextTick = arrivals.nextTick();
+        for (TickDistrict district : districts) {
+            nextTick = Math.min(nextTick, district.getArrivals().nextTick());
+        }
+        return Math.max(tick, nextTick);
+    }
+
+    /**
+     * Moves all vehicles that reach the end of their edge at the given tick, ordered by their edge like
+     * {@link OccupiedEdgeImpl#tick(long)} would. Vehicles that stay on their edge are scheduled for the next tick.
+     *
+     * @param currentTick The tick to execute.
+     */
+    private void moveDueArrivals(long currentTick) {
+        arrivals.poll(currentTick, dueArrivals);
+        for (TickDistrict district : districts) {
+            district.getArrivals().poll(currentTick, dueArrivals);
+        }
+        // the sort is stable, so vehicles on the same edge stay in the order they were scheduled
+        dueArrivals.sort(Comparator.comparingInt(arrival -> arrival.edge().getTickIndex()));
+        for (OccupiedEdgeImpl.Arrival arrival : dueArrivals) {
+            // arrivals of vehicles that left their edge in the meantime are skipped
+            if (arrival.isValid()) {
+                arrival.vehicle().move(currentTick);
+                if (arrival.isValid()) {
+                    arrival.edge().reschedule(arrival, currentTick + 1);
+                }
+            }
+        }
+        dueArrivals.clear();
     }
 
     public void reset() {
         for (AbstractOccupied<?> occupied : getAllOccupied()) {
             occupied.reset();
         }
+        arrivals.clear();
+        for (TickDistrict district : districts) {
+            district.getArrivals().clear();
+        }
 
         for (Vehicle vehicle : getAllVehicles()) {
             vehicle.reset();
@@ -3,6 +3,7 @@ package projekt.delivery.service;
 import projekt.delivery.event.Event;
 import projekt.delivery.event.OrderReceivedEvent;
 import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.TravelTimeMatrix;
 import projekt.delivery.routing.VehicleManager;
 
 import java.util.ArrayList;
@@ -47,11 +48,30 @@ public abstract class AbstractDeliveryService implements DeliveryService {
         return tick(currentTick, newOrders);
     }
 
+    /**
+     * Returns whether there are {@link ConfirmedOrder}s that were delivered but not yet passed to
+     * {@link #tick(long, List)}.
+     * @return True, if the next tick will receive new orders.
+     */
+    protected boolean hasUnprocessedOrders() {
+        synchronized (lock) {
+            return !unprocessedOrders.isEmpty();
+        }
+    }
+
     @Override
     public VehicleManager getVehicleManager() {
         return vehicleManager;
     }
 
+    /**
+     * Returns the shared {@link TravelTimeMatrix} of the {@link VehicleManager} of this {@link DeliveryService}.
+     * @return The {@link TravelTimeMatrix} of the {@link VehicleManager}.
+     */
+    protected TravelTimeMatrix getTravelTimeMatrix() {
+        return TravelTimeMatrix.of(vehicleManager);
+    }
+
     @Override
     public void reset() {
         unprocessedOrders.clear();
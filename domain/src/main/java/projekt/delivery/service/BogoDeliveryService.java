@@ -66,6 +66,12 @@ public class BogoDeliveryService extends AbstractDeliveryService {
         return events;
     }
 
+    @Override
+    public long getNextEventTick(long tick) {
+        // this service only reacts to new orders and to events of the vehicle manager
+        return hasUnprocessedOrders() ? tick : vehicleManager.getNextEventTick(tick);
+    }
+
     private void scheduleRandomMove(
         List<Event> events,
         Class<? extends VehicleEvent> eventType
@@ -30,6 +30,20 @@ public interface DeliveryService {
      */
     List<Event> tick(long currentTick);
 
+    /**
+     * Returns the next tick at or after the given tick at which {@link #tick(long)} may do anything, assuming that no
+     * {@link ConfirmedOrder}s are {@linkplain #deliver(List) delivered} in the meantime. Skipping the ticks before it
+     * does not change the result of a simulation.<p>
+     *
+     * The default implementation returns the given tick, so no tick is ever skipped.
+     *
+     * @param tick The current tick.
+     * @return The next tick that has to be executed or {@link Long#MAX_VALUE} if there is none.
+     */
+    default long getNextEventTick(long tick) {
+        return tick;
+    }
+
     /**
      * Returns the underlying {@link VehicleManager}.
      * @return The underlying {@link VehicleManager}.
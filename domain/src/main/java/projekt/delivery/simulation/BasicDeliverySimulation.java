@@ -57,6 +57,13 @@ public class BasicDeliverySimulation implements Simulation {
                 }
                 continue;
             }
+            if (simulationConfig.isSkipIdleTicks()) {
+                skipIdleTicks();
+                if (terminationRequested || simulationConfig.isPaused()
+                    || (simulationLength != -1 && currentTick >= simulationLength)) {
+                    continue;
+                }
+            }
             long tickStartTime = System.currentTimeMillis();
 
             runCurrentTick();
@@ -135,6 +142,35 @@ public class BasicDeliverySimulation implements Simulation {
         currentTick++;
     }
 
+    /**
+     * Advances the current tick to the next tick at which the {@link OrderGenerator} may generate orders or the
+     * {@link DeliveryService} may do anything. The {@link SimulationListener}s are notified of every skipped tick
+     * with an empty list of events, just like they would be if the tick was executed. Skipping stops early if the
+     * simulation is paused or terminated in the meantime.<p>
+     *
+     * If nothing is pending in an unbounded simulation, the next tick that does anything is unknown. No tick is
+     * skipped then, so the simulation keeps running one tick per {@link SimulationConfig#getMillisecondsPerTick()}
+     * until an order arrives instead of notifying the listeners as fast as possible.
+     */
+    private void skipIdleTicks() {
+        long nextTick = Math.min(
+            currentOrderGenerator.getNextOrderTick(currentTick),
+            deliveryService.getNextEventTick(currentTick)
+        );
+        if (simulationLength != -1) {
+            nextTick = Math.min(nextTick, simulationLength);
+        } else if (nextTick == Long.MAX_VALUE) {
+            return;
+        }
+        while (currentTick < nextTick && !terminationRequested && !simulationConfig.isPaused()) {
+            lastEvents = List.of();
+            for (SimulationListener listener : listeners) {
+                listener.onTick(lastEvents, currentTick);
+            }
+            currentTick++;
+        }
+    }
+
     @Override
     public void addListener(SimulationListener listener) {
         listeners.add(listener);
@@ -5,11 +5,12 @@ import java.util.concurrent.atomic.AtomicInteger;
 /**
  * A config for a {@link Simulation}.<p>
  *
- * It contains the length of a tick and whether the {@link Simulation} is paused.
+ * It contains the length of a tick, whether the {@link Simulation} is paused and whether it skips idle ticks.
  */
 public class SimulationConfig {
     private final AtomicInteger millisecondsPerTick;
     private volatile boolean paused = false;
+    private volatile boolean skipIdleTicks = false;
 
     /**
      * Creates a new {@link Simulation} instance.<p>
@@ -53,4 +54,26 @@ public class SimulationConfig {
     public void setPaused(boolean paused) {
         this.paused = paused;
     }
+
+    /**
+     * Returns True if the simulation skips idle ticks.
+     * @return True if the simulation skips idle ticks.
+     */
+    public boolean isSkipIdleTicks() {
+        return skipIdleTicks;
+    }
+
+    /**
+     * Changes whether the simulation skips idle ticks.<p>
+     *
+     * If enabled, the simulation asks its {@link projekt.delivery.generator.OrderGenerator} and
+     * {@link projekt.delivery.service.DeliveryService} for the next tick at which anything can happen and jumps
+     * straight to it, without waiting for the ticks in between. The {@link SimulationListener}s are still notified of
+     * every skipped tick with an empty list of events, so the result is the same as when executing every tick.
+     *
+     * @param skipIdleTicks The new skipping status.
+     */
+    public void setSkipIdleTicks(boolean skipIdleTicks) {
+        this.skipIdleTicks = skipIdleTicks;
+    }
 }
@@ -0,0 +1,77 @@
+package projekt.base;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocationMapUnitTests {
+
+    @Test
+    public void testPutGetRemove() {
+        Random random = new Random(13);
+        Map<Location, Integer> expected = new HashMap<>();
+        LocationMap<Integer> actual = new LocationMap<>();
+
+        for (int i = 0; i < 20000; i++) {
+            // wide coordinates that collide for Location#hashCode()
+            Location location = new Location(random.nextInt(64) * 100000, -random.nextInt(64));
+            switch (random.nextInt(3)) {
+                case 0, 1 -> assertEquals(expected.put(location, i), actual.put(location, i));
+                default -> assertEquals(expected.remove(location), actual.remove(location));
+            }
+            assertEquals(expected.size(), actual.size());
+        }
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+        assertEquals(expected.hashCode(), actual.hashCode());
+        for (Location location : expected.keySet()) {
+            assertEquals(expected.get(location), actual.get(location.getX(), location.getY()));
+            assertTrue(actual.containsKey(location.getX(), location.getY()));
+        }
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        Random random = new Random(13);
+        Map<Location, Integer> expected = new HashMap<>();
+        LocationMap<Integer> actual = new LocationMap<>();
+        for (int i = 0; i < 5000; i++) {
+            Location location = new Location(random.nextInt(200), random.nextInt(200));
+            expected.put(location, i);
+            actual.put(location, i);
+        }
+
+        int size = actual.size();
+        int visited = 0;
+        for (Iterator<Map.Entry<Location, Integer>> iterator = actual.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<Location, Integer> entry = iterator.next();
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+            visited++;
+            if (entry.getValue() % 2 == 0) {
+                iterator.remove();
+                expected.remove(entry.getKey());
+            }
+        }
+        assertEquals(size, visited);
+        assertEquals(expected, actual);
+        actual.values().removeIf(value -> value % 3 == 0);
+        expected.values().removeIf(value -> value % 3 == 0);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testLocationPool() {
+        LocationPool pool = new LocationPool();
+        Location location = pool.get(-3, 7);
+
+        assertSame(location, pool.get(-3, 7));
+        assertSame(location, pool.intern(new Location(-3, 7)));
+        assertEquals(new Location(-3, 7), location);
+        assertEquals(1, pool.size());
+    }
+}
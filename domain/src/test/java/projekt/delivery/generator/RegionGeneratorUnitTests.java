@@ -0,0 +1,79 @@
+package projekt.delivery.generator;
+
+import org.junit.jupiter.api.Test;
+import projekt.base.ManhattanDistanceCalculator;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.ShortestPathTree;
+import projekt.delivery.routing.CompactDijkstraPathCalculator;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegionGeneratorUnitTests {
+
+    @Test
+    public void testGenerate() {
+        for (RegionGenerator.Topology topology : RegionGenerator.Topology.values()) {
+            for (int nodeCount : new int[]{1, 2, 5, 1000}) {
+                RegionGenerator generator = RegionGenerator.builder()
+                    .setTopology(topology)
+                    .setNodeCount(nodeCount)
+                    .setNeighborhoodCount(nodeCount / 2)
+                    .setRestaurantCount(Math.min(1, nodeCount - nodeCount / 2))
+                    .setSeed(16)
+                    .build();
+                Region region = generator.generate();
+
+                assertEquals(nodeCount, region.getNodes().size());
+                assertEquals(nodeCount / 2, region.getNodes().stream().filter(Region.Neighborhood.class::isInstance).count());
+                assertEquals(Math.min(1, nodeCount - nodeCount / 2),
+                    region.getNodes().stream().filter(Region.Restaurant.class::isInstance).count());
+                Region.Node node = region.getNodes().iterator().next();
+                ShortestPathTree tree = new CompactDijkstraPathCalculator().getShortestPathTree(node);
+                assertEquals(nodeCount, tree.getReachableCount(), "%s region is not connected".formatted(topology));
+            }
+        }
+    }
+
+    @Test
+    public void testGenerateIsDeterministic() {
+        for (RegionGenerator.Topology topology : RegionGenerator.Topology.values()) {
+            RegionGenerator generator = RegionGenerator.builder()
+                .setTopology(topology)
+                .setNodeCount(500)
+                .setDistanceCalculator(new ManhattanDistanceCalculator())
+                .setSeed(16)
+                .build();
+            Region region = generator.generate();
+            Region other = generator.generate();
+
+            assertEquals(new HashSet<>(region.getNodes()), new HashSet<>(other.getNodes()));
+            assertEquals(new HashSet<>(region.getEdges()), new HashSet<>(other.getEdges()));
+        }
+    }
+
+    @Test
+    public void testRandomGeometricDegree() {
+        Region region = RegionGenerator.builder()
+            .setTopology(RegionGenerator.Topology.RANDOM_GEOMETRIC)
+            .setNodeCount(2000)
+            .setDegree(4)
+            .setSeed(16)
+            .build()
+            .generate();
+
+        Set<Region.Node> nodes = new HashSet<>(region.getNodes());
+        for (Region.Node node : nodes) {
+            assertTrue(node.getDegree() >= 4);
+        }
+    }
+
+    @Test
+    public void testBuildRejectsInvalidCounts() {
+        assertThrows(IllegalArgumentException.class, () -> RegionGenerator.builder()
+            .setNodeCount(10).setNeighborhoodCount(8).setRestaurantCount(3).build());
+        assertThrows(IllegalArgumentException.class, () -> RegionGenerator.builder().setSpacing(1).build());
+    }
+}
@@ -0,0 +1,69 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrozenRegionUnitTests {
+
+    @Test
+    public void testFreeze() {
+        Region region = PathCalculatorUnitTests.createRegion(15);
+        Region frozenRegion = region.freeze();
+
+        assertSame(frozenRegion, frozenRegion.freeze());
+        assertSame(region.getDistanceCalculator(), frozenRegion.getDistanceCalculator());
+        assertEquals(new HashSet<>(region.getNodes()), new HashSet<>(frozenRegion.getNodes()));
+        assertEquals(new HashSet<>(region.getEdges()), new HashSet<>(frozenRegion.getEdges()));
+
+        for (Region.Node node : region.getNodes()) {
+            Region.Node frozenNode = frozenRegion.getNode(node.getLocation());
+            assertEquals(node, frozenNode);
+            assertEquals(node.getId(), frozenNode.getId());
+            assertSame(frozenRegion, frozenNode.getRegion());
+            assertEquals(node.getClass(), frozenNode.getClass());
+            assertEquals(node.getAdjacentNodes(), frozenNode.getAdjacentNodes());
+            for (Region.Node adjacentNode : node.getAdjacentNodes()) {
+                Region.Edge frozenEdge = frozenRegion.getEdge(node.getLocation(), adjacentNode.getLocation());
+                assertEquals(region.getEdge(node.getLocation(), adjacentNode.getLocation()), frozenEdge);
+                assertSame(frozenRegion, frozenEdge.getRegion());
+                assertSame(frozenEdge, frozenNode.getEdge(frozenRegion.getNode(adjacentNode.getLocation())));
+            }
+        }
+        for (Region.Edge edge : frozenRegion.getEdges()) {
+            assertSame(frozenRegion.getNode(edge.getNodeA().getLocation()), edge.getNodeA());
+            assertEquals(region.getEdge(edge.getNodeA().getLocation(), edge.getNodeB().getLocation()).getId(), edge.getId());
+        }
+    }
+
+    @Test
+    public void testFrozenRegionIsImmutable() {
+        Region frozenRegion = PathCalculatorUnitTests.createRegion(15).freeze();
+        Region.Node node = frozenRegion.getNodes().iterator().next();
+
+        assertThrows(UnsupportedOperationException.class, () -> frozenRegion.getNodes().clear());
+        assertThrows(UnsupportedOperationException.class, () -> frozenRegion.getEdges().clear());
+        assertThrows(UnsupportedOperationException.class, () -> ((NodeImpl) node).getConnections().clear());
+        node.getAdjacentNodes().clear();
+        assertFalse(node.getAdjacentNodes().isEmpty());
+    }
+
+    @Test
+    public void testPathsInFrozenRegion() {
+        Region region = PathCalculatorUnitTests.createRegion(15);
+        Region frozenRegion = region.freeze();
+        PathCalculator pathCalculator = new DijkstraPathCalculator();
+        List<Region.Node> nodes = new ArrayList<>(region.getNodes());
+
+        for (int i = 0; i < nodes.size(); i += 7) {
+            Region.Node start = nodes.get(i);
+            Region.Node end = nodes.get((i * 31) % nodes.size());
+            assertEquals(pathCalculator.getDuration(start, end), pathCalculator.getDuration(
+                frozenRegion.getNode(start.getLocation()), frozenRegion.getNode(end.getLocation())));
+        }
+    }
+}
@@ -0,0 +1,532 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PathCalculatorUnitTests {
+
+    private static final int NODE_COUNT = 200;
+
+    /**
+     * Creates a connected random {@link Region} with {@link #NODE_COUNT} nodes, some of which are restaurants and
+     * neighborhoods.
+     */
+    static Region createRegion(long seed) {
+        Random random = new Random(seed);
+        Region.Builder builder = Region.builder().distanceCalculator(new EuclideanDistanceCalculator());
+        List<Location> locations = new ArrayList<>();
+        Set<Location> usedLocations = new HashSet<>();
+        while (locations.size() < NODE_COUNT) {
+            Location location = new Location(random.nextInt(200) - 100, random.nextInt(200) - 100);
+            if (usedLocations.add(location)) {
+                locations.add(location);
+                if (locations.size() % 20 == 0) {
+                    builder.addRestaurant("R" + locations.size(), location, List.of());
+                } else if (locations.size() % 4 == 1) {
+                    builder.addNeighborhood("H" + locations.size(), location);
+                } else {
+                    builder.addNode("N" + locations.size(), location);
+                }
+            }
+        }
+        int edgeCount = 0;
+        for (int i = 1; i < NODE_COUNT; i++) {
+            builder.addEdge("E" + edgeCount++, locations.get(i), locations.get(random.nextInt(i)));
+        }
+        for (int i = 0; i < NODE_COUNT; i++) {
+            Location locationA = locations.get(random.nextInt(NODE_COUNT));
+            Location locationB = locations.get(random.nextInt(NODE_COUNT));
+            if (!locationA.equals(locationB) && builder.checkEdge("E" + edgeCount, locationA, locationB)
+                && builder.checkEdge("E" + edgeCount, locationB, locationA)) {
+                builder.addEdge("E" + edgeCount++, locationA, locationB);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates the {@link Region} of {@link #createRegion(long)} with locations scaled by three, in which most edges are
+     * replaced by a chain of two additional nodes.
+     */
+    static Region createChainRegion(long seed) {
+        Region region = createRegion(seed);
+        Region.Builder builder = Region.builder().distanceCalculator(region.getDistanceCalculator());
+        for (Region.Node node : region.getNodes()) {
+            Location location = new Location(3 * node.getLocation().getX(), 3 * node.getLocation().getY());
+            if (node instanceof Region.Restaurant restaurant) {
+                builder.addRestaurant(node.getName(), location, restaurant.getAvailableFood());
+            } else if (node instanceof Region.Neighborhood) {
+                builder.addNeighborhood(node.getName(), location);
+            } else {
+                builder.addNode(node.getName(), location);
+            }
+        }
+        for (Region.Edge edge : region.getEdges()) {
+            Location a = edge.getNodeA().getLocation();
+            Location b = edge.getNodeB().getLocation();
+            Location locationA = new Location(3 * a.getX(), 3 * a.getY());
+            Location locationB = new Location(3 * b.getX(), 3 * b.getY());
+            Location first = new Location(2 * a.getX() + b.getX(), 2 * a.getY() + b.getY());
+            Location second = new Location(a.getX() + 2 * b.getX(), a.getY() + 2 * b.getY());
+            if (builder.checkNode(edge.getName() + "a", first)
+                && builder.checkNode(edge.getName() + "b", second)) {
+                builder.addNode(edge.getName() + "a", first)
+                    .addNode(edge.getName() + "b", second)
+                    .addEdge(edge.getName(), locationA, first)
+                    .addEdge(edge.getName() + "ab", first, second)
+                    .addEdge(edge.getName() + "bB", second, locationB);
+            } else {
+                builder.addEdge(edge.getName(), locationA, locationB);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the duration of the given path, asserting that consecutive nodes are connected.
+     */
+    static long getDuration(Region.Node start, Deque<Region.Node> path) {
+        long duration = 0;
+        Region.Node current = start;
+        for (Region.Node node : path) {
+            Region.Edge edge = current.getEdge(node);
+            assertNotNull(edge, "The path contains the unconnected nodes %s and %s".formatted(current, node));
+            duration += edge.getDuration();
+            current = node;
+        }
+        return duration;
+    }
+
+    /**
+     * Asserts that the given {@link PathCalculator} finds paths as short as the ones of {@link DijkstraPathCalculator}.
+     */
+    static void assertShortestPaths(PathCalculator pathCalculator, long seed) {
+        assertShortestPaths(pathCalculator, createRegion(seed), seed);
+    }
+
+    /**
+     * Asserts that the given {@link PathCalculator} finds paths in the given {@link Region} as short as the ones of
+     * {@link DijkstraPathCalculator}.
+     */
+    static void assertShortestPaths(PathCalculator pathCalculator, Region region, long seed) {
+        List<Region.Node> nodes = new ArrayList<>(region.getNodes());
+        PathCalculator expectedPathCalculator = new DijkstraPathCalculator();
+        Random random = new Random(seed);
+
+        for (int i = 0; i < 100; i++) {
+            Region.Node start = nodes.get(random.nextInt(nodes.size()));
+            Region.Node end = nodes.get(random.nextInt(nodes.size()));
+            Deque<Region.Node> path = pathCalculator.getPath(start, end);
+
+            if (start.equals(end)) {
+                assertTrue(path.isEmpty());
+            } else {
+                assertEquals(end, path.getLast());
+            }
+            assertEquals(getDuration(start, expectedPathCalculator.getPath(start, end)), getDuration(start, path));
+        }
+    }
+
+    @Test
+    public void testCompactDijkstraGetPath() {
+        for (long seed = 0; seed < 5; seed++) {
+            assertShortestPaths(new CompactDijkstraPathCalculator(), seed);
+        }
+    }
+
+    @Test
+    public void testCompactDijkstraGetAllPathsTo() {
+        Region region = createRegion(0);
+        Region.Node end = region.getNodes().iterator().next();
+        Map<Region.Node, Deque<Region.Node>> expected = new DijkstraPathCalculator().getAllPathsTo(end);
+        Map<Region.Node, Deque<Region.Node>> actual = new CompactDijkstraPathCalculator().getAllPathsTo(end);
+
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Region.Node start : region.getNodes()) {
+            assertEquals(getDuration(start, expected.get(start)), getDuration(start, actual.get(start)));
+        }
+    }
+
+    @Test
+    public void testRadixHeapGetPath() {
+        for (long seed = 0; seed < 5; seed++) {
+            assertShortestPaths(new RadixHeapPathCalculator(), seed);
+        }
+    }
+
+    @Test
+    public void testBidirectionalDijkstraGetPath() {
+        for (long seed = 0; seed < 5; seed++) {
+            assertShortestPaths(new BidirectionalDijkstraPathCalculator(), seed);
+        }
+    }
+
+    @Test
+    public void testAStarGetPath() {
+        for (long seed = 0; seed < 5; seed++) {
+            assertShortestPaths(new AStarPathCalculator(), seed);
+        }
+    }
+
+    @Test
+    public void testLandmarkGetPath() {
+        for (long seed = 0; seed < 5; seed++) {
+            assertShortestPaths(new LandmarkPathCalculator(4), seed);
+        }
+    }
+
+    @Test
+    public void testLandmarksOf() {
+        CompactGraph graph = CompactGraph.of(createRegion(0));
+        Landmarks landmarks = Landmarks.select(graph, 4);
+        Map<Region.Node, long[]> durations = new HashMap<>();
+        for (int node = 0; node < graph.getNodeCount(); node++) {
+            durations.put(graph.getNode(node), landmarks.getDurations(graph.getNode(node)));
+        }
+        Landmarks copy = Landmarks.of(graph, landmarks.getLandmarks(), durations);
+
+        assertEquals(4, landmarks.getLandmarks().stream().distinct().count());
+        assertEquals(landmarks.getLandmarks(), copy.getLandmarks());
+        for (Region.Node landmark : landmarks.getLandmarks()) {
+            assertArrayEquals(landmarks.getDurations(landmark), copy.getDurations(landmark));
+        }
+        durations.remove(graph.getNode(0));
+        assertThrows(IllegalArgumentException.class, () -> Landmarks.of(graph, landmarks.getLandmarks(), durations));
+    }
+
+    @Test
+    public void testContractionHierarchyGetPath() {
+        for (long seed = 0; seed < 5; seed++) {
+            assertShortestPaths(new ContractionHierarchyPathCalculator(), seed);
+        }
+    }
+
+    @Test
+    public void testChainContractionGetPath() {
+        for (long seed = 0; seed < 5; seed++) {
+            assertShortestPaths(new ChainContractionPathCalculator(), seed);
+            assertShortestPaths(new ChainContractionPathCalculator(), createChainRegion(seed), seed);
+        }
+    }
+
+    @Test
+    public void testChainContraction() {
+        Region region = createChainRegion(0);
+        ChainContraction contraction = ChainContraction.of(CompactGraph.of(region));
+        CompactGraph graph = contraction.getGraph();
+
+        assertTrue(contraction.getCoreNodeCount() < graph.getNodeCount() / 2);
+        for (int node = 0; node < graph.getNodeCount(); node++) {
+            Region.Node regionNode = graph.getNode(node);
+            if (regionNode instanceof Region.Restaurant || regionNode instanceof Region.Neighborhood
+                || regionNode.getAdjacentNodes().size() != 2) {
+                assertTrue(contraction.isCore(node));
+            }
+        }
+
+        ChainContractionPathCalculator pathCalculator = new ChainContractionPathCalculator(contraction);
+        PathCalculator expectedPathCalculator = new CompactDijkstraPathCalculator();
+        List<Region.Node> nodes = new ArrayList<>(region.getNodes());
+        Random random = new Random(0);
+        for (int i = 0; i < 10; i++) {
+            Region.Node end = nodes.get(random.nextInt(nodes.size()));
+            ShortestPathTree tree = pathCalculator.getShortestPathTree(end);
+            Region.Node[] starts = nodes.toArray(Region.Node[]::new);
+            long[] durations = tree.getDurations(starts);
+            assertArrayEquals(expectedPathCalculator.getDurationsTo(end, starts), durations);
+            for (int j = 0; j < starts.length; j++) {
+                assertEquals(getDuration(starts[j], tree.getPath(starts[j])), durations[j]);
+            }
+        }
+    }
+
+    @Test
+    public void testDijkstraGetPathInGrowingRegion() {
+        RegionImpl region = new RegionImpl();
+        Location a = new Location(0, 0);
+        Location b = new Location(10, 0);
+        Location c = new Location(5, 1);
+        NodeImpl nodeA = new NodeImpl(region, "A", a, Set.of(b, c));
+        NodeImpl nodeB = new NodeImpl(region, "B", b, Set.of(a, c));
+        NodeImpl nodeC = new NodeImpl(region, "C", c, Set.of(a, b));
+        region.putNode(nodeA);
+        region.putNode(nodeB);
+        region.putNode(nodeC);
+        region.putEdge(new EdgeImpl(region, "AB", a, b, 10));
+        PathCalculator pathCalculator = new DijkstraPathCalculator();
+
+        assertEquals(List.of(nodeB), List.copyOf(pathCalculator.getPath(nodeA, nodeB)));
+        assertThrows(IllegalArgumentException.class, () -> pathCalculator.getPath(nodeA, nodeC));
+
+        // the neighbors resolved by the nodes must not outlive the edges added afterwards
+        region.putEdge(new EdgeImpl(region, "AC", a, c, 1));
+        region.putEdge(new EdgeImpl(region, "CB", c, b, 1));
+        assertEquals(List.of(nodeC, nodeB), List.copyOf(pathCalculator.getPath(nodeA, nodeB)));
+        assertEquals(2, pathCalculator.getDuration(nodeA, nodeB));
+    }
+
+    @Test
+    public void testShortestPathTree() {
+        Region region = createRegion(0);
+        Region.Node end = region.getNodes().iterator().next();
+        PathCalculator pathCalculator = new DijkstraPathCalculator();
+        Map<Region.Node, Deque<Region.Node>> paths = pathCalculator.getAllPathsTo(end);
+
+        for (ShortestPathTree tree : List.of(pathCalculator.getShortestPathTree(end),
+            new CompactDijkstraPathCalculator().getShortestPathTree(end), ShortestPathTree.of(end, paths))) {
+            assertEquals(end, tree.getEnd());
+            assertEquals(region.getNodes().size(), tree.getReachableCount());
+            assertEquals(paths.keySet(), tree.asMap().keySet());
+            for (Region.Node start : region.getNodes()) {
+                long expected = getDuration(start, paths.get(start));
+                assertEquals(expected, tree.getDuration(start));
+                assertEquals(expected, getDuration(start, tree.getPath(start)));
+                assertEquals(List.copyOf(tree.getPath(start)), List.copyOf(tree.asMap().get(start)));
+            }
+        }
+    }
+
+    @Test
+    public void testCachedPathCalculatorSharesShortestPathTrees() {
+        Region region = createRegion(0);
+        Region.Node end = region.getNodes().iterator().next();
+        CachedPathCalculator pathCalculator = new CachedPathCalculator(new DijkstraPathCalculator());
+        ShortestPathTree tree = pathCalculator.getShortestPathTree(end);
+
+        assertSame(tree, pathCalculator.getShortestPathTree(end));
+        for (Region.Node start : region.getNodes()) {
+            Deque<Region.Node> path = pathCalculator.getPath(start, end);
+            path.clear();
+            assertEquals(tree.getDuration(start), getDuration(start, pathCalculator.getPath(start, end)));
+        }
+    }
+
+    @Test
+    public void testConcurrentCachedPathCalculatorLoadsOnce() throws InterruptedException {
+        Region region = createRegion(0);
+        Region.Node end = region.getNodes().iterator().next();
+        AtomicInteger loads = new AtomicInteger();
+        ConcurrentCachedPathCalculator pathCalculator = new ConcurrentCachedPathCalculator(() -> new DijkstraPathCalculator() {
+            @Override
+            public ShortestPathTree getShortestPathTree(Region.Node end) {
+                loads.incrementAndGet();
+                return super.getShortestPathTree(end);
+            }
+        }, 16, Long.MAX_VALUE);
+
+        List<Thread> threads = new ArrayList<>();
+        Set<ShortestPathTree> trees = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> trees.add(pathCalculator.getShortestPathTree(end))));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, trees.size());
+        ConcurrentCachedPathCalculator.Stats stats = pathCalculator.getStats();
+        assertEquals(1, stats.missCount());
+        assertEquals(7, stats.hitCount());
+        assertEquals(1, stats.size());
+    }
+
+    @Test
+    public void testConcurrentCachedPathCalculatorEviction() {
+        Region region = createRegion(0);
+        List<Region.Node> nodes = new ArrayList<>(region.getNodes());
+        long memoryUsage = new DijkstraPathCalculator().getShortestPathTree(nodes.get(0)).getMemoryUsage();
+        ConcurrentCachedPathCalculator sizeBounded = new ConcurrentCachedPathCalculator(new DijkstraPathCalculator(), 2, Long.MAX_VALUE);
+        ConcurrentCachedPathCalculator memoryBounded = new ConcurrentCachedPathCalculator(new DijkstraPathCalculator(), 16, 2 * memoryUsage);
+
+        for (ConcurrentCachedPathCalculator pathCalculator : List.of(sizeBounded, memoryBounded)) {
+            ShortestPathTree tree = pathCalculator.getShortestPathTree(nodes.get(0));
+            pathCalculator.getShortestPathTree(nodes.get(1));
+            // refresh the first node, so the second one is evicted
+            assertSame(tree, pathCalculator.getShortestPathTree(nodes.get(0)));
+            pathCalculator.getShortestPathTree(nodes.get(2));
+            assertSame(tree, pathCalculator.getShortestPathTree(nodes.get(0)));
+
+            ConcurrentCachedPathCalculator.Stats stats = pathCalculator.getStats();
+            assertEquals(2, stats.size());
+            assertEquals(1, stats.evictionCount());
+            assertEquals(3, stats.missCount());
+            assertEquals(2 * memoryUsage, stats.memoryUsage());
+            pathCalculator.getShortestPathTree(nodes.get(1));
+            assertEquals(4, pathCalculator.getStats().missCount());
+        }
+    }
+
+    @Test
+    public void testGetDuration() {
+        Region region = createRegion(1);
+        List<Region.Node> nodes = new ArrayList<>(region.getNodes());
+        PathCalculator expectedPathCalculator = new DijkstraPathCalculator();
+        List<PathCalculator> pathCalculators = List.of(
+            new DijkstraPathCalculator(),
+            new CompactDijkstraPathCalculator(),
+            new RadixHeapPathCalculator(),
+            new BidirectionalDijkstraPathCalculator(),
+            new AStarPathCalculator(),
+            new LandmarkPathCalculator(),
+            new ContractionHierarchyPathCalculator(),
+            new ChainContractionPathCalculator(),
+            new CachedPathCalculator(new DijkstraPathCalculator()),
+            new ConcurrentCachedPathCalculator(new DijkstraPathCalculator())
+        );
+        Random random = new Random(1);
+
+        for (int i = 0; i < 50; i++) {
+            Region.Node start = nodes.get(random.nextInt(nodes.size()));
+            Region.Node end = nodes.get(random.nextInt(nodes.size()));
+            long expected = getDuration(start, expectedPathCalculator.getPath(start, end));
+            for (PathCalculator pathCalculator : pathCalculators) {
+                assertEquals(expected, pathCalculator.getDuration(start, end));
+                assertArrayEquals(new long[]{expected, 0}, pathCalculator.getDurationsTo(end, start, end));
+            }
+        }
+    }
+
+    @Test
+    public void testTravelTimeMatrix() {
+        Region region = createRegion(2);
+        VehicleManager vehicleManager = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new DijkstraPathCalculator())
+            .build();
+        TravelTimeMatrix matrix = TravelTimeMatrix.of(vehicleManager);
+        PathCalculator pathCalculator = new DijkstraPathCalculator();
+
+        assertSame(matrix, TravelTimeMatrix.of(vehicleManager));
+        assertEquals(vehicleManager.getOccupiedRestaurants().size(), matrix.getRestaurantCount());
+        assertEquals(vehicleManager.getOccupiedNeighborhoods().size(), matrix.getNeighborhoodCount());
+        for (VehicleManager.OccupiedRestaurant restaurant : vehicleManager.getOccupiedRestaurants()) {
+            for (VehicleManager.OccupiedNeighborhood neighborhood : vehicleManager.getOccupiedNeighborhoods()) {
+                assertEquals(pathCalculator.getDuration(restaurant.getComponent(), neighborhood.getComponent()),
+                    matrix.getDuration(restaurant, neighborhood));
+            }
+        }
+
+        // replacing a node does not change the amount of nodes, but the table must be rebuilt nevertheless
+        ((RegionImpl) region).putNode((NodeImpl) region.getNodes().iterator().next());
+        TravelTimeMatrix rebuiltMatrix = TravelTimeMatrix.of(vehicleManager);
+        assertNotSame(matrix, rebuiltMatrix);
+        assertSame(rebuiltMatrix, TravelTimeMatrix.of(vehicleManager));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> matrix.isReachable(1, matrix.getNeighborhoodCount()));
+        assertThrows(IndexOutOfBoundsException.class, () -> matrix.getDuration(-1, 0));
+        assertEquals(6, TravelTimeMatrix.requireSize(2, 3));
+        assertThrows(IllegalArgumentException.class, () -> TravelTimeMatrix.requireSize(50_000, 50_000));
+    }
+
+    @Test
+    public void testComponentIds() {
+        Region region = createRegion(11);
+        CompactGraph graph = CompactGraph.of(region);
+
+        for (Region.Node node : region.getNodes()) {
+            assertSame(node, graph.getNode(node.getId()));
+            assertEquals(graph.indexOf(node), node.getId());
+            NodeImpl nodeImpl = (NodeImpl) node;
+            assertEquals(Objects.hash(nodeImpl.getName(), nodeImpl.getLocation(), nodeImpl.getConnections()),
+                node.hashCode());
+        }
+        List<Region.Edge> edges = new ArrayList<>(region.getEdges());
+        edges.sort(null);
+        for (int i = 0; i < edges.size(); i++) {
+            assertEquals(i, edges.get(i).getId());
+        }
+
+        Region.Node node = region.getNodes().iterator().next();
+        NodeImpl copy = new NodeImpl(region, node.getName(), node.getLocation(), ((NodeImpl) node).getConnections());
+        assertEquals(-1, copy.getId());
+        assertEquals(node.hashCode(), copy.hashCode());
+        assertEquals(node, copy);
+        assertEquals(node.getId(), graph.indexOf(copy));
+    }
+
+    @Test
+    public void testAdjacency() {
+        Region region = createRegion(12);
+
+        for (Region.Node node : region.getNodes()) {
+            NodeImpl copy = new NodeImpl(region, node.getName(), node.getLocation(), ((NodeImpl) node).getConnections());
+            assertEquals(copy.getAdjacentNodes(), node.getAdjacentNodes());
+            assertEquals(copy.getAdjacentEdges(), node.getAdjacentEdges());
+            assertEquals(copy.getDegree(), node.getDegree());
+            assertEquals(node.getAdjacentEdges().size(), node.getDegree());
+            for (int i = 0; i < node.getDegree(); i++) {
+                Region.Node adjacentNode = node.getAdjacentNode(i);
+                Region.Edge adjacentEdge = node.getAdjacentEdge(i);
+                assertSame(adjacentEdge, node.getEdge(adjacentNode));
+                assertSame(adjacentNode, copy.getAdjacentNode(i));
+                assertSame(adjacentEdge, copy.getAdjacentEdge(i));
+                if (i > 0) {
+                    assertTrue(node.getAdjacentNode(i - 1).compareTo(adjacentNode) < 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testIsReachable() {
+        // two paths 0 - 1 - 2 and 3 - 4 and a single node 5 without edges
+        Region.Builder builder = Region.builder().distanceCalculator(new EuclideanDistanceCalculator());
+        Region.BulkBuilder bulkBuilder = Region.bulkBuilder().distanceCalculator(new EuclideanDistanceCalculator());
+        for (int i = 0; i < 6; i++) {
+            builder.addNode("N" + i, new Location(i, 0));
+            bulkBuilder.addNode("N" + i, new Location(i, 0));
+        }
+        for (int i : new int[]{0, 1, 3}) {
+            builder.addEdge("E" + i, new Location(i, 0), new Location(i + 1, 0));
+            bulkBuilder.addEdge("E" + i, new Location(i, 0), new Location(i + 1, 0));
+        }
+        Region region = builder.build();
+        RegionImpl unlinkedRegion = new RegionImpl(new EuclideanDistanceCalculator());
+        for (Region.Node node : region.getNodes()) {
+            unlinkedRegion.putNode(new NodeImpl(unlinkedRegion, node.getName(), node.getLocation(),
+                ((NodeImpl) node).getConnections()));
+        }
+        for (Region.Edge edge : region.getEdges()) {
+            unlinkedRegion.putEdge(new EdgeImpl(unlinkedRegion, edge.getName(), edge.getNodeA().getLocation(),
+                edge.getNodeB().getLocation(), edge.getDuration()));
+        }
+
+        int[] components = {0, 0, 0, 1, 1, 2};
+        for (Region r : List.of(region, bulkBuilder.build(), region.freeze(), unlinkedRegion)) {
+            for (int a = 0; a < 6; a++) {
+                Region.Node nodeA = Objects.requireNonNull(r.getNode(new Location(a, 0)));
+                for (int b = 0; b < 6; b++) {
+                    Region.Node nodeB = Objects.requireNonNull(r.getNode(new Location(b, 0)));
+                    assertEquals(components[a] == components[b], r.isReachable(nodeA, nodeB));
+                }
+            }
+            Region.Node node = Objects.requireNonNull(r.getNode(new Location(0, 0)));
+            Region.Node otherNode = new NodeImpl(r, "N6", new Location(6, 0), Set.of());
+            assertThrows(IllegalArgumentException.class, () -> r.isReachable(node, otherNode));
+            assertThrows(IllegalArgumentException.class, () -> r.isReachable(otherNode, node));
+
+            Region.Node unreachableNode = Objects.requireNonNull(r.getNode(new Location(4, 0)));
+            DijkstraPathCalculator pathCalculator = new DijkstraPathCalculator();
+            assertThrows(IllegalArgumentException.class, () -> pathCalculator.getPath(node, unreachableNode));
+            assertThrows(IllegalArgumentException.class, () -> pathCalculator.getDuration(unreachableNode, node));
+            assertEquals(2, pathCalculator.getPath(node, r.getNode(new Location(2, 0))).size());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.delivery.generator.RegionGenerator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegionBulkBuilderUnitTests {
+
+    @Test
+    public void testBulkBuilderMatchesBuilder() {
+        for (RegionGenerator.Topology topology : RegionGenerator.Topology.values()) {
+            RegionGenerator generator = RegionGenerator.builder().setTopology(topology).setNodeCount(200).setSeed(7).build();
+            Region.Builder builder = Region.builder();
+            generator.generate(builder);
+            Region region = builder.build();
+            Region bulkRegion = generator.generate();
+
+            assertEquals(region, bulkRegion);
+            assertEquals(region.hashCode(), bulkRegion.hashCode());
+            assertEquals(new ArrayList<>(region.getEdges()), new ArrayList<>(bulkRegion.getEdges()));
+            for (Region.Node node : region.getNodes()) {
+                Region.Node bulkNode = bulkRegion.getNode(node.getLocation());
+                assertEquals(node.getId(), bulkNode.getId());
+                assertEquals(node.getClass(), bulkNode.getClass());
+                assertSame(bulkRegion, bulkNode.getRegion());
+                assertEquals(node.getDegree(), bulkNode.getDegree());
+                for (int i = 0; i < node.getDegree(); i++) {
+                    assertEquals(node.getAdjacentEdge(i), bulkNode.getAdjacentEdge(i));
+                    assertEquals(node.getAdjacentEdge(i).getId(), bulkNode.getAdjacentEdge(i).getId());
+                    assertSame(bulkRegion.getEdge(node.getLocation(), node.getAdjacentNode(i).getLocation()),
+                        bulkNode.getAdjacentEdge(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnsortedInput() {
+        List<Location> locations = new ArrayList<>();
+        for (int x = 0; x < 5; x++) {
+            for (int y = -2; y < 3; y++) {
+                locations.add(new Location(x * 10, y * 10));
+            }
+        }
+        Collections.shuffle(locations, new Random(3));
+
+        Region.Builder builder = Region.builder().distanceCalculator(new EuclideanDistanceCalculator());
+        Region.BulkBuilder bulkBuilder = Region.bulkBuilder().distanceCalculator(new EuclideanDistanceCalculator());
+        for (int i = 0; i < locations.size(); i++) {
+            builder.addNeighborhood("H" + i, locations.get(i));
+            bulkBuilder.addNeighborhood("H" + i, locations.get(i));
+        }
+        for (int i = locations.size() - 1; i > 0; i--) {
+            builder.addEdge("E" + i, locations.get(i), locations.get(i / 2));
+            bulkBuilder.addEdge("E" + i, locations.get(i), locations.get(i / 2));
+        }
+        Region region = builder.build();
+        Region bulkRegion = bulkBuilder.build();
+
+        assertEquals(region, bulkRegion);
+        assertEquals(new ArrayList<>(region.getEdges()), new ArrayList<>(bulkRegion.getEdges()));
+        for (Region.Edge edge : region.getEdges()) {
+            assertEquals(edge.getId(), bulkRegion.getEdge(edge.getNodeA().getLocation(), edge.getNodeB().getLocation()).getId());
+        }
+    }
+
+    @Test
+    public void testValidation() {
+        Location a = new Location(0, 0);
+        Location b = new Location(0, 1);
+        Location c = new Location(1, -1);
+
+        assertThrows(IllegalArgumentException.class, () -> createBuilder(a, b).addNode("N0", c).build());
+        assertThrows(IllegalArgumentException.class, () -> createBuilder(a, b).addNode("N2", b).build());
+        assertThrows(IllegalArgumentException.class, () -> createBuilder(a, b).addEdge("N0", a, b).build());
+        assertThrows(IllegalArgumentException.class, () -> createBuilder(a, b).addEdge("E0", a, c).build());
+        assertThrows(IllegalArgumentException.class,
+            () -> createBuilder(a, b).addEdge("E0", a, b).addEdge("E1", b, a).build());
+        assertThrows(NullPointerException.class, () -> Region.bulkBuilder().build());
+
+        Region region = createBuilder(a, b).addEdge("E0", b, a).build();
+        Region.Edge edge = region.getEdge(a, b);
+        assertNotNull(edge);
+        assertSame(region.getNode(a), edge.getNodeA());
+        assertSame(edge, region.getNode(b).getEdge(region.getNode(a)));
+        assertEquals(1, edge.getDuration());
+    }
+
+    private static Region.BulkBuilder createBuilder(Location a, Location b) {
+        return Region.bulkBuilder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addNode("N0", a)
+            .addNode("N1", b);
+    }
+}
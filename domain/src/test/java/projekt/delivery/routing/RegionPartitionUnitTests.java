@@ -0,0 +1,109 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Test;
+import projekt.delivery.generator.RegionGenerator;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegionPartitionUnitTests {
+
+    @Test
+    public void testPartition() {
+        for (RegionGenerator.Topology topology : RegionGenerator.Topology.values()) {
+            Region region = RegionGenerator.builder().setTopology(topology).setNodeCount(500).setSeed(2).build().generate();
+            CompactGraph graph = CompactGraph.of(region);
+            for (int districtCount : new int[]{1, 2, 5, 8}) {
+                RegionPartition partition = RegionPartition.of(graph, districtCount);
+                int[] districts = partition.getDistricts();
+
+                assertEquals(districtCount, partition.getDistrictCount());
+                assertEquals(graph.getNodeCount(), districts.length);
+                int[] sizes = new int[districtCount];
+                for (int node = 0; node < districts.length; node++) {
+                    assertEquals(districts[node], partition.getDistrict(graph.getNode(node)));
+                    assertEquals(node, graph.getNode(node).getId());
+                    sizes[districts[node]]++;
+                }
+                for (int district = 0; district < districtCount; district++) {
+                    assertEquals(sizes[district], partition.getDistrictSize(district));
+                    assertTrue(sizes[district] > 0);
+                    assertConnected(graph, districts, district);
+                }
+                assertBoundary(graph, partition);
+            }
+        }
+    }
+
+    @Test
+    public void testBalancedGrid() {
+        Region region = RegionGenerator.builder().setNodeCount(900).build().generate();
+        RegionPartition partition = RegionPartition.of(region, 9);
+
+        for (int district = 0; district < 9; district++) {
+            assertTrue(Math.abs(partition.getDistrictSize(district) - 100) <= 3);
+        }
+        assertTrue(partition.getCutEdges().size() < region.getEdges().size() / 10);
+        assertThrows(IllegalArgumentException.class, () -> RegionPartition.of(region, 0));
+        assertThrows(IllegalArgumentException.class, () -> RegionPartition.of(region, 901));
+    }
+
+    private static void assertConnected(CompactGraph graph, int[] districts, int district) {
+        int start = 0;
+        while (districts[start] != district) {
+            start++;
+        }
+        boolean[] visited = new boolean[districts.length];
+        int[] stack = new int[districts.length];
+        int size = 0;
+        int visitedCount = 1;
+        stack[size++] = start;
+        visited[start] = true;
+        while (size > 0) {
+            int node = stack[--size];
+            for (int arc = graph.getFirstArc(node); arc < graph.getFirstArc(node + 1); arc++) {
+                int target = graph.getTarget(arc);
+                if (!visited[target] && districts[target] == district) {
+                    visited[target] = true;
+                    visitedCount++;
+                    stack[size++] = target;
+                }
+            }
+        }
+        int districtSize = 0;
+        for (int node : districts) {
+            if (node == district) {
+                districtSize++;
+            }
+        }
+        assertEquals(districtSize, visitedCount);
+    }
+
+    private static void assertBoundary(CompactGraph graph, RegionPartition partition) {
+        Set<Region.Node> expectedBoundary = new HashSet<>();
+        for (Region.Edge edge : partition.getCutEdges()) {
+            assertNotEquals(partition.getDistrict(edge.getNodeA()), partition.getDistrict(edge.getNodeB()));
+            expectedBoundary.add(edge.getNodeA());
+            expectedBoundary.add(edge.getNodeB());
+        }
+        List<Region.Node> boundary = partition.getBoundaryNodes();
+        assertEquals(expectedBoundary, new HashSet<>(boundary));
+        assertEquals(expectedBoundary.size(), boundary.size());
+
+        int cutEdges = 0;
+        for (Region.Edge edge : graph.getRegion().getEdges()) {
+            if (partition.getDistrict(edge.getNodeA()) != partition.getDistrict(edge.getNodeB())) {
+                cutEdges++;
+            }
+        }
+        assertEquals(cutEdges, partition.getCutEdges().size());
+        for (int district = 0; district < partition.getDistrictCount(); district++) {
+            for (Region.Node node : partition.getBoundaryNodes(district)) {
+                assertEquals(district, partition.getDistrict(node));
+            }
+        }
+    }
+}
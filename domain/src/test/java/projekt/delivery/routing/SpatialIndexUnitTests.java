@@ -0,0 +1,94 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Test;
+import projekt.base.DistanceCalculator;
+import projekt.base.Location;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpatialIndexUnitTests {
+
+    @Test
+    public void testGetNearestNodes() {
+        Region region = PathCalculatorUnitTests.createRegion(14);
+        SpatialIndex index = SpatialIndex.of(region);
+        Random random = new Random(14);
+
+        for (int i = 0; i < 200; i++) {
+            // also query locations far outside of the region
+            Location location = new Location(random.nextInt(600) - 300, random.nextInt(600) - 300);
+            int k = random.nextInt(10);
+            assertEquals(getNearestNodes(region, location).subList(0, k), index.getNearestNodes(location, k));
+        }
+        assertSame(getNearestNodes(region, new Location(5, 5)).get(0), index.getNearestNode(new Location(5, 5)));
+        assertEquals(region.getNodes().size(), index.getNearestNodes(new Location(0, 0), 1000).size());
+    }
+
+    @Test
+    public void testGetNearestNodeWithFilter() {
+        Region region = PathCalculatorUnitTests.createRegion(14);
+        SpatialIndex index = SpatialIndex.of(region);
+        Location location = new Location(17, -42);
+
+        Region.Node expected = getNearestNodes(region, location).stream()
+            .filter(Region.Neighborhood.class::isInstance)
+            .findFirst()
+            .orElseThrow();
+        assertSame(expected, index.getNearestNode(location, Region.Neighborhood.class::isInstance));
+    }
+
+    @Test
+    public void testGetNodesWithin() {
+        Region region = PathCalculatorUnitTests.createRegion(14);
+        SpatialIndex index = SpatialIndex.of(region);
+        DistanceCalculator distanceCalculator = region.getDistanceCalculator();
+        Random random = new Random(14);
+
+        for (int i = 0; i < 200; i++) {
+            Location location = new Location(random.nextInt(300) - 150, random.nextInt(300) - 150);
+            double radius = random.nextDouble() * 60;
+            List<Region.Node> expected = getNearestNodes(region, location).stream()
+                .filter(node -> distanceCalculator.calculateDistance(location, node.getLocation()) <= radius)
+                .toList();
+            assertEquals(expected, index.getNodesWithin(location, radius));
+        }
+    }
+
+    @Test
+    public void testGetNodesIn() {
+        Region region = PathCalculatorUnitTests.createRegion(14);
+        SpatialIndex index = SpatialIndex.of(region);
+        Random random = new Random(14);
+
+        for (int i = 0; i < 200; i++) {
+            Location corner = new Location(random.nextInt(300) - 150, random.nextInt(300) - 150);
+            Location oppositeCorner = new Location(random.nextInt(300) - 150, random.nextInt(300) - 150);
+            List<Region.Node> expected = region.getNodes().stream()
+                .filter(node -> node.getLocation().getX() >= Math.min(corner.getX(), oppositeCorner.getX())
+                    && node.getLocation().getX() <= Math.max(corner.getX(), oppositeCorner.getX())
+                    && node.getLocation().getY() >= Math.min(corner.getY(), oppositeCorner.getY())
+                    && node.getLocation().getY() <= Math.max(corner.getY(), oppositeCorner.getY()))
+                .sorted()
+                .toList();
+            List<Region.Node> actual = new ArrayList<>(index.getNodesIn(corner, oppositeCorner));
+            actual.sort(null);
+            assertEquals(expected, actual);
+        }
+    }
+
+    /**
+     * Returns all nodes of the given region sorted by their distance to the given location.
+     */
+    private static List<Region.Node> getNearestNodes(Region region, Location location) {
+        DistanceCalculator distanceCalculator = region.getDistanceCalculator();
+        return region.getNodes().stream()
+            .sorted(Comparator.<Region.Node>comparingDouble(
+                node -> distanceCalculator.calculateDistance(location, node.getLocation())).thenComparing(node -> node))
+            .toList();
+    }
+}
@@ -0,0 +1,71 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelUnitTests {
+
+    @Test
+    public void testPoll() {
+        Random random = new Random(4);
+        TimingWheel<Integer> wheel = new TimingWheel<>(16);
+        List<Long> ticks = new ArrayList<>();
+        List<Integer> due = new ArrayList<>();
+        long tick = 0;
+        for (int round = 0; round < 1000; round++) {
+            for (int i = random.nextInt(4); i > 0; i--) {
+                ticks.add(tick + 1 + random.nextInt(random.nextBoolean() ? 8 : 100));
+                wheel.schedule(ticks.get(ticks.size() - 1), ticks.size() - 1);
+            }
+            long previousTick = tick;
+            // skip ticks from time to time, sometimes more than one revolution
+            tick += random.nextInt(10) == 0 ? 1 + random.nextInt(40) : 1;
+            wheel.poll(tick, due);
+            for (int element : due) {
+                assertTrue(ticks.get(element) > previousTick && ticks.get(element) <= tick);
+                ticks.set(element, null);
+            }
+            due.clear();
+        }
+        for (Long scheduledTick : ticks) {
+            assertTrue(scheduledTick == null || scheduledTick > tick);
+        }
+        assertEquals(ticks.stream().filter(t -> t != null).count(), wheel.size());
+    }
+
+    @Test
+    public void testScheduleOverdue() {
+        TimingWheel<String> wheel = new TimingWheel<>(4);
+        wheel.schedule(3, "a");
+        wheel.schedule(0, "b");
+        List<String> due = new ArrayList<>();
+        wheel.poll(10, due);
+        assertEquals(Set.of("a", "b"), Set.copyOf(due));
+        assertEquals(2, due.size());
+        assertTrue(wheel.isEmpty());
+
+        due.clear();
+        wheel.schedule(5, "c");
+        wheel.schedule(12, "d");
+        wheel.poll(10, due);
+        assertTrue(due.isEmpty());
+        wheel.poll(11, due);
+        assertEquals(List.of("c"), due);
+        wheel.poll(12, due);
+        assertEquals(List.of("c", "d"), due);
+
+        wheel.schedule(20, "e");
+        wheel.schedule(14, "f");
+        assertEquals(14, wheel.nextTick());
+        wheel.clear();
+        assertTrue(wheel.isEmpty());
+        assertEquals(Long.MAX_VALUE, wheel.nextTick());
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(6));
+    }
+}
@@ -0,0 +1,93 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Test;
+import projekt.delivery.event.Event;
+import projekt.delivery.generator.RegionGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VehicleManagerUnitTests {
+
+    @Test
+    public void testParallelTick() {
+        Region region = RegionGenerator.builder().setNodeCount(400).setSeed(3).build().generate();
+        List<List<String>> sequential = simulate(region, 1, false);
+        assertEquals(sequential, simulate(region, 4, false));
+        assertEquals(sequential, simulate(region, 7, false));
+        assertThrows(IllegalArgumentException.class, () -> VehicleManager.builder().districtCount(0));
+    }
+
+    @Test
+    public void testTickActiveComponents() {
+        Region region = RegionGenerator.builder().setNodeCount(400).setSeed(3).build().generate();
+        assertEquals(simulate(region, 1, true), simulate(region, 1, false));
+    }
+
+    /**
+     * Moves vehicles to random nodes, sometimes with arrival actions, and returns the events of every tick in the order
+     * they were posted. If {@code tickAllComponents} is set, every tick after the first one ticks all occupied nodes
+     * and edges instead of calling {@link VehicleManager#tick(long)}.
+     */
+    private static List<List<String>> simulate(Region region, int districtCount, boolean tickAllComponents) {
+        List<Region.Node> nodes = new ArrayList<>(region.getNodes());
+        nodes.sort(null);
+        List<Region.Node> restaurants = nodes.stream().filter(Region.Restaurant.class::isInstance).toList();
+        VehicleManager.Builder builder = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CachedPathCalculator(new DijkstraPathCalculator()))
+            .districtCount(districtCount);
+        for (int i = 0; i < 60; i++) {
+            builder.addVehicle(restaurants.get(i % restaurants.size()).getLocation(), 1);
+        }
+        VehicleManager vehicleManager = builder.build();
+        Random random = new Random(6);
+        List<List<String>> ticks = new ArrayList<>();
+        for (long tick = 0; tick < 300; tick++) {
+            List<Vehicle> vehicles = new ArrayList<>(vehicleManager.getVehicles());
+            vehicles.sort(null);
+            for (Vehicle vehicle : vehicles) {
+                Region.Node target = nodes.get(random.nextInt(nodes.size()));
+                if (!vehicle.getPaths().isEmpty() || vehicle.getOccupied().getComponent() == target) {
+                    continue;
+                }
+                if (random.nextInt(5) == 0) {
+                    vehicle.moveQueued(target, (arrived, arrivalTick) -> {
+                        Region.Node next = nodes.get((int) ((arrivalTick * 31 + arrived.getId()) % nodes.size()));
+                        if (next != arrived.getOccupied().getComponent()) {
+                            arrived.moveQueued(next);
+                        }
+                    });
+                } else {
+                    vehicle.moveQueued(target);
+                }
+            }
+            List<String> events = new ArrayList<>();
+            List<Event> tickEvents = tickAllComponents && tick > 0
+                ? tickAllComponents(vehicleManager, tick)
+                : vehicleManager.tick(tick);
+            for (Event event : tickEvents) {
+                events.add(event.toString());
+            }
+            ticks.add(events);
+        }
+        return ticks;
+    }
+
+    /**
+     * Ticks every occupied node and then every occupied edge of the given {@link VehicleManager}, including the ones
+     * that do not hold any vehicles, and returns the posted events.
+     */
+    private static List<Event> tickAllComponents(VehicleManager vehicleManager, long tick) {
+        for (VehicleManager.Occupied<? extends Region.Node> occupiedNode : vehicleManager.getOccupiedNodes()) {
+            occupiedNode.tick(tick);
+        }
+        for (VehicleManager.Occupied<? extends Region.Edge> occupiedEdge : vehicleManager.getOccupiedEdges()) {
+            occupiedEdge.tick(tick);
+        }
+        return vehicleManager.getEventBus().popEvents(tick);
+    }
+}
@@ -0,0 +1,187 @@
+package projekt.delivery.simulation;
+
+import org.junit.jupiter.api.Test;
+import projekt.base.TickInterval;
+import projekt.delivery.event.Event;
+import projekt.delivery.event.VehicleEvent;
+import projekt.delivery.generator.EmptyOrderGenerator;
+import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.generator.RegionGenerator;
+import projekt.delivery.routing.CachedPathCalculator;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.DijkstraPathCalculator;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.Vehicle;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.service.AbstractDeliveryService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BasicDeliverySimulationUnitTests {
+
+    private static final int ORDER_INTERVAL = 40;
+    private static final long SIMULATION_LENGTH = 600;
+    private static final int MILLISECONDS_PER_TICK = 20;
+
+    @Test
+    public void testSkipIdleTicks() {
+        List<String> ticks = simulate(false);
+        List<String> skippedTicks = simulate(true);
+
+        assertEquals(SIMULATION_LENGTH, ticks.size());
+        assertEquals(ticks, skippedTicks);
+        assertTrue(ticks.stream().anyMatch(tick -> tick.contains("Arrived")));
+    }
+
+    @Test
+    public void testSkipIdleTicksWithoutPendingEvents() {
+        SimulationConfig simulationConfig = new SimulationConfig(MILLISECONDS_PER_TICK);
+        simulationConfig.setSkipIdleTicks(true);
+        Simulation simulation = new BasicDeliverySimulation(simulationConfig, Map.of(),
+            new RoundTripDeliveryService(createVehicleManager()), new EmptyOrderGenerator.Factory());
+        List<Long> ticks = new ArrayList<>();
+        simulation.addListener((events, tick) -> {
+            ticks.add(tick);
+            if (ticks.size() == 5) {
+                simulation.endSimulation();
+            }
+        });
+
+        long start = System.nanoTime();
+        simulation.runSimulation();
+        long elapsedMilliseconds = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), ticks);
+        // nothing is pending in the unbounded simulation, so every tick is executed and waited for
+        assertTrue(elapsedMilliseconds >= 4L * MILLISECONDS_PER_TICK);
+    }
+
+    /**
+     * Runs a simulation in which every vehicle that is assigned an order drives to the customer and back to its
+     * restaurant, and returns the tick number and events passed to the listener for every tick. Orders have ids
+     * that differ between simulations, so events are described by their type, tick and vehicle.
+     */
+    private static List<String> simulate(boolean skipIdleTicks) {
+        VehicleManager vehicleManager = createVehicleManager();
+        List<Region.Node> nodes = new ArrayList<>(vehicleManager.getRegion().getNodes());
+        nodes.sort(null);
+
+        SimulationConfig simulationConfig = new SimulationConfig(0);
+        simulationConfig.setSkipIdleTicks(skipIdleTicks);
+        Simulation simulation = new BasicDeliverySimulation(simulationConfig, Map.of(),
+            new RoundTripDeliveryService(vehicleManager), () -> new PeriodicOrderGenerator(vehicleManager, nodes));
+        List<String> ticks = new ArrayList<>();
+        simulation.addListener((events, tick) -> {
+            StringBuilder description = new StringBuilder().append(tick);
+            for (Event event : events) {
+                description.append(' ').append(event.getClass().getSimpleName()).append('@').append(event.getTick());
+                if (event instanceof VehicleEvent vehicleEvent) {
+                    description.append('#').append(vehicleEvent.getVehicle().getId());
+                }
+            }
+            ticks.add(description.toString());
+        });
+        simulation.runSimulation(SIMULATION_LENGTH);
+        return ticks;
+    }
+
+    /**
+     * Creates a {@link VehicleManager} with ten vehicles starting at the restaurants of a generated {@link Region}.
+     */
+    private static VehicleManager createVehicleManager() {
+        Region region = RegionGenerator.builder().setNodeCount(200).setSeed(5).build().generate();
+        List<Region.Node> nodes = new ArrayList<>(region.getNodes());
+        nodes.sort(null);
+        List<Region.Node> restaurants = nodes.stream().filter(Region.Restaurant.class::isInstance).toList();
+        VehicleManager.Builder builder = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CachedPathCalculator(new DijkstraPathCalculator()));
+        for (int i = 0; i < 10; i++) {
+            builder.addVehicle(restaurants.get(i % restaurants.size()).getLocation(), 10);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Generates a few orders every {@link #ORDER_INTERVAL} ticks, so that most ticks are idle.
+     */
+    private static class PeriodicOrderGenerator implements OrderGenerator {
+
+        private final List<VehicleManager.OccupiedRestaurant> restaurants = new ArrayList<>();
+        private final List<Region.Node> nodes;
+
+        PeriodicOrderGenerator(VehicleManager vehicleManager, List<Region.Node> nodes) {
+            this.nodes = nodes;
+            for (Region.Node node : nodes) {
+                if (node instanceof Region.Restaurant) {
+                    restaurants.add(vehicleManager.getOccupiedRestaurant(node));
+                }
+            }
+        }
+
+        @Override
+        public List<ConfirmedOrder> generateOrders(long tick) {
+            if (tick % ORDER_INTERVAL != 1) {
+                return List.of();
+            }
+            Random random = new Random(tick);
+            List<ConfirmedOrder> orders = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Region.Node node = nodes.get(random.nextInt(nodes.size()));
+                VehicleManager.OccupiedRestaurant restaurant = restaurants.get(random.nextInt(restaurants.size()));
+                orders.add(new ConfirmedOrder(node.getLocation(), restaurant, new TickInterval(tick, tick + 100),
+                    List.of(), 1));
+            }
+            return orders;
+        }
+
+        @Override
+        public long getNextOrderTick(long tick) {
+            long next = tick - Math.floorMod(tick - 1, ORDER_INTERVAL);
+            return next < tick ? next + ORDER_INTERVAL : next;
+        }
+    }
+
+    /**
+     * Sends an idle vehicle to the location of every new order and back to the node it started from.
+     */
+    private static class RoundTripDeliveryService extends AbstractDeliveryService {
+
+        RoundTripDeliveryService(VehicleManager vehicleManager) {
+            super(vehicleManager);
+        }
+
+        @Override
+        protected List<Event> tick(long currentTick, List<ConfirmedOrder> newOrders) {
+            List<Event> events = vehicleManager.tick(currentTick);
+            List<Vehicle> vehicles = new ArrayList<>(vehicleManager.getVehicles());
+            vehicles.sort(null);
+            for (ConfirmedOrder order : newOrders) {
+                Region.Node target = vehicleManager.getRegion().getNode(order.getLocation());
+                for (Vehicle vehicle : vehicles) {
+                    Region.Node start = vehicle.getOccupied().getComponent() instanceof Region.Node node ? node : null;
+                    if (vehicle.getPaths().isEmpty() && start != null && start != target) {
+                        vehicle.moveQueued(target, (arrived, tick) -> arrived.moveQueued(start));
+                        break;
+                    }
+                }
+            }
+            return events;
+        }
+
+        @Override
+        public long getNextEventTick(long tick) {
+            return hasUnprocessedOrders() ? tick : vehicleManager.getNextEventTick(tick);
+        }
+
+        @Override
+        public List<ConfirmedOrder> getPendingOrders() {
+            return List.of();
+        }
+    }
+}
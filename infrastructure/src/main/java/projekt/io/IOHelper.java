@@ -1,6 +1,10 @@
 package projekt.io;
 
 import projekt.delivery.archetype.ProblemArchetype;
+import projekt.delivery.routing.CompactGraph;
+import projekt.delivery.routing.LandmarkPathCalculator;
+import projekt.delivery.routing.Landmarks;
+import projekt.delivery.routing.Region;
 
 import java.io.*;
 import java.nio.file.Path;
@@ -12,6 +16,7 @@ import java.util.*;
 public class IOHelper {
 
     public static final File PROBLEMS_DIR = Path.of(System.getProperty("user.dir"), "projekt", "gui", "problems").toFile();
+    public static final File LANDMARKS_DIR = Path.of(System.getProperty("user.dir"), "projekt", "gui", "landmarks").toFile();
 
     /**
      * Copies the {@link ProblemArchetype} presets from the resource directory into the build directory.
@@ -64,8 +69,11 @@ public class IOHelper {
         List<ProblemArchetype> problems = new ArrayList<>();
 
         for (File file : files) {
+            // the files are named after their problems, see writeProblem
+            String name = file.getName().replaceFirst("\\.txt$", "");
             try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-                problems.add(ProblemArchetypeIO.readProblemArchetype(reader));
+                problems.add(ProblemArchetypeIO.readProblemArchetype(reader,
+                    region -> readOrCreateLandmarks(name, region, LandmarkPathCalculator.DEFAULT_LANDMARK_COUNT)));
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -98,4 +106,60 @@ public class IOHelper {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Returns the {@link Landmarks} of the given {@link ProblemArchetype}.<p>
+     * <p>
+     * The {@link Landmarks} are read from the text file with the name of the {@link ProblemArchetype} in the landmarks
+     * build directory (build/run/projekt/gui/landmarks). If the file does not exist, does not match the {@link Region}
+     * of the {@link ProblemArchetype} or contains a different amount of landmarks, new {@link Landmarks} are selected
+     * and written into the file.
+     *
+     * @param problem The {@link ProblemArchetype} to return the {@link Landmarks} of.
+     * @param count   The amount of landmarks.
+     * @return The {@link Landmarks} of the {@link Region} of the given {@link ProblemArchetype}.
+     */
+    public static Landmarks readOrCreateLandmarks(ProblemArchetype problem, int count) {
+        return readOrCreateLandmarks(problem.name(), problem.vehicleManager().getRegion(), count);
+    }
+
+    /**
+     * Returns the {@link Landmarks} of the given {@link Region} that are stored in the text file with the given name in
+     * the landmarks build directory (build/run/projekt/gui/landmarks).
+     *
+     * @param name   The name of the {@link ProblemArchetype} the {@link Region} belongs to.
+     * @param region The {@link Region} to return the {@link Landmarks} of.
+     * @param count  The amount of landmarks.
+     * @return The {@link Landmarks} of the given {@link Region}.
+     * @see #readOrCreateLandmarks(ProblemArchetype, int)
+     */
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    public static Landmarks readOrCreateLandmarks(String name, Region region, int count) {
+        File file = Path.of(LANDMARKS_DIR.getPath(), name + ".txt").toFile();
+
+        if (file.exists()) {
+            try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+                Landmarks landmarks = LandmarksIO.readLandmarks(reader, region);
+                if (landmarks.getCount() == Math.min(count, region.getNodes().size())) {
+                    return landmarks;
+                }
+            } catch (IOException | RuntimeException ignored) {
+                // the file is outdated, so the landmarks are selected again
+            }
+        }
+
+        Landmarks landmarks = Landmarks.select(CompactGraph.of(region), count);
+
+        if (!LANDMARKS_DIR.exists()) {
+            LANDMARKS_DIR.mkdirs();
+        }
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            LandmarksIO.writeLandmarks(writer, landmarks);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        return landmarks;
+    }
 }
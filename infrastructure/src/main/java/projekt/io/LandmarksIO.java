@@ -0,0 +1,153 @@
+package projekt.io;
+
+import projekt.base.Location;
+import projekt.delivery.routing.CompactGraph;
+import projekt.delivery.routing.Landmarks;
+import projekt.delivery.routing.Region;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class LandmarksIO {
+
+    /**
+     * Reads {@link Landmarks} written by {@link #writeLandmarks(BufferedWriter, Landmarks)} for the given
+     * {@link Region}.<p>
+     *
+     * The file contains a fingerprint of the {@link Region.Node}s and {@link Region.Edge}s, including the durations of
+     * the edges, of the {@link Region} the {@link Landmarks} were calculated for. Stored durations that do not belong
+     * to the given {@link Region} could overestimate the remaining durations and make the
+     * {@link projekt.delivery.routing.LandmarkPathCalculator} return paths that are not the shortest ones, so a file
+     * with a different fingerprint is rejected.
+     *
+     * @param reader The reader to read the {@link Landmarks} from.
+     * @param region The {@link Region} the {@link Landmarks} belong to.
+     * @return The read {@link Landmarks}.
+     * @throws RuntimeException If the input is malformed or the {@link Landmarks} were calculated for a different
+     *                          {@link Region}.
+     */
+    public static Landmarks readLandmarks(BufferedReader reader, Region region) {
+        CompactGraph graph = CompactGraph.of(region);
+        List<Region.Node> landmarks = new ArrayList<>();
+        Map<Region.Node, long[]> durations = new HashMap<>();
+
+        try {
+            String line = reader.readLine();
+
+            if (!"START LANDMARKS".equals(line)) {
+                throw new RuntimeException("input does not start with \"START LANDMARKS\"");
+            }
+
+            line = reader.readLine();
+            if (line == null || !line.startsWith("F ")) {
+                throw new RuntimeException("input does not contain the fingerprint of the region");
+            }
+            if (Long.parseUnsignedLong(line.substring(2), 16) != fingerprint(region)) {
+                throw new RuntimeException("landmarks were calculated for a different region");
+            }
+
+            while (!Objects.equals(line = reader.readLine(), "END LANDMARKS")) {
+
+                if (line == null) {
+                    throw new RuntimeException("input does not end with \"END LANDMARKS\"");
+                } else if (line.startsWith("L ")) {
+                    String[] serializedLocation = line.substring(2).split(",", 2);
+                    landmarks.add(parseNode(region, serializedLocation[0], serializedLocation[1]));
+                } else if (line.startsWith("D ")) {
+                    String[] serializedDurations = line.substring(2).split(",");
+                    long[] nodeDurations = new long[serializedDurations.length - 2];
+                    for (int i = 0; i < nodeDurations.length; i++) {
+                        nodeDurations[i] = Long.parseLong(serializedDurations[i + 2]);
+                    }
+                    durations.put(parseNode(region, serializedDurations[0], serializedDurations[1]), nodeDurations);
+                } else {
+                    throw new RuntimeException("Illegal line read: %s".formatted(line));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        return Landmarks.of(graph, landmarks, durations);
+    }
+
+    public static void writeLandmarks(BufferedWriter writer, Landmarks landmarks) {
+        try {
+            writer.write("START LANDMARKS\n");
+
+            writer.write("F %s\n".formatted(Long.toHexString(fingerprint(landmarks.getGraph().getRegion()))));
+
+            for (Region.Node landmark : landmarks.getLandmarks()) {
+                writer.write("L %s\n".formatted(serializeLocation(landmark.getLocation())));
+            }
+
+            CompactGraph graph = landmarks.getGraph();
+            StringBuilder sb = new StringBuilder();
+            for (int node = 0; node < graph.getNodeCount(); node++) {
+                sb.setLength(0);
+                sb.append("D ").append(serializeLocation(graph.getNode(node).getLocation()));
+                for (long duration : landmarks.getDurations(graph.getNode(node))) {
+                    sb.append(',').append(duration);
+                }
+                writer.write(sb.append('\n').toString());
+            }
+
+            writer.write("END LANDMARKS\n");
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns a fingerprint of the {@link Region.Node}s and {@link Region.Edge}s of the given {@link Region}, which
+     * changes if a node is added, removed or moved, or if an edge is added, removed or changes its duration. It does
+     * not depend on the order of the nodes and edges.
+     */
+    private static long fingerprint(Region region) {
+        long fingerprint = mix(region.getNodes().size()) + mix(~(long) region.getEdges().size());
+        for (Region.Node node : region.getNodes()) {
+            fingerprint += mix(pack(node.getLocation()));
+        }
+        for (Region.Edge edge : region.getEdges()) {
+            long locationA = pack(edge.getNodeA().getLocation());
+            long locationB = pack(edge.getNodeB().getLocation());
+            // edges are undirected, so the order of their nodes must not matter
+            long hash = mix(Math.min(locationA, locationB));
+            hash = mix(hash ^ Math.max(locationA, locationB));
+            fingerprint += mix(hash ^ edge.getDuration());
+        }
+        return fingerprint;
+    }
+
+    private static long pack(Location location) {
+        return (long) location.getX() << 32 | location.getY() & 0xFFFFFFFFL;
+    }
+
+    /**
+     * The finalizer of the 64-bit MurmurHash3, which spreads every bit of the value over the whole result.
+     */
+    private static long mix(long value) {
+        value = (value ^ value >>> 33) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ value >>> 33) * 0xC4CEB9FE1A85EC53L;
+        return value ^ value >>> 33;
+    }
+
+    private static String serializeLocation(Location location) {
+        return "%d,%d".formatted(location.getX(), location.getY());
+    }
+
+    private static Region.Node parseNode(Region region, String x, String y) {
+        Location location = new Location(Integer.parseInt(x), Integer.parseInt(y));
+        Region.Node node = region.getNode(location);
+        if (node == null) {
+            throw new RuntimeException("No node at location %s".formatted(location));
+        }
+        return node;
+    }
+}
@@ -1,10 +1,12 @@
 package projekt.io;
 
+import org.jetbrains.annotations.Nullable;
 import projekt.delivery.archetype.ProblemArchetype;
 import projekt.delivery.archetype.ProblemArchetypeImpl;
 import projekt.delivery.generator.OrderGenerator;
 import projekt.delivery.rating.Rater;
 import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.routing.Landmarks;
 import projekt.delivery.routing.Region;
 import projekt.delivery.routing.VehicleManager;
 
@@ -13,10 +15,27 @@ import java.io.BufferedWriter;
 import java.io.IOException;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 
 public class ProblemArchetypeIO {
 
     public static ProblemArchetype readProblemArchetype(BufferedReader reader) {
+        return readProblemArchetype(reader, null);
+    }
+
+    /**
+     * Reads a {@link ProblemArchetype} and passes the given loader of {@link Landmarks} to
+     * {@link VehicleManagerIO#readVehicleManager(BufferedReader, Region, Function)}.
+     *
+     * @param reader          The reader to read the {@link ProblemArchetype} from.
+     * @param landmarksLoader The loader returning the {@link Landmarks} of the {@link Region} of the
+     *                        {@link ProblemArchetype} or {@code null}.
+     * @return The read {@link ProblemArchetype}.
+     */
+    public static ProblemArchetype readProblemArchetype(
+        BufferedReader reader,
+        @Nullable Function<Region, Landmarks> landmarksLoader
+    ) {
         Region region = null;
         VehicleManager vehicleManager = null;
         OrderGenerator.Factory orderGeneratorFactory = null;
@@ -39,7 +58,7 @@ public class ProblemArchetypeIO {
                     if (region == null) {
                         throw new RuntimeException("region has to be parsed before vehicleManager");
                     }
-                    vehicleManager = VehicleManagerIO.readVehicleManager(reader, region);
+                    vehicleManager = VehicleManagerIO.readVehicleManager(reader, region, landmarksLoader);
                 } else if (line.startsWith("O")) {
                     if (vehicleManager == null) {
                         throw new RuntimeException("vehicleManager has to be parsed before orderGeneratorFactory");
@@ -18,7 +18,9 @@ public class RegionIO {
     );
 
     public static Region readRegion(BufferedReader reader) {
-        Region.Builder builder = Region.builder();
+        Region.BulkBuilder builder = Region.bulkBuilder();
+        // nodes and edges repeat the same coordinates, so they share one Location instance per coordinate pair
+        LocationPool locations = new LocationPool();
 
         try {
 
@@ -32,21 +34,21 @@ public class RegionIO {
 
                 if (line.startsWith("N ")) {
                     String[] serializedNode = line.substring(2).split(",", 3);
-                    builder.addNode(serializedNode[0], parseLocation(serializedNode[1], serializedNode[2]));
+                    builder.addNode(serializedNode[0], parseLocation(locations, serializedNode[1], serializedNode[2]));
                 } else if (line.startsWith("NH ")) {
                     String[] serializedNode = line.substring(2).split(",", 3);
-                    builder.addNeighborhood(serializedNode[0], parseLocation(serializedNode[1], serializedNode[2]));
+                    builder.addNeighborhood(serializedNode[0], parseLocation(locations, serializedNode[1], serializedNode[2]));
                 } else if (line.startsWith("R ")) {
                     String[] serializedNode = line.substring(2).split(",");
 
                     List<String> availableFood = new ArrayList<>(Arrays.asList(serializedNode).subList(3, serializedNode.length));
 
-                    builder.addRestaurant(parseLocation(serializedNode[1], serializedNode[2]), new Region.Restaurant.Preset(serializedNode[0], availableFood));
+                    builder.addRestaurant(parseLocation(locations, serializedNode[1], serializedNode[2]), new Region.Restaurant.Preset(serializedNode[0], availableFood));
                 } else if (line.startsWith("E ")) {
                     String[] serializedEdge = line.substring(2).split(",", 5);
                     builder.addEdge(serializedEdge[0],
-                        parseLocation(serializedEdge[1], serializedEdge[2]),
-                        parseLocation(serializedEdge[3], serializedEdge[4]));
+                        parseLocation(locations, serializedEdge[1], serializedEdge[2]),
+                        parseLocation(locations, serializedEdge[3], serializedEdge[4]));
 
                 } else if (line.startsWith("D ")) {
                     builder.distanceCalculator(parseDistanceCalculator(line.substring(2)));
@@ -114,8 +116,8 @@ public class RegionIO {
             edge.getNodeB().getLocation().getX(), edge.getNodeB().getLocation().getY());
     }
 
-    private static Location parseLocation(String x, String y) {
-        return new Location(Integer.parseInt(x), Integer.parseInt(y));
+    private static Location parseLocation(LocationPool locations, String x, String y) {
+        return locations.get(Integer.parseInt(x), Integer.parseInt(y));
     }
 
     private static DistanceCalculator parseDistanceCalculator(String serializedDistanceCalculator) {
@@ -1,5 +1,6 @@
 package projekt.io;
 
+import org.jetbrains.annotations.Nullable;
 import projekt.base.Location;
 import projekt.delivery.routing.*;
 
@@ -9,15 +10,48 @@ import java.io.IOException;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class VehicleManagerIO {
 
-    private static final Map<String, Function<Object, ? extends PathCalculator>> DESERIALIZED_PATH_CALCULATOR = Map.of(
-        CachedPathCalculator.class.getSimpleName(), pathCalculator -> new CachedPathCalculator((PathCalculator) pathCalculator),
-        DijkstraPathCalculator.class.getSimpleName(), ignored -> new DijkstraPathCalculator()
+    /**
+     * The factories of the {@link PathCalculator}s by their name. A factory receives a factory of its delegate, which
+     * creates a new delegate on every call, and ignores it if it does not use one.
+     */
+    private static final Map<String, Function<Supplier<PathCalculator>, ? extends PathCalculator>> DESERIALIZED_PATH_CALCULATOR = Map.of(
+        CachedPathCalculator.class.getSimpleName(), delegateFactory -> new CachedPathCalculator(delegateFactory.get()),
+        ConcurrentCachedPathCalculator.class.getSimpleName(), ConcurrentCachedPathCalculator::new,
+        DijkstraPathCalculator.class.getSimpleName(), ignored -> new DijkstraPathCalculator(),
+        CompactDijkstraPathCalculator.class.getSimpleName(), ignored -> new CompactDijkstraPathCalculator(),
+        RadixHeapPathCalculator.class.getSimpleName(), ignored -> new RadixHeapPathCalculator(),
+        BidirectionalDijkstraPathCalculator.class.getSimpleName(), ignored -> new BidirectionalDijkstraPathCalculator(),
+        AStarPathCalculator.class.getSimpleName(), ignored -> new AStarPathCalculator(),
+        LandmarkPathCalculator.class.getSimpleName(), ignored -> new LandmarkPathCalculator(),
+        ContractionHierarchyPathCalculator.class.getSimpleName(), ignored -> new ContractionHierarchyPathCalculator(),
+        ChainContractionPathCalculator.class.getSimpleName(), ignored -> new ChainContractionPathCalculator()
     );
 
     public static VehicleManager readVehicleManager(BufferedReader reader, Region region) {
+        return readVehicleManager(reader, region, null);
+    }
+
+    /**
+     * Reads a {@link VehicleManager} for the given {@link Region}.<p>
+     *
+     * If the {@link PathCalculator} of the {@link VehicleManager} is a {@link LandmarkPathCalculator} and a loader of
+     * {@link Landmarks} is given, the {@link LandmarkPathCalculator} uses the {@link Landmarks} returned by the loader
+     * instead of selecting new ones when it is first used.
+     *
+     * @param reader          The reader to read the {@link VehicleManager} from.
+     * @param region          The {@link Region} of the {@link VehicleManager}.
+     * @param landmarksLoader The loader returning the {@link Landmarks} of the given {@link Region} or {@code null}.
+     * @return The read {@link VehicleManager}.
+     */
+    public static VehicleManager readVehicleManager(
+        BufferedReader reader,
+        Region region,
+        @Nullable Function<Region, Landmarks> landmarksLoader
+    ) {
 
         VehicleManager.Builder builder = VehicleManager.builder();
         builder.region(region);
@@ -36,7 +70,7 @@ public class VehicleManagerIO {
                     builder.addVehicle(parseLocation(splitSerializedVehicle[0], splitSerializedVehicle[1]),
                         Double.parseDouble(splitSerializedVehicle[2]));
                 } else if (line.startsWith("P ")) {
-                    builder.pathCalculator(parsePathCalculator(line.substring(2)));
+                    builder.pathCalculator(parsePathCalculator(line.substring(2), region, landmarksLoader));
                 } else {
                     throw new RuntimeException("Illegal line read: " + line);
                 }
@@ -81,32 +115,56 @@ public class VehicleManagerIO {
         StringBuilder sb = new StringBuilder();
         sb.append(pathCalculator.getClass().getSimpleName());
 
-        while (pathCalculator instanceof CachedPathCalculator cachedPathCalculator) {
-            pathCalculator = cachedPathCalculator.getDelegate();
+        while (pathCalculator instanceof CachedPathCalculator || pathCalculator instanceof ConcurrentCachedPathCalculator) {
+            if (pathCalculator instanceof CachedPathCalculator cachedPathCalculator) {
+                pathCalculator = cachedPathCalculator.getDelegate();
+            } else {
+                pathCalculator = ((ConcurrentCachedPathCalculator) pathCalculator).getDelegate();
+            }
             sb.append(",%s".formatted(pathCalculator.getClass().getSimpleName()));
         }
 
         return sb.toString();
     }
 
-    private static PathCalculator parsePathCalculator(String serializedPathCalculator) {
+    private static PathCalculator parsePathCalculator(
+        String serializedPathCalculator,
+        Region region,
+        @Nullable Function<Region, Landmarks> landmarksLoader
+    ) {
         String[] split = serializedPathCalculator.split(",");
-        PathCalculator currentPC;
-        try {
-            currentPC = DESERIALIZED_PATH_CALCULATOR.get(split[split.length - 1]).apply(null);
-        } catch (NullPointerException e) {
-            throw new RuntimeException("unknown name of pathCalculator: %s".formatted(serializedPathCalculator));
+        String innermostName = split[split.length - 1];
+        Function<Supplier<PathCalculator>, ? extends PathCalculator> innermost =
+            getPathCalculatorFactory(innermostName, serializedPathCalculator);
+
+        Supplier<PathCalculator> pathCalculatorFactory;
+        if (innermostName.equals(LandmarkPathCalculator.class.getSimpleName()) && landmarksLoader != null) {
+            // load the landmarks once, even if a delegate is created for every thread
+            Landmarks landmarks = landmarksLoader.apply(region);
+            pathCalculatorFactory = () -> new LandmarkPathCalculator(landmarks);
+        } else {
+            pathCalculatorFactory = () -> innermost.apply(null);
         }
 
-        PathCalculator returnPC = currentPC;
-
         //handle cached Path Calculators
         for (int i = split.length - 2; i >= 0; i--) {
-            PathCalculator PC;
-            PC = DESERIALIZED_PATH_CALCULATOR.get(split[i]).apply(currentPC);
-            currentPC = PC;
+            Function<Supplier<PathCalculator>, ? extends PathCalculator> wrapper =
+                getPathCalculatorFactory(split[i], serializedPathCalculator);
+            Supplier<PathCalculator> delegateFactory = pathCalculatorFactory;
+            pathCalculatorFactory = () -> wrapper.apply(delegateFactory);
         }
 
-        return returnPC;
+        return pathCalculatorFactory.get();
+    }
+
+    private static Function<Supplier<PathCalculator>, ? extends PathCalculator> getPathCalculatorFactory(
+        String name,
+        String serializedPathCalculator
+    ) {
+        Function<Supplier<PathCalculator>, ? extends PathCalculator> factory = DESERIALIZED_PATH_CALCULATOR.get(name);
+        if (factory == null) {
+            throw new RuntimeException("unknown name of pathCalculator: %s".formatted(serializedPathCalculator));
+        }
+        return factory;
     }
 }
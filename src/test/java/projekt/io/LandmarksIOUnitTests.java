@@ -0,0 +1,69 @@
+package projekt.io;
+
+import org.junit.jupiter.api.Test;
+import projekt.base.DistanceCalculator;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.base.ManhattanDistanceCalculator;
+import projekt.delivery.routing.CompactGraph;
+import projekt.delivery.routing.Landmarks;
+import projekt.delivery.routing.Region;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LandmarksIOUnitTests {
+
+    @Test
+    public void testRoundTrip() {
+        Region region = createRegion(new EuclideanDistanceCalculator());
+        Landmarks landmarks = Landmarks.select(CompactGraph.of(region), 3);
+        Landmarks read = LandmarksIO.readLandmarks(new BufferedReader(new StringReader(write(landmarks))), region);
+
+        assertEquals(landmarks.getLandmarks(), read.getLandmarks());
+        for (Region.Node node : region.getNodes()) {
+            assertArrayEquals(landmarks.getDurations(node), read.getDurations(node));
+        }
+    }
+
+    @Test
+    public void testStaleFile() {
+        String written = write(Landmarks.select(CompactGraph.of(createRegion(new EuclideanDistanceCalculator())), 3));
+
+        // the same nodes and edges, but with different durations
+        Region region = createRegion(new ManhattanDistanceCalculator());
+        assertThrows(RuntimeException.class,
+            () -> LandmarksIO.readLandmarks(new BufferedReader(new StringReader(written)), region));
+    }
+
+    private static Region createRegion(DistanceCalculator distanceCalculator) {
+        return Region.builder()
+            .distanceCalculator(distanceCalculator)
+            .addNode("A", new Location(0, 0))
+            .addNode("B", new Location(3, 4))
+            .addNode("C", new Location(6, 0))
+            .addNode("D", new Location(9, 5))
+            .addNode("E", new Location(2, 9))
+            .addEdge("AB", new Location(0, 0), new Location(3, 4))
+            .addEdge("BC", new Location(3, 4), new Location(6, 0))
+            .addEdge("CD", new Location(6, 0), new Location(9, 5))
+            .addEdge("BE", new Location(3, 4), new Location(2, 9))
+            .addEdge("DE", new Location(9, 5), new Location(2, 9))
+            .build();
+    }
+
+    private static String write(Landmarks landmarks) {
+        StringWriter stringWriter = new StringWriter();
+        try (BufferedWriter writer = new BufferedWriter(stringWriter)) {
+            LandmarksIO.writeLandmarks(writer, landmarks);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return stringWriter.toString();
+    }
+}
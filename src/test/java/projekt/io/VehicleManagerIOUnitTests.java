@@ -0,0 +1,48 @@
+package projekt.io;
+
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.delivery.routing.ConcurrentCachedPathCalculator;
+import projekt.delivery.routing.DijkstraPathCalculator;
+import projekt.delivery.routing.PathCalculator;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.VehicleManager;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VehicleManagerIOUnitTests {
+
+    @Test
+    public void testConcurrentCachedPathCalculatorUsesDelegatePerThread() throws InterruptedException {
+        Region region = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addRestaurant(new Location(0, 0), Region.Restaurant.LOS_FOPBOTS_HERMANOS)
+            .addNode("B", new Location(3, 4))
+            .addEdge("AB", new Location(0, 0), new Location(3, 4))
+            .build();
+        String serialized = """
+            START VEHICLE MANAGER
+            V 0,0,1.0
+            P ConcurrentCachedPathCalculator,DijkstraPathCalculator
+            END VEHICLE MANAGER
+            """;
+        VehicleManager vehicleManager = VehicleManagerIO.readVehicleManager(
+            new BufferedReader(new StringReader(serialized)), region);
+
+        ConcurrentCachedPathCalculator pathCalculator =
+            assertInstanceOf(ConcurrentCachedPathCalculator.class, vehicleManager.getPathCalculator());
+        PathCalculator delegate = assertInstanceOf(DijkstraPathCalculator.class, pathCalculator.getDelegate());
+
+        AtomicReference<PathCalculator> otherDelegate = new AtomicReference<>();
+        Thread thread = new Thread(() -> otherDelegate.set(pathCalculator.getDelegate()));
+        thread.start();
+        thread.join();
+        assertInstanceOf(DijkstraPathCalculator.class, otherDelegate.get());
+        assertNotSame(delegate, otherDelegate.get());
+    }
+}